@@ -2,14 +2,20 @@ package com.minishop.controller;
 
 import com.minishop.domain.Items;
 import com.minishop.dto.item.ItemCreateRequest;
+import com.minishop.dto.item.ItemIdsRequest;
+import com.minishop.dto.item.ItemStockShardRequest;
 import com.minishop.dto.item.ItemUpdateRequest;
 import com.minishop.response.ApiResponse;
+import com.minishop.response.BloomFilterStatsResponse;
+import com.minishop.response.CacheStatsResponse;
+import com.minishop.response.ItemBatchResponse;
 import com.minishop.service.ItemService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -37,20 +43,65 @@ public class ItemController {
     /**
      * ✅ 상품 전체 조회 (Read All)
      * 상품이 없으면 AppException에서 ITEM_NOT_FOUND 발생
+     * If-None-Match 가 지금 ETag 와 같으면 목록을 읽지 않고 304
+     * (ETag 를 목록보다 먼저 구하므로, 그 사이에 목록이 바뀌면 옛 ETag 가 나가서 다음 요청 때 다시 받음)
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Items>>> getAllItems() {
+    public ResponseEntity<ApiResponse<List<Items>>> getAllItems(WebRequest webRequest) {
+        String eTag = itemService.itemsETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return null; // 304 (본문 없음)
+        }
         List<Items> items = itemService.findAll();
-        return ResponseEntity.ok(ApiResponse.success("상품 목록 조회 성공",items)); // 예외 발생 시 GlobalExceptionHandler에서 처리
+        return ResponseEntity.ok().eTag(eTag).body(ApiResponse.success("상품 목록 조회 성공",items)); // 예외 발생 시 GlobalExceptionHandler에서 처리
+    }
+
+    /**
+     * ✅ 상품 여러 건 조회 (Read Many) : GET /items?ids=1,2,3
+     * 상품마다 GET /items/{id} 를 보내지 않고 한 번에 (DB 는 IN 쿼리 한 번)
+     * 없는 상품은 실패시키지 않고 missingIds 로 응답
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<ApiResponse<ItemBatchResponse>> getItems(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(ApiResponse.success("상품 여러 건 조회 성공", itemService.findItems(ids)));
+    }
+
+    /**
+     * ✅ 상품 여러 건 조회 (Read Many) : ID 목록이 길어서 쿼리 스트링에 넣기 어려울 때
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<ApiResponse<ItemBatchResponse>> lookupItems(@Valid @RequestBody ItemIdsRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("상품 여러 건 조회 성공", itemService.findItems(request.getIds())));
+    }
+
+    /**
+     * ✅ 상품 조회 캐시 통계 (적중/실패/밀려난 횟수)
+     */
+    @GetMapping("/cache-stats")
+    public ResponseEntity<ApiResponse<CacheStatsResponse>> getCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success("상품 캐시 통계 조회 성공", itemService.cacheStats()));
+    }
+
+    /**
+     * ✅ 상품명 중복 검사 Bloom filter 통계 (생략한 조회 수, 오탐률)
+     */
+    @GetMapping("/name-filter-stats")
+    public ResponseEntity<ApiResponse<BloomFilterStatsResponse>> getNameFilterStats() {
+        return ResponseEntity.ok(ApiResponse.success("상품명 필터 통계 조회 성공", itemService.nameFilterStats()));
     }
 
     /**
      * ✅ 상품 단건 조회 (Read One)
+     * If-None-Match 가 지금 ETag 와 같으면 상품을 읽지 않고 304 (버전 + 재고만 확인)
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Items>> getItem(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<Items>> getItem(@PathVariable Long id, WebRequest webRequest) {
+        String eTag = itemService.itemETag(id);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null; // 304 (본문 없음)
+        }
         Items item = itemService.findById(id);
-        return ResponseEntity.ok(ApiResponse.success("상품 조회 성공",item));
+        return ResponseEntity.ok().eTag(eTag).body(ApiResponse.success("상품 조회 성공",item));
     }
 
     /**
@@ -62,6 +113,16 @@ public class ItemController {
         return ResponseEntity.ok(ApiResponse.success("상품이 성공적으로 수정되었습니다.", updatedItem));
     }
 
+    /**
+     * ✅ 재고 샤드 개수 변경 (0이면 샤딩 해제)
+     * 조회 시 재고는 모든 샤드의 합계로 응답
+     */
+    @PutMapping("/{id}/stock-shards")
+    public ResponseEntity<ApiResponse<Items>> changeStockShards(@PathVariable Long id, @Valid @RequestBody ItemStockShardRequest request) {
+        Items item = itemService.changeStockShards(id, request);
+        return ResponseEntity.ok(ApiResponse.success("재고 샤드 변경 성공", item));
+    }
+
     /**
      * ✅ 상품 삭제 (Delete)
      */
@@ -1,20 +1,31 @@
 // controller/OrderController.java
 package com.minishop.controller;
 
+import com.fasterxml.jackson.databind.util.RawValue;
 import com.minishop.domain.Orders;
+import com.minishop.dto.order.OrderBulkStatusRequest;
 import com.minishop.dto.order.OrderCreateRequest;
 import com.minishop.dto.order.OrderModifyRequest;
+import com.minishop.dto.order.OrderSearchRequest;
 import com.minishop.dto.order.OrderUpdateRequest;
 import com.minishop.response.ApiResponse;
+import com.minishop.response.OrderBulkStatusResponse;
 import com.minishop.response.OrderCancelResponse;
+import com.minishop.response.OrderPageResponse;
+import com.minishop.service.OrderExportService;
+import com.minishop.service.OrderIdempotencyService;
+import com.minishop.service.OrderPlacementPipeline;
 import com.minishop.service.OrderService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
-import java.util.List;
 
 @Slf4j
 @RestController
@@ -23,29 +34,66 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderPlacementPipeline orderPlacementPipeline;
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final OrderExportService orderExportService;
 
     // 주문하기
+    // - Idempotency-Key 가 있으면 같은 키로 재시도해도 처음 만든 주문을 그대로 응답 (키 저장이 주문과 같은 트랜잭션이라 파이프라인은 거치지 않음)
+    // - 파이프라인을 켜면 다른 주문들과 묶어서 한 번에 커밋
     @PostMapping
-    public ResponseEntity<ApiResponse<Orders>> createOrder(@RequestBody OrderCreateRequest request) {
-        Orders saved = orderService.createOrder(request);
+    public ResponseEntity<ApiResponse<Orders>> createOrder(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody OrderCreateRequest request) {
+        Orders saved;
+        if (idempotencyKey != null) {
+            saved = orderIdempotencyService.createOrder(idempotencyKey, request);
+        } else if (orderPlacementPipeline.isAccepting()) {
+            saved = orderPlacementPipeline.place(request);
+        } else {
+            saved = orderService.createOrder(request);
+        }
         URI location = URI.create("/orders/" + saved.getId());
         return ResponseEntity.created(location)
                 .body(ApiResponse.success("주문 생성 성공", saved));
     }
 
-    // 단일 주문 조회
+    // 단일 주문 조회 (주문상품은 주문 시점의 상품명/단가, liveStock=true 면 현재 상품 정보/재고까지)
+    // If-None-Match 가 지금 ETag 와 같으면 주문을 읽지 않고 304 (주문 버전, liveStock 이면 주문상품의 상품 버전/재고도 확인)
+    // 기본 조회는 저장해 둔 응답 문서(JSON)를 다시 직렬화하지 않고 data 에 그대로 넣음
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Orders>> getOrder(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<?>> getOrder(@PathVariable Long id,
+                                                   @RequestParam(defaultValue = "false") boolean liveStock,
+                                                   WebRequest webRequest) {
         log.info("컨트롤러 부분 GET /orders/{} 요청", id);
-        Orders order = orderService.findOrder(id);
-        return ResponseEntity.ok(ApiResponse.success("주문 조회 성공", order));
+        String eTag = orderService.orderETag(id, liveStock);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null; // 304 (본문 없음)
+        }
+        if (!liveStock) {
+            RawValue document = new RawValue(orderService.findOrderDocument(id));
+            return ResponseEntity.ok().eTag(eTag).body(ApiResponse.success("주문 조회 성공", document));
+        }
+        Orders order = orderService.findOrder(id, true);
+        return ResponseEntity.ok().eTag(eTag).body(ApiResponse.success("주문 조회 성공", order));
     }
 
-    // 전체 주문 조회
+    // 주문 검색 (조건 + cursor 페이지, 전체를 한 번에 내려주지 않음)
+    // 예) GET /orders?userId=1&status=NEW&size=20 → 응답의 nextCursor 를 다음 요청의 cursor 로
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Orders>>> getAllOrders() {
-        List<Orders> orders = orderService.findAllOrders();
-        return ResponseEntity.ok(ApiResponse.success("주문 전체 조회 성공", orders));
+    public ResponseEntity<ApiResponse<OrderPageResponse>> searchOrders(@ModelAttribute OrderSearchRequest request) {
+        OrderPageResponse page = orderService.searchOrders(request);
+        return ResponseEntity.ok(ApiResponse.success("주문 검색 성공", page));
+    }
+
+    // 전체 주문 내보내기 (NDJSON 스트리밍 - 한 줄에 주문 하나, 주문상품 포함)
+    // 응답을 메모리에 모으지 않고 DB 에서 읽는 대로 바로 내려보냄
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders() {
+        StreamingResponseBody body = orderExportService::exportOrders;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     // 주문 상태 변경
@@ -58,6 +106,15 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.success("주문 상태 변경 성공", updated));
     }
 
+    // 주문 여러 건 상태 변경 (주문별 성공/실패는 응답의 results 로)
+    // 예) PUT /orders/status {"orderIds":[1,2,3], "status":"SHIPPED"}
+    @PutMapping("/status")
+    public ResponseEntity<ApiResponse<OrderBulkStatusResponse>> updateOrderStatuses(
+            @Valid @RequestBody OrderBulkStatusRequest request) {
+        OrderBulkStatusResponse result = orderService.updateOrderStatuses(request.getOrderIds(), request.getStatus());
+        return ResponseEntity.ok(ApiResponse.success("주문 상태 일괄 변경 성공", result));
+    }
+
     // 주문 취소 + 재고 복구
     @PatchMapping("/{id}/cancel")
     public ResponseEntity<ApiResponse<OrderCancelResponse>> cancelOrder(@PathVariable Long id) {
@@ -0,0 +1,54 @@
+package com.minishop.controller;
+
+import com.minishop.domain.Orders;
+import com.minishop.domain.StockReservation;
+import com.minishop.dto.reservation.ReservationCreateRequest;
+import com.minishop.response.ApiResponse;
+import com.minishop.service.ReservationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@Slf4j
+@RestController
+@RequestMapping("/reservations")
+@RequiredArgsConstructor
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    // 재고 예약 (재고 차감, 유지 시간이 지나면 자동 해제)
+    @PostMapping
+    public ResponseEntity<ApiResponse<StockReservation>> reserve(@RequestBody ReservationCreateRequest request) {
+        StockReservation reservation = reservationService.reserve(request);
+        URI location = URI.create("/reservations/" + reservation.getId());
+        return ResponseEntity.created(location)
+                .body(ApiResponse.success("재고 예약 성공", reservation));
+    }
+
+    // 예약 조회
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<StockReservation>> getReservation(@PathVariable Long id) {
+        StockReservation reservation = reservationService.findReservation(id);
+        return ResponseEntity.ok(ApiResponse.success("재고 예약 조회 성공", reservation));
+    }
+
+    // 예약 확정 → 주문 생성
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<ApiResponse<Orders>> confirm(@PathVariable Long id) {
+        Orders order = reservationService.confirm(id);
+        URI location = URI.create("/orders/" + order.getId());
+        return ResponseEntity.created(location)
+                .body(ApiResponse.success("재고 예약 확정 성공", order));
+    }
+
+    // 예약 해제 + 재고 복구
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<StockReservation>> release(@PathVariable Long id) {
+        StockReservation reservation = reservationService.release(id);
+        return ResponseEntity.ok(ApiResponse.success("재고 예약 해제 성공", reservation));
+    }
+}
@@ -4,11 +4,13 @@ import com.minishop.domain.Users;
 import com.minishop.dto.item.UserCreateRequest;
 import com.minishop.dto.item.UserUpdateRequest;
 import com.minishop.response.ApiResponse;
+import com.minishop.response.BloomFilterStatsResponse;
 import com.minishop.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -29,6 +31,14 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success("유저 등록 성공", user));
     }
 
+    /**
+     * ✅ 이메일 중복 검사 Bloom filter 통계 (생략한 조회 수, 오탐률)
+     */
+    @GetMapping("/email-filter-stats")
+    public ResponseEntity<ApiResponse<BloomFilterStatsResponse>> getEmailFilterStats() {
+        return ResponseEntity.ok(ApiResponse.success("이메일 필터 통계 조회 성공", userService.emailFilterStats()));
+    }
+
     /**
      * ✅ 유저 전체 조회 (Read All)
      * 상품이 없으면 AppException에서 user_NOT_FOUND 발생
@@ -41,11 +51,16 @@ public class UserController {
 
     /**
      * ✅ 유저 한명 조회 (Read One)
+     * If-None-Match 가 지금 ETag 와 같으면 유저를 읽지 않고 304 (버전만 확인)
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Users>> getById(@PathVariable("id") Long id) {
+    public ResponseEntity<ApiResponse<Users>> getById(@PathVariable("id") Long id, WebRequest webRequest) {
+        String eTag = userService.userETag(id);
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null; // 304 (본문 없음)
+        }
         Users findUser = userService.findById(id);
-        return ResponseEntity.ok(ApiResponse.success("유저 목록 조회 성공",findUser));
+        return ResponseEntity.ok().eTag(eTag).body(ApiResponse.success("유저 목록 조회 성공",findUser));
     }
 
     /**
@@ -0,0 +1,22 @@
+package com.minishop.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 Idempotency-Key (idempotency_keys 한 row)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IdempotencyKey {
+
+    private String idemKey;
+    private Long orderId;        // 이 키로 만든 주문
+    private Integer requestHash;  // V6 이전에 저장된 키의 요청 hashCode (이후에 저장한 키는 null)
+    private String requestDigest; // 요청 본문 SHA-256 - 같은 키로 다른 요청을 보냈는지 확인용 (V6 이전 키는 null)
+    private LocalDateTime createdAt;
+}
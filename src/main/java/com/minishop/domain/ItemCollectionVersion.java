@@ -0,0 +1,19 @@
+package com.minishop.domain;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 상품 목록 버전 (상품 목록 ETag 용)
+ * 목록을 읽지 않고 items / item_stock_shards 를 집계한 값 + 원장 재고 요약으로, 같은 데이터면 어느 서버에서 구해도 같다.
+ */
+@Data
+@NoArgsConstructor
+public class ItemCollectionVersion {
+
+    private long itemCount;
+    private long maxVersion;   // 상품 행을 바꾸면 버전이 올라감 (재고 포함)
+    private long versionSum;   // 버전이 가장 큰 상품이 아닌 상품만 바뀌어도 달라지도록
+    private long shardStock;   // 샤드 재고는 상품 버전을 올리지 않으므로 (상품 ID 로 가중한 합)
+    private long ledgerStock;  // 원장 재고는 DB 보다 앞서므로 (StockLedger.stockDigest)
+}
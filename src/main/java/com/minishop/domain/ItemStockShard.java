@@ -0,0 +1,19 @@
+package com.minishop.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 상품 재고 샤드 (item_stock_shards 한 row)
+ * 샤딩된 상품의 재고 = 상품 행 재고 + 모든 샤드 재고의 합
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemStockShard {
+
+    private Long itemId;
+    private int shardNo;
+    private int quantity;
+}
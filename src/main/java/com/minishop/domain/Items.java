@@ -13,5 +13,9 @@ public class Items {
     private String name;
     private int price;
     private int stockQuantity; //재고 수량
+    private long version;      //수정할 때마다 1씩 증가 (ETag 용)
 
+    public Items(Long id, String name, int price, int stockQuantity) {
+        this(id, name, price, stockQuantity, 0);
+    }
 }
@@ -8,6 +8,8 @@ public class OrderItems {
     private Long orderId;  // 주문 ID (Orders FK)
     private Long itemId;   // 상품 ID (Items FK)
     private int quantity;  // 수량
+    private String itemName;   // 주문 시점의 상품명 (스냅샷)
+    private Integer unitPrice; // 주문 시점의 단가 (스냅샷, V4 이전 행은 백필 전까지 null)
 
-    private Items item; //주문한 상품 정보 자세히 1:1 관계
+    private Items item; //주문한 상품의 현재 정보 (재고 포함) - 요청한 경우에만 채움
 }
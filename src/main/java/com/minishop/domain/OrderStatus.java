@@ -0,0 +1,78 @@
+package com.minishop.domain;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 주문 상태
+ *
+ * DB 에는 이름 대신 code (SMALLINT) 로 저장한다. (OrderStatusTypeHandler)
+ * code 는 이미 저장된 값이므로 상수 순서와 상관없이 한 번 정하면 바꾸지 않는다. (V3 마이그레이션과 같은 값)
+ * 상태 전이 규칙은 클래스 로딩 때 EnumSet(비트 하나씩) 표로 만들어 두고, 전이 검사는 표 조회 한 번으로 끝낸다.
+ */
+public enum OrderStatus {
+
+    NEW(0),         // 주문 생성
+    CANCELLED(1),   // 주문 취소
+    SHIPPED(2),     // 배송중
+    COMPLETED(3);   // 배송완료
+
+    private static final OrderStatus[] BY_CODE = new OrderStatus[values().length];
+    private static final Map<String, OrderStatus> BY_NAME = new HashMap<>();
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+    private static final Map<OrderStatus, Set<OrderStatus>> SOURCES = new EnumMap<>(OrderStatus.class);
+
+    static {
+        for (OrderStatus status : values()) {
+            BY_CODE[status.code] = status;
+            BY_NAME.put(status.name(), status);
+        }
+
+        // 현재 상태 → 바꿀 수 있는 상태 (같은 상태로 다시 바꾸는 것은 허용)
+        TRANSITIONS.put(NEW, EnumSet.of(NEW, CANCELLED, SHIPPED, COMPLETED));
+        TRANSITIONS.put(SHIPPED, EnumSet.of(SHIPPED, COMPLETED));
+        TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(COMPLETED, EnumSet.noneOf(OrderStatus.class));
+
+        // 반대 방향 표 : 다음 상태 → 그 상태로 바꿀 수 있는 현재 상태들 (일괄 UPDATE 의 status IN 조건)
+        for (OrderStatus status : values()) {
+            SOURCES.put(status, EnumSet.noneOf(OrderStatus.class));
+        }
+        TRANSITIONS.forEach((from, targets) -> targets.forEach(to -> SOURCES.get(to).add(from)));
+    }
+
+    private final int code;
+
+    OrderStatus(int code) {
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public boolean canTransitionTo(OrderStatus next) {
+        return TRANSITIONS.get(this).contains(next);
+    }
+
+    // 이 상태로 바꿀 수 있는 현재 상태들 (수정하지 못하도록 복사본)
+    public Set<OrderStatus> allowedSources() {
+        return EnumSet.copyOf(SOURCES.get(this));
+    }
+
+    // 요청 값 → 상태 (null 이거나 없는 상태면 null, valueOf 처럼 예외를 만들지 않음)
+    public static OrderStatus from(String name) {
+        return name == null ? null : BY_NAME.get(name);
+    }
+
+    // DB 코드 → 상태
+    public static OrderStatus fromCode(int code) {
+        if (code < 0 || code >= BY_CODE.length || BY_CODE[code] == null) {
+            throw new IllegalArgumentException("알 수 없는 주문 상태 코드: " + code);
+        }
+        return BY_CODE[code];
+    }
+}
@@ -11,7 +11,8 @@ public class Orders {
     private Long userId;            // 주문자 ID (Users FK)
     private LocalDateTime orderDate;// 주문일
     private int totalPrice;         // 총 가격
-    private String status; // NEW(생성), CANCELLED(취소) , SHIPPED , COMPLETED
+    private OrderStatus status;     // NEW(생성), CANCELLED(취소) , SHIPPED , COMPLETED
+    private long version;           // 주문/주문상품을 수정할 때마다 1씩 증가 (ETag 용)
 
     private List<OrderItems> orderItems; // 주문 상품 목록  1:N 관계  1개의 주문에 여러개의 상품들을 주문 가능
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.minishop.domain;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 재고 예약 (결제 진행 중 재고를 잡아두는 hold)
+ * 예약하는 순간 재고를 차감하므로, 상품 재고 = 바로 판매 가능한 수량 (활성 예약을 따로 빼지 않아도 됨)
+ */
+@Data
+public class StockReservation {
+    private Long id;
+    private Long userId;
+    private String status;           // ACTIVE(예약 중), CONFIRMED(주문 확정), RELEASED(해제), EXPIRED(만료)
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt; // 이 시간까지 확정하지 않으면 자동 해제
+    private Long orderId;            // 확정된 주문 ID
+
+    private List<StockReservationItem> items; // 예약 상품 목록 (상품당 한 줄)
+}
@@ -0,0 +1,14 @@
+package com.minishop.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockReservationItem {
+    private Long reservationId; // 예약 ID (StockReservation FK)
+    private Long itemId;        // 상품 ID (Items FK)
+    private int quantity;       // 예약 수량
+}
@@ -13,4 +13,5 @@ public class Users {
     private String username;
     private String password;
     private String email;
+    private long version;   //수정할 때마다 1씩 증가 (ETag 용)
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.minishop.dto.item;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 상품 여러 건 조회 요청 DTO (POST /items/lookup - 쿼리 스트링에 넣기 긴 목록용)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemIdsRequest {
+
+    @NotEmpty(message = "상품 ID 목록은 필수 입력 값입니다.")
+    @Size(max = 1000, message = "상품 ID 는 한 번에 1000개까지 조회할 수 있습니다.")
+    private List<Long> ids;
+}
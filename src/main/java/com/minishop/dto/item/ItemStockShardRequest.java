@@ -0,0 +1,22 @@
+package com.minishop.dto.item;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 상품 재고 샤드 개수 변경 요청 DTO (0이면 샤딩 해제)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemStockShardRequest {
+
+    @NotNull(message = "샤드 개수는 필수 입력 값입니다.")
+    @Min(value = 0, message = "샤드 개수는 0 이상이어야 합니다.")
+    @Max(value = 64, message = "샤드 개수는 64 이하여야 합니다.")
+    private Integer shardCount;
+}
@@ -0,0 +1,24 @@
+package com.minishop.dto.order;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 주문 여러 건 상태 변경 요청 DTO (PUT /orders/status - 창고에서 배송/배송완료 일괄 처리)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderBulkStatusRequest {
+
+    @NotEmpty(message = "주문 ID 목록은 필수 입력 값입니다.")
+    @Size(max = 10000, message = "주문 상태는 한 번에 10000건까지 변경할 수 있습니다.")
+    private List<Long> orderIds;
+
+    private String status;   // 바꿀 상태 (NEW, SHIPPED, COMPLETED, CANCELLED)
+}
@@ -0,0 +1,37 @@
+package com.minishop.dto.order;
+
+import com.minishop.domain.Orders;
+import com.minishop.exception.AppException;
+import com.minishop.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 주문 검색 페이지 위치 (마지막으로 본 주문의 order_date, id)
+ * 클라이언트에는 "주문일_id" 를 Base64 URL 로 감싼 문자열로 내려주고, 다음 요청에서 그대로 받는다.
+ */
+public record OrderCursor(LocalDateTime orderDate, Long id) {
+
+    public static OrderCursor of(Orders order) {
+        return new OrderCursor(order.getOrderDate(), order.getId());
+    }
+
+    public static OrderCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('_');
+            return new OrderCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new AppException(ErrorCode.INVALID_REQUEST, "cursor 가 올바르지 않습니다.");
+        }
+    }
+
+    public String encode() {
+        String raw = orderDate + "_" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
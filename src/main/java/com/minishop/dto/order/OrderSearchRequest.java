@@ -0,0 +1,26 @@
+package com.minishop.dto.order;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+// 주문 검색 조건 (GET /orders 쿼리 파라미터, 값이 없는 조건은 적용하지 않음)
+@Data
+public class OrderSearchRequest {
+
+    private Long userId;
+    private String status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime fromDate;     // 주문일 >= fromDate
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime toDate;       // 주문일 < toDate
+
+    private Integer minTotalPrice;
+    private Integer maxTotalPrice;
+
+    private String cursor;              // 이전 페이지 응답의 nextCursor (첫 페이지는 비움)
+    private Integer size;               // 페이지 크기 (기본 20, 최대 100)
+}
@@ -0,0 +1,22 @@
+package com.minishop.dto.reservation;
+
+import com.minishop.dto.order.OrderItemRequest;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 재고 예약 요청 DTO (주문 요청과 같은 상품 목록 형식)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReservationCreateRequest {
+    private Long userId;
+
+    // null 방지: 기본값 초기화
+    private List<OrderItemRequest> items = new ArrayList<>();
+}
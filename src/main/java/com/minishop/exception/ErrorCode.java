@@ -25,6 +25,9 @@ public enum ErrorCode {
     PRICE_OVERFLOW(HttpStatus.BAD_REQUEST, "상품 금액 계산 중 오류가 발생했습니다."),
     INVALID_STATUS_TRANSITION(HttpStatus.BAD_REQUEST, "잘못된 상태 전환입니다."),
     CANNOT_MODIFY_COMPLETED(HttpStatus.BAD_REQUEST, "배송 완료된 주문은 수정할 수 없습니다."),
+    INVALID_IDEMPOTENCY_KEY(HttpStatus.BAD_REQUEST, "Idempotency-Key 가 올바르지 않습니다."),
+    IDEMPOTENCY_KEY_REUSED(HttpStatus.UNPROCESSABLE_ENTITY, "같은 Idempotency-Key 로 다른 주문을 요청할 수 없습니다."),
+    ORDER_QUEUE_FULL(HttpStatus.SERVICE_UNAVAILABLE, "주문이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요."),
 
     //주문 취소 예외
     ORDER_NOT_FOUND(HttpStatus.NOT_FOUND, "주문을 찾을 수 없습니다."),
@@ -33,8 +36,13 @@ public enum ErrorCode {
     //주문 상태 예외
     INVALID_STATUS(HttpStatus.BAD_REQUEST, "유효하지 않은 주문 상태입니다."),
 
+    //재고 예약 예외
+    RESERVATION_NOT_FOUND(HttpStatus.NOT_FOUND, "재고 예약을 찾을 수 없습니다."),
+    RESERVATION_NOT_ACTIVE(HttpStatus.BAD_REQUEST, "이미 확정·해제되었거나 만료된 재고 예약입니다."),
+
     //DB 또는 서버 에러
     DATABASE_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "데이터베이스 오류가 발생했습니다."),
+    STOCK_JOURNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "재고 기록 중 오류가 발생했습니다."),
     INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "서버 내부 오류가 발생했습니다.")
     ;
 
@@ -0,0 +1,72 @@
+package com.minishop.inventory;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 재고 예약 만료 대기열
+ *
+ * - 만료 시간 순으로 정렬된 DelayQueue 라서, 만료 시간이 된 예약만 꺼낼 수 있다 (DB를 주기적으로 뒤지지 않음).
+ * - 확정/해제된 예약은 대기열에서 바로 빼지 않고(DelayQueue.remove 는 O(n)) 표시만 지운 뒤,
+ *   만료 시간에 꺼냈을 때 건너뛴다. 남아 있는 항목은 늦어도 예약 유지 시간이 지나면 사라진다.
+ */
+@Component
+public class ReservationExpiryQueue {
+
+    private final DelayQueue<Expiry> queue = new DelayQueue<>();
+    private final Map<Long, Expiry> scheduled = new ConcurrentHashMap<>();
+
+    private static final class Expiry implements Delayed {
+        private final Long reservationId;
+        private final long deadlineNanos;
+
+        private Expiry(Long reservationId, long deadlineNanos) {
+            this.reservationId = reservationId;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(deadlineNanos, ((Expiry) other).deadlineNanos);
+        }
+    }
+
+    // 같은 예약을 다시 등록하면 마지막 만료 시간만 유효
+    public void schedule(Long reservationId, LocalDateTime expiresAt) {
+        long delayNanos = Duration.between(LocalDateTime.now(), expiresAt).toNanos();
+        Expiry expiry = new Expiry(reservationId, System.nanoTime() + delayNanos);
+        scheduled.put(reservationId, expiry);
+        queue.put(expiry);
+    }
+
+    public void cancel(Long reservationId) {
+        scheduled.remove(reservationId);
+    }
+
+    // 만료 시간이 된 예약 ID가 나올 때까지 대기 (취소된 항목은 건너뜀)
+    public Long take() throws InterruptedException {
+        while (true) {
+            Expiry expiry = queue.take();
+            if (scheduled.remove(expiry.reservationId, expiry)) {
+                return expiry.reservationId;
+            }
+        }
+    }
+
+    // 만료를 기다리는 (취소되지 않은) 예약 수
+    public int size() {
+        return scheduled.size();
+    }
+}
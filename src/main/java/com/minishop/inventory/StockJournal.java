@@ -0,0 +1,149 @@
+package com.minishop.inventory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 재고 증감 저널 (append-only 파일)
+ *
+ * 레코드 = [seq(long) | itemId(long) | delta(int)] 20바이트, 세그먼트 파일 이름은 "직전 세그먼트의 마지막 seq".
+ * append/rotate 는 호출자(StockLedger)가 직렬화하고,
+ * sync 는 여러 스레드가 동시에 호출해도 force 한 번으로 묶어서 디스크에 반영한다 (group commit).
+ */
+class StockJournal implements Closeable {
+
+    static final int RECORD_SIZE = 20;
+
+    private static final String PREFIX = "stock-journal-";
+    private static final String SUFFIX = ".log";
+
+    private final Path dir;
+    private final Object syncLock = new Object();
+    private final ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+
+    private FileChannel channel;
+    private volatile long lastSeq;
+    private volatile long durableSeq;
+
+    record Entry(long seq, long itemId, int delta) {
+    }
+
+    StockJournal(Path dir) throws IOException {
+        this.dir = dir;
+        Files.createDirectories(dir);
+    }
+
+    // 복구용 : 모든 세그먼트에서 afterSeq 보다 큰 레코드를 순서대로 읽음 (쓰다 만 마지막 레코드는 버림)
+    List<Entry> readAfter(long afterSeq) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        for (Path segment : segments()) {
+            ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(segment));
+            while (data.remaining() >= RECORD_SIZE) {
+                Entry entry = new Entry(data.getLong(), data.getLong(), data.getInt());
+                if (entry.seq() > afterSeq) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    // startSeq 다음 번호부터 새 세그먼트에 기록
+    void open(long startSeq) throws IOException {
+        channel = FileChannel.open(segmentPath(startSeq),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        lastSeq = startSeq;
+        durableSeq = startSeq;
+    }
+
+    long append(long itemId, int delta) throws IOException {
+        long seq = lastSeq + 1;
+        buffer.clear();
+        buffer.putLong(seq).putLong(itemId).putInt(delta).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        lastSeq = seq;
+        return seq;
+    }
+
+    // seq 까지 디스크에 반영될 때까지 대기 (먼저 들어온 스레드의 force 가 뒤의 레코드까지 함께 반영)
+    void sync(long seq) throws IOException {
+        if (durableSeq >= seq) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (durableSeq >= seq) {
+                return;
+            }
+            long target = lastSeq;
+            channel.force(false);
+            durableSeq = target;
+        }
+    }
+
+    long lastSequence() {
+        return lastSeq;
+    }
+
+    long activeSize() throws IOException {
+        return channel.size();
+    }
+
+    // 현재 세그먼트를 닫고 새 세그먼트로 교체
+    void rotate() throws IOException {
+        synchronized (syncLock) {
+            channel.force(false);
+            durableSeq = lastSeq;
+            channel.close();
+            open(lastSeq);
+        }
+    }
+
+    // seq 까지 DB에 반영되었으면, 그 이하 레코드만 담긴(다음 세그먼트 시작이 seq 이하인) 세그먼트 삭제
+    void deleteSegmentsUpTo(long seq) throws IOException {
+        List<Path> segments = segments();
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (startOf(segments.get(i + 1)) <= seq) {
+                Files.deleteIfExists(segments.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (syncLock) {
+            if (channel != null && channel.isOpen()) {
+                channel.force(false);
+                channel.close();
+            }
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted((a, b) -> Long.compare(startOf(a), startOf(b)))
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long startSeq) {
+        return dir.resolve(String.format("%s%020d%s", PREFIX, startSeq, SUFFIX));
+    }
+
+    private static long startOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
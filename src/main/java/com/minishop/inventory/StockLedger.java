@@ -0,0 +1,415 @@
+package com.minishop.inventory;
+
+import com.minishop.domain.Items;
+import com.minishop.exception.AppException;
+import com.minishop.exception.ErrorCode;
+import com.minishop.repository.mybatis.mapper.ItemMapper;
+import com.minishop.repository.mybatis.mapper.StockLedgerMapper;
+import com.minishop.support.ETags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 인메모리 재고 원장 (등록한 상품만 사용, minishop.inventory.ledger.item-ids)
+ *
+ * - 등록한 상품의 재고는 이 원장이 기준이다. 차감은 CAS 로 메모리에서 바로, 증가는 커밋된 뒤에 메모리에 반영하고,
+ *   호출한 트랜잭션이 커밋되기 직전에 저널 파일에 기록(fsync)한다. 기록하지 못하면 트랜잭션을 롤백해서 주문도 실패한다.
+ *   (응답한 증감은 항상 저널에 있음 - 저널 기록 뒤 DB 커밋이 실패하면 반대 방향 증감을 남겨서 상쇄)
+ * - 쌓인 증감량은 주기적으로 상품별로 합쳐서 items.stock_quantity 에 한 번에 반영(write-behind)하고,
+ *   반영한 저널 번호(flushed_seq)를 같은 트랜잭션에서 기록한다.
+ * - 시작할 때 flushed_seq 이후의 저널을 DB에 다시 반영한 뒤 DB 재고를 읽어서 원장을 만든다.
+ *   (웹 서버보다 먼저 시작해서, 원장이 준비되기 전에 들어온 주문이 DB 재고를 바꾸는 일이 없게 한다)
+ * - 호출한 트랜잭션이 롤백되면 메모리에서 차감한 재고를 돌려놓는다. (커밋 전 롤백이면 저널/미반영 증감량에는 남기지 않았음)
+ *   증가는 커밋 전까지 보이지 않으므로, 롤백될 재고를 다른 주문이 가져가서 롤백 뒤 재고가 음수가 되는 일이 없다.
+ * - DB 반영이 일부 상품에서 빠지면 (조건부 UPDATE 가 건너뜀) 반영 번호를 올리지 않고 다음 flush 때 다시 반영한다.
+ *   삭제된 상품의 증감만 버린다.
+ */
+@Slf4j
+@Component
+public class StockLedger implements SmartLifecycle {
+
+    private final ItemMapper itemMapper;
+    private final StockLedgerMapper stockLedgerMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<Long> itemIds;
+    private final Path journalDir;
+    private final long flushIntervalMillis;
+    private final long journalRotateBytes;
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final Object journalLock = new Object();
+    private final Object flushLock = new Object();
+
+    private StockJournal journal;
+    private ScheduledExecutorService flusher;
+    private volatile boolean running;
+
+    // 상품별 재고 (기준 값) + 아직 DB에 반영하지 않은 증감량
+    private static final class Counter {
+        private final AtomicInteger stock;
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private Counter(int stock) {
+            this.stock = new AtomicInteger(stock);
+        }
+    }
+
+    public StockLedger(ItemMapper itemMapper,
+                       StockLedgerMapper stockLedgerMapper,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${minishop.inventory.ledger.item-ids:}") Set<Long> itemIds,
+                       @Value("${minishop.inventory.ledger.journal-dir:./data/stock-journal}") String journalDir,
+                       @Value("${minishop.inventory.ledger.flush-interval-ms:200}") long flushIntervalMillis,
+                       @Value("${minishop.inventory.ledger.journal-rotate-bytes:4194304}") long journalRotateBytes) {
+        this.itemMapper = itemMapper;
+        this.stockLedgerMapper = stockLedgerMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.itemIds = itemIds;
+        this.journalDir = Path.of(journalDir);
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.journalRotateBytes = journalRotateBytes;
+    }
+
+    public boolean isManaged(Long itemId) {
+        return itemId != null && counters.containsKey(itemId);
+    }
+
+    public boolean hasManagedItems() {
+        return !counters.isEmpty();
+    }
+
+    // 조회한 상품의 재고를 원장 재고로 바꿔서 반환 (원장에 없는 상품은 그대로)
+    public Items overlay(Items item) {
+        if (item != null) {
+            Counter counter = counters.get(item.getId());
+            if (counter != null) {
+                item.setStockQuantity(counter.stock.get());
+            }
+        }
+        return item;
+    }
+
+    // 원장 재고 요약 (상품 목록 ETag 용) - 상품 순서와 상관없이 (상품, 재고) 가 같으면 같은 값
+    public long stockDigest() {
+        long digest = 0;
+        for (Map.Entry<Long, Counter> entry : counters.entrySet()) {
+            digest += ETags.hash(entry.getKey(), entry.getValue().stock.get());
+        }
+        return digest;
+    }
+
+    // 재고가 충분할 때만 차감 (성공 1, 재고 부족 0) - ItemRepository.decreaseStock 과 같은 규칙
+    public int decrease(Long itemId, int quantity) {
+        Counter counter = counters.get(itemId);
+        if (counter == null) {
+            return 0;
+        }
+
+        while (true) {
+            int current = counter.stock.get();
+            if (current < quantity) {
+                return 0;
+            }
+            if (counter.stock.compareAndSet(current, current - quantity)) {
+                break;
+            }
+        }
+
+        // 주문 트랜잭션이 커밋되면 저널에 기록, 롤백되면 차감한 재고를 되돌림
+        confirm(itemId, counter, -quantity);
+        return 1;
+    }
+
+    // 증가는 커밋된 뒤에 메모리에 반영 (커밋 전에 보이면 롤백될 재고를 다른 주문이 먼저 가져갈 수 있음)
+    public void increase(Long itemId, int quantity) {
+        Counter counter = counters.get(itemId);
+        if (counter == null) {
+            return;
+        }
+        confirm(itemId, counter, quantity);
+    }
+
+    // 재고를 지정한 값으로 변경 (상품 수정) → 차이만큼의 증감으로 기록 (줄이면 바로, 늘리면 커밋된 뒤 반영)
+    public void set(Long itemId, int stock) {
+        Counter counter = counters.get(itemId);
+        if (counter == null) {
+            return;
+        }
+        int delta = stock - counter.stock.get();
+        if (delta < 0) {
+            counter.stock.addAndGet(delta);
+        }
+        if (delta != 0) {
+            confirm(itemId, counter, delta);
+        }
+    }
+
+    // 삭제된 상품은 원장에서 제외 (반영하지 않은 증감은 대상 행이 없으므로 버림)
+    public void remove(Long itemId) {
+        counters.remove(itemId);
+    }
+
+    // 증감 확정 - 차감(delta < 0)은 이미 메모리에 반영한 상태로, 증가는 아직 반영하지 않은 상태로 호출
+    // 트랜잭션 안이면 커밋 직전에 저널 기록(fsync) - 실패하면 예외로 트랜잭션을 롤백해서 기록되지 않은 증감으로 응답하지 않음
+    // 커밋되면 증가를 메모리에 반영, 롤백되면 차감을 되돌리고 이미 저널에 남겼으면 반대 방향 증감을 남김
+    // 트랜잭션 밖이면 바로 기록 (실패하면 차감을 되돌리고 예외, 기록한 뒤에 증가 반영)
+    private void confirm(Long itemId, Counter counter, int delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                journal(itemId, counter, delta);
+            } catch (AppException e) {
+                if (delta < 0) {
+                    counter.stock.addAndGet(-delta);
+                }
+                throw e;
+            }
+            if (delta > 0) {
+                counter.stock.addAndGet(delta);
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean journaled;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                journal(itemId, counter, delta);
+                journaled = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                if (delta > 0) {
+                    counter.stock.addAndGet(delta);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    if (delta < 0) {
+                        counter.stock.addAndGet(-delta);
+                    }
+                    if (journaled) {
+                        revoke(itemId, counter, delta);
+                    }
+                }
+            }
+        });
+    }
+
+    // 저널 기록(fsync) + 미반영 증감량 누적 (실패하면 기록을 되돌리고 예외, 메모리 재고는 호출한 쪽에서 되돌림)
+    private void journal(Long itemId, Counter counter, int delta) {
+        long seq;
+        synchronized (journalLock) {
+            try {
+                seq = journal.append(itemId, delta);
+            } catch (IOException e) {
+                throw journalError(e);
+            }
+            counter.pending.addAndGet(delta);
+        }
+
+        try {
+            journal.sync(seq);
+        } catch (IOException e) {
+            // 디스크 반영을 보장할 수 없으므로 반대 방향 증감을 남기고 실패 처리
+            revoke(itemId, counter, delta);
+            throw journalError(e);
+        }
+    }
+
+    // 저널에 남긴 증감 취소 (반대 방향 증감 기록)
+    // 커밋 직전에 기록한 뒤 DB 커밋이 실패한 경우 - 여기까지 쓰기 전에 서버가 죽으면 복구 때 그 증감이 반영됨
+    private void revoke(Long itemId, Counter counter, int delta) {
+        synchronized (journalLock) {
+            counter.pending.addAndGet(-delta);
+            try {
+                journal.append(itemId, -delta);
+            } catch (IOException e) {
+                // 보상 기록까지 실패하면 복구 시 원래 증감이 반영될 수 있음
+                log.error("[StockLedger] 재고 증감 취소 기록 실패 (상품 {}, {})", itemId, delta, e);
+            }
+        }
+    }
+
+    /**
+     * 미반영 증감량을 상품별로 합쳐서 DB에 한 번에 반영 (write-behind)
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            if (journal == null) {
+                return;
+            }
+
+            Map<Long, Integer> deltas = new HashMap<>();
+            long seq;
+
+            // 저널 번호와 미반영 증감량을 같은 시점으로 맞춰서 가져옴
+            synchronized (journalLock) {
+                seq = journal.lastSequence();
+                counters.forEach((itemId, counter) -> {
+                    int delta = counter.pending.getAndSet(0);
+                    if (delta != 0) {
+                        deltas.put(itemId, delta);
+                    }
+                });
+                try {
+                    if (journal.activeSize() >= journalRotateBytes) {
+                        journal.rotate();
+                    }
+                } catch (IOException e) {
+                    log.warn("[StockLedger] 저널 세그먼트 교체 실패", e);
+                }
+            }
+
+            try {
+                writeToDatabase(deltas, seq);
+                journal.deleteSegmentsUpTo(seq);
+            } catch (RuntimeException | IOException e) {
+                // 다음 flush 때 다시 반영되도록 미반영 증감량을 되돌려 놓음
+                deltas.forEach((itemId, delta) -> {
+                    Counter counter = counters.get(itemId);
+                    if (counter != null) {
+                        counter.pending.addAndGet(delta);
+                    }
+                });
+                log.error("[StockLedger] 재고 반영 실패 : {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    // 증감량 반영 + 반영 번호 기록 (한 트랜잭션)
+    // 삭제된 상품의 증감만 버리고, 남은 상품 중 하나라도 반영되지 않으면 예외로 롤백해서 반영 번호를 올리지 않음
+    private void writeToDatabase(Map<Long, Integer> deltas, long seq) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!deltas.isEmpty()) {
+                Map<Long, Integer> existing = new HashMap<>();
+                for (Items item : itemMapper.findAllByIds(deltas.keySet())) {
+                    existing.put(item.getId(), deltas.get(item.getId()));
+                }
+                if (existing.size() < deltas.size()) {
+                    Set<Long> deleted = new HashSet<>(deltas.keySet());
+                    deleted.removeAll(existing.keySet());
+                    log.warn("[StockLedger] 삭제된 상품의 재고 증감은 버림 : {}", deleted);
+                }
+
+                if (!existing.isEmpty() && itemMapper.adjustStocks(existing) < existing.size()) {
+                    throw new IllegalStateException("재고 반영 대상 " + existing.size() + "건 중 일부가 반영되지 않음 (반영하면 재고가 음수)");
+                }
+            }
+            stockLedgerMapper.updateFlushedSequence(seq);
+        });
+    }
+
+    // 시작 : 저널 복구 → DB 재고로 원장 생성 → 주기적 flush 시작
+    @Override
+    public void start() {
+        running = true;
+        if (itemIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            journal = new StockJournal(journalDir);
+            recover();
+        } catch (IOException e) {
+            throw new IllegalStateException("재고 저널을 열 수 없습니다: " + journalDir, e);
+        }
+
+        register();
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-ledger-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // DB에 반영되지 않은 저널(flushed_seq 이후)을 상품별로 합쳐서 반영
+    // 반영하지 못하는 증감이 있으면 (반영하면 재고가 음수) 저널을 지우지 않고 시작을 멈춤
+    private void recover() throws IOException {
+        Long flushed = stockLedgerMapper.findFlushedSequence();
+        long flushedSeq = flushed == null ? 0L : flushed;
+
+        List<StockJournal.Entry> entries = journal.readAfter(flushedSeq);
+        Map<Long, Integer> deltas = new HashMap<>();
+        long lastSeq = flushedSeq;
+        for (StockJournal.Entry entry : entries) {
+            deltas.merge(entry.itemId(), entry.delta(), Integer::sum);
+            lastSeq = Math.max(lastSeq, entry.seq());
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+
+        writeToDatabase(deltas, lastSeq);
+        if (!entries.isEmpty()) {
+            log.info("[StockLedger] 저널 {}건 복구 (상품 {}개)", entries.size(), deltas.size());
+        }
+
+        journal.open(lastSeq);
+        journal.deleteSegmentsUpTo(lastSeq);
+    }
+
+    private void register() {
+        // 재고 샤드와 함께 쓰면 상품 행 재고가 음수가 될 수 있으므로 샤딩된 상품은 제외
+        Set<Long> sharded = new HashSet<>(itemMapper.findShardedItemIds(itemIds));
+        if (!sharded.isEmpty()) {
+            log.warn("[StockLedger] 재고 샤드가 있는 상품은 원장에 등록하지 않음 : {}", sharded);
+        }
+
+        for (Items item : itemMapper.findAllByIds(itemIds)) {
+            if (!sharded.contains(item.getId())) {
+                counters.put(item.getId(), new Counter(item.getStockQuantity()));
+            }
+        }
+        log.info("[StockLedger] 원장 등록 상품 : {}", counters.keySet());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (journal == null) {
+            return;
+        }
+
+        flusher.shutdown();
+        flush();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.warn("[StockLedger] 저널 닫기 실패", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 웹 서버보다 먼저 시작하고 나중에 종료
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private AppException journalError(IOException e) {
+        log.error("[StockLedger] 재고 저널 기록 실패", e);
+        return new AppException(ErrorCode.STOCK_JOURNAL_ERROR);
+    }
+}
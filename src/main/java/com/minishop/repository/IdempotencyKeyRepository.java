@@ -0,0 +1,10 @@
+package com.minishop.repository;
+
+import com.minishop.domain.IdempotencyKey;
+
+import java.util.Optional;
+
+public interface IdempotencyKeyRepository {
+    void save(IdempotencyKey key);
+    Optional<IdempotencyKey> findByKey(String idemKey);
+}
@@ -1,19 +1,30 @@
 package com.minishop.repository;
 
+import com.minishop.domain.ItemCollectionVersion;
 import com.minishop.domain.Items;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ItemRepository {
     Optional<Items> findById(Long id);
+    Items findVersionById(Long id); //ETag 용 (id, 버전, 재고만 채움, 상품이 없으면 null)
     Items save(Items item);
     int update(Long id, Items items);
     int delete(Long id);
     List<Items> findAll();
+    List<Items> findAllByIds(Collection<Long> ids); //여러 상품을 IN 쿼리 한 번으로 조회
+    ItemCollectionVersion findCollectionVersion(); //상품 목록 ETag 용 (목록을 읽지 않고 집계만)
     Items findByName(String itemName);
+    void forEachName(Consumer<String> action); //모든 상품명을 메모리에 모으지 않고 한 건씩 전달
     void update(Items dbItem);
     void updateStock(Items dbItem); //재고 업데이트
+    int decreaseStock(Long id, int quantity); //재고가 충분할 때만 차감 (영향받은 행 수 반환)
+    int adjustStocks(Map<Long, Integer> stockDeltas); //상품별 재고 증감을 한 문장으로 반영 (재고가 음수가 되는 행은 제외, 영향받은 행 수 반환)
+    boolean redistributeStock(Long id, int shardCount); //재고를 샤드 N개로 나눠 담기 (0이면 샤딩 해제, 상품이 없으면 false)
 
     void deleteAll();
 }
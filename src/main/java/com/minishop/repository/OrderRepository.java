@@ -1,17 +1,37 @@
 package com.minishop.repository;
 
 import com.minishop.domain.OrderItems;
+import com.minishop.domain.OrderStatus;
 import com.minishop.domain.Orders;
+import com.minishop.dto.order.OrderCursor;
+import com.minishop.dto.order.OrderSearchRequest;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface OrderRepository {
     void save(Orders order);
-    Orders findById(Long id);
-    List<Orders> findAll();
+    Orders findById(Long id); // 주문상품은 주문 시점 스냅샷만 (상품은 읽지 않음)
+    Orders findByIdWithItems(Long id); // 주문상품마다 현재 상품 정보(재고 포함)까지
+    Orders findByIdForUpdate(Long id); // 주문 행을 잠근 뒤 조회 (트랜잭션 끝까지 다른 상태 변경/취소가 끼어들지 못함)
+    Long findVersionById(Long id); // 주문 버전만 (ETag 용, 주문이 없으면 null)
+    List<Long> findItemIdsByOrderId(Long orderId); // 주문상품의 상품 ID 만 (ETag 용)
+    List<Orders> search(OrderSearchRequest condition, OrderCursor cursor, int limit);
+    void forEachWithItems(Consumer<Orders> action);
     void update(Orders order);
-    void updateStatus(Long orderId, String newStatus);
-    void updateTotalPrice(Long orderId, int newTotalPrice);
-    void updateOrderItems(Long id, List<OrderItems> orderItems);
+    void updateStatus(Long orderId, OrderStatus newStatus);
+    void updateOrderItems(Long id, List<OrderItems> orderItems, int totalPrice);
+    List<Orders> findNewOrdersAfter(long afterId, int limit);
+    List<Long> findStaleOrderIdsForUpdate(Collection<Long> orderIds, LocalDateTime cutoff);
+    List<OrderItems> sumQuantitiesByItem(Collection<Long> orderIds);
+    List<Long> findOrderIdsWithMissingItems(Collection<Long> orderIds); // 없는(삭제된) 상품이 든 주문 id (재고를 복구할 수 없는 주문)
+    List<Orders> findStatusesForUpdate(Collection<Long> orderIds); // id, status 만 채움 (트랜잭션 끝까지 잠금)
+    int updateStatusByIds(Collection<Long> orderIds, Collection<OrderStatus> fromStatuses, OrderStatus newStatus);
+    List<Long> findLineIdsWithoutSnapshot(long afterId, int limit); // 상품명/단가가 비어 있는 주문상품 id
+    int backfillLineSnapshots(Collection<Long> lineIds); // 주문상품에 현재 상품명/단가 채우기
+    String findDocument(Long orderId); // 주문 조회 응답 문서 (없거나 주문 버전과 다르면 null)
+    void saveDocument(Long orderId, long version, String document); // 응답 문서 저장 (이미 더 새 버전이 있으면 그대로)
     void deleteAll();
 }
@@ -0,0 +1,17 @@
+package com.minishop.repository;
+
+import com.minishop.domain.StockReservation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ReservationRepository {
+    StockReservation save(StockReservation reservation);
+    Optional<StockReservation> findById(Long id);
+    List<StockReservation> findActive();
+    boolean confirm(Long id, LocalDateTime now);
+    boolean release(Long id);
+    boolean expire(Long id, LocalDateTime now);
+    void updateOrderId(Long id, Long orderId);
+}
@@ -4,6 +4,7 @@ import com.minishop.domain.Users;
 import org.apache.ibatis.annotations.Param;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserRepository {
 
@@ -11,7 +12,9 @@ public interface UserRepository {
     Users update(Long id, Users user);
     int delete(Long id);
     Users findById(Long id);
+    Long findVersionById(Long id); //버전만 조회 (ETag 용, 사용자가 없으면 null)
     List<Users> findAll();
     Users findByEmail(@Param("email") String email);
+    void forEachEmail(Consumer<String> action); //모든 이메일을 메모리에 모으지 않고 한 건씩 전달
     void deleteAll();
 }
@@ -0,0 +1,238 @@
+package com.minishop.repository.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.minishop.domain.ItemCollectionVersion;
+import com.minishop.domain.Items;
+import com.minishop.inventory.StockLedger;
+import com.minishop.repository.ItemRepository;
+import com.minishop.repository.mybatis.ItemRepositoryMyBatis;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 상품 조회 캐시 (ItemRepository 앞에 붙는 read-through 캐시)
+ *
+ * - 최대 개수(W-TinyLFU 로 밀어냄) + 쓰고 나서 일정 시간 지나면 만료.
+ * - 상품 정보/재고를 바꾸는 메서드는 모두 여기를 거치므로, 바꾼 상품을 그 즉시 + 트랜잭션이 끝난 뒤(커밋/롤백) 한 번 더 캐시에서 뺀다.
+ *   트랜잭션이 끝나기 전에 다른 요청이 옛 값을 다시 읽어 넣어도 끝난 뒤 지워지고,
+ *   바꾼 트랜잭션 안에서 다시 읽는 상품은 캐시를 거치지 않아서 커밋 안 된 값이 다른 요청에 보이지 않는다.
+ * - 재고 원장 상품은 재고가 메모리에 있으므로 재고가 바뀌어도 캐시를 지우지 않고, 꺼낼 때마다 원장 재고로 덮어쓴다.
+ * - 상품명 중복 검사(findByName)는 상품명 Bloom filter 가 없다고 하면 DB 를 읽지 않는다.
+ * - 상품 목록 ETag 용 버전(findCollectionVersion)은 캐시를 거치지 않고 DB 집계로 구한다. (서버마다 같은 값)
+ * - 꺼낸 상품은 복사본이라 호출한 쪽에서 값을 바꿔도 캐시에는 영향이 없다.
+ */
+@Primary
+@Repository
+public class CachingItemRepository implements ItemRepository {
+
+    private final ItemRepositoryMyBatis delegate;
+    private final StockLedger stockLedger;
+    private final ExistenceFilters existenceFilters;
+    private final Cache<Long, Items> cache;
+    private final TransactionDirtyKeys<Long> dirtyIds;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public CachingItemRepository(ItemRepositoryMyBatis delegate,
+                                 StockLedger stockLedger,
+                                 ExistenceFilters existenceFilters,
+                                 @Value("${minishop.item.cache.max-size:10000}") long maxSize,
+                                 @Value("${minishop.item.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.delegate = delegate;
+        this.stockLedger = stockLedger;
+        this.existenceFilters = existenceFilters;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.dirtyIds = new TransactionDirtyKeys<>(ids -> {
+            invalidations.incrementAndGet();
+            cache.invalidateAll(ids);
+        });
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    // ===== 조회 =====
+
+    @Override
+    public Optional<Items> findById(Long id) {
+        if (dirtyIds.contains(id)) {
+            return delegate.findById(id);
+        }
+        // 없는 상품(null)은 캐시에 넣지 않음
+        return Optional.ofNullable(copy(cache.get(id, key -> delegate.findById(key).orElse(null))));
+    }
+
+    // ETag 용 : 캐시에 있으면 캐시에서, 없으면 버전 + 재고만 읽음 (행 전체를 읽지 않으므로 캐시에 넣지 않음)
+    @Override
+    public Items findVersionById(Long id) {
+        if (!dirtyIds.contains(id)) {
+            Items cached = cache.getIfPresent(id);
+            if (cached != null) {
+                return copy(cached);
+            }
+        }
+        return delegate.findVersionById(id);
+    }
+
+    @Override
+    public List<Items> findAllByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<Long> cacheable = new HashSet<>(ids);
+        Set<Long> dirty = dirtyIds.current();
+        cacheable.removeAll(dirty);
+
+        Map<Long, Items> found = new HashMap<>(cache.getAllPresent(cacheable));
+        cacheable.removeAll(found.keySet());
+        if (!cacheable.isEmpty()) {
+            // getAll 의 일괄 로드는 키별 무효화와 원자적이지 않으므로, 읽는 동안 무효화가 있었으면 옛 값일 수 있어 넣지 않음
+            // (확인과 넣기를 compute 안에서 - 무효화는 횟수를 먼저 올리고 지우므로 그 사이에 넣어도 바로 지워짐)
+            long version = invalidations.get();
+            for (Items loaded : delegate.findAllByIds(cacheable)) {
+                Items current = cache.asMap().compute(loaded.getId(), (key, cached) ->
+                        cached != null || invalidations.get() != version ? cached : loaded);
+                found.put(loaded.getId(), current != null ? current : loaded);
+            }
+        }
+
+        List<Items> items = new ArrayList<>();
+        found.values().forEach(item -> items.add(copy(item)));
+
+        Set<Long> bypass = new HashSet<>(ids);
+        bypass.retainAll(dirty);
+        items.addAll(delegate.findAllByIds(bypass));
+        return items;
+    }
+
+    @Override
+    public List<Items> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public ItemCollectionVersion findCollectionVersion() {
+        return delegate.findCollectionVersion();
+    }
+
+    // 상품명 Bloom filter 가 없다고 하면 DB 를 읽지 않음
+    @Override
+    public Items findByName(String itemName) {
+        ExistenceFilter names = existenceFilters.itemNames();
+        if (!names.mightExist(itemName)) {
+            return null;
+        }
+        Items found = delegate.findByName(itemName);
+        names.recordLookup(found != null);
+        return found;
+    }
+
+    @Override
+    public void forEachName(Consumer<String> action) {
+        delegate.forEachName(action);
+    }
+
+    // ===== 변경 (바꾼 상품은 캐시에서 제거) =====
+
+    @Override
+    public Items save(Items item) {
+        existenceFilters.itemNames().add(item.getName());
+        Items saved = delegate.save(item);
+        invalidate(List.of(saved.getId())); // 커밋 전에 다른 요청이 읽어서 캐시에 넣지 않도록
+        return saved;
+    }
+
+    @Override
+    public int update(Long id, Items items) {
+        existenceFilters.itemNames().add(items.getName());
+        invalidate(List.of(id));
+        return delegate.update(id, items);
+    }
+
+    @Override
+    public int delete(Long id) {
+        invalidate(List.of(id));
+        return delegate.delete(id);
+    }
+
+    @Override
+    public void update(Items dbItem) {
+        existenceFilters.itemNames().add(dbItem.getName());
+        invalidate(List.of(dbItem.getId()));
+        delegate.update(dbItem);
+    }
+
+    @Override
+    public void updateStock(Items dbItem) {
+        invalidate(List.of(dbItem.getId()));
+        delegate.updateStock(dbItem);
+    }
+
+    @Override
+    public int decreaseStock(Long id, int quantity) {
+        if (!stockLedger.isManaged(id)) {
+            invalidate(List.of(id));
+        }
+        return delegate.decreaseStock(id, quantity);
+    }
+
+    @Override
+    public int adjustStocks(Map<Long, Integer> stockDeltas) {
+        if (stockDeltas != null) {
+            invalidate(stockDeltas.keySet().stream()
+                    .filter(itemId -> !stockLedger.isManaged(itemId))
+                    .toList());
+        }
+        return delegate.adjustStocks(stockDeltas);
+    }
+
+    @Override
+    public boolean redistributeStock(Long id, int shardCount) {
+        invalidate(List.of(id));
+        return delegate.redistributeStock(id, shardCount);
+    }
+
+    @Override
+    public void deleteAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+        delegate.deleteAll();
+    }
+
+    // ===== 내부 =====
+
+    // 복사본 + 원장 재고 (캐시에 넣을 때의 재고가 아니라 지금 재고)
+    private Items copy(Items cached) {
+        if (cached == null) {
+            return null;
+        }
+        return stockLedger.overlay(new Items(cached.getId(), cached.getName(), cached.getPrice(),
+                cached.getStockQuantity(), cached.getVersion()));
+    }
+
+    private void invalidate(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        invalidations.incrementAndGet(); // 먼저 올려서, 이 사이에 여러 건 조회로 읽은 옛 값이 캐시에 들어가지 않게 함
+        cache.invalidateAll(ids);
+        dirtyIds.addAll(ids);
+    }
+}
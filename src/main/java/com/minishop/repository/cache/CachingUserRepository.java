@@ -0,0 +1,185 @@
+package com.minishop.repository.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.minishop.domain.Users;
+import com.minishop.repository.UserRepository;
+import com.minishop.repository.mybatis.UserRepositoryMyBatis;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 사용자 조회 캐시 (id → 사용자) + 이메일 보조 인덱스 (email → id)
+ *
+ * - GET /users/{id} 와 이메일 중복 검사를 메모리에서 처리하고, 캐시에 없을 때만 DB 를 읽는다.
+ *   (없는 이메일은 캐시하지 않으므로 "중복 아님" 은 이메일 Bloom filter 가 없다고 하거나 DB 로 확인)
+ * - 등록/수정/삭제하면 그 사용자를 즉시 + 트랜잭션이 끝난 뒤 한 번 더 캐시와 인덱스에서 뺀다. (CachingItemRepository 와 같은 방식)
+ * - 이메일로 읽은 사용자는 읽는 사이에 다른 요청이 사용자를 바꿨으면 넣지 않는다. (무효화 횟수로 확인)
+ * - 꺼낸 사용자는 복사본이다.
+ */
+@Primary
+@Repository
+public class CachingUserRepository implements UserRepository {
+
+    private final UserRepositoryMyBatis delegate;
+    private final ExistenceFilters existenceFilters;
+    private final Cache<Long, Users> cache;
+    private final ConcurrentMap<String, Long> emailIndex = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final TransactionDirtyKeys<Long> dirtyIds;
+
+    public CachingUserRepository(UserRepositoryMyBatis delegate,
+                                 ExistenceFilters existenceFilters,
+                                 @Value("${minishop.user.cache.max-size:10000}") long maxSize,
+                                 @Value("${minishop.user.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.delegate = delegate;
+        this.existenceFilters = existenceFilters;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                // 개수 초과/만료로 밀려나면 인덱스에서도 제거 (직접 지울 때는 evict 에서 제거)
+                .evictionListener((Long id, Users user, RemovalCause cause) -> unindex(user))
+                .recordStats()
+                .build();
+        this.dirtyIds = new TransactionDirtyKeys<>(this::evict);
+    }
+
+    // ===== 조회 =====
+
+    @Override
+    public Users findById(Long id) {
+        if (dirtyIds.contains(id)) {
+            return delegate.findById(id);
+        }
+        return copy(cache.get(id, key -> index(delegate.findById(key))));
+    }
+
+    // ETag 용 : 캐시에 있으면 캐시에서, 없으면 버전만 읽음
+    @Override
+    public Long findVersionById(Long id) {
+        if (!dirtyIds.contains(id)) {
+            Users cached = cache.getIfPresent(id);
+            if (cached != null) {
+                return cached.getVersion();
+            }
+        }
+        return delegate.findVersionById(id);
+    }
+
+    @Override
+    public Users findByEmail(String email) {
+        Long id = emailIndex.get(email);
+        if (id != null && !dirtyIds.contains(id)) {
+            Users cached = cache.getIfPresent(id);
+            if (cached != null && email.equals(cached.getEmail())) {
+                return copy(cached);
+            }
+            emailIndex.remove(email, id); // 이미 밀려났거나 이메일이 바뀐 사용자
+        }
+
+        // 이메일 Bloom filter 가 없다고 하면 DB 를 읽지 않음
+        ExistenceFilter emails = existenceFilters.userEmails();
+        if (!emails.mightExist(email)) {
+            return null;
+        }
+
+        long version = invalidations.get();
+        Users loaded = delegate.findByEmail(email);
+        emails.recordLookup(loaded != null);
+        if (loaded != null && !dirtyIds.contains(loaded.getId())) {
+            // 읽는 동안 무효화가 있었으면 옛 값일 수 있으므로 넣지 않음
+            cache.asMap().compute(loaded.getId(), (key, current) ->
+                    current != null || invalidations.get() != version ? current : index(loaded));
+        }
+        return copy(loaded);
+    }
+
+    @Override
+    public List<Users> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public void forEachEmail(Consumer<String> action) {
+        delegate.forEachEmail(action);
+    }
+
+    // ===== 변경 =====
+
+    @Override
+    public Users save(Users user) {
+        existenceFilters.userEmails().add(user.getEmail());
+        Users saved = delegate.save(user);
+        invalidate(saved.getId());
+        return saved;
+    }
+
+    @Override
+    public Users update(Long id, Users user) {
+        existenceFilters.userEmails().add(user.getEmail());
+        invalidate(id);
+        return delegate.update(id, user);
+    }
+
+    @Override
+    public int delete(Long id) {
+        invalidate(id);
+        return delegate.delete(id);
+    }
+
+    @Override
+    public void deleteAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+        emailIndex.clear();
+        delegate.deleteAll();
+    }
+
+    // ===== 내부 =====
+
+    private void invalidate(Long id) {
+        evict(Set.of(id));
+        dirtyIds.addAll(Set.of(id));
+    }
+
+    // 무효화 횟수를 먼저 올려서, 이 사이에 이메일로 읽은 옛 값이 캐시에 들어가지 않게 함
+    private void evict(Set<Long> ids) {
+        invalidations.incrementAndGet();
+        for (Long id : ids) {
+            Users removed = cache.asMap().remove(id);
+            if (removed != null) {
+                unindex(removed);
+            }
+        }
+    }
+
+    private Users index(Users user) {
+        if (user != null && user.getEmail() != null) {
+            emailIndex.put(user.getEmail(), user.getId());
+        }
+        return user;
+    }
+
+    private void unindex(Users user) {
+        if (user != null && user.getEmail() != null) {
+            emailIndex.remove(user.getEmail(), user.getId());
+        }
+    }
+
+    private static Users copy(Users user) {
+        if (user == null) {
+            return null;
+        }
+        return new Users(user.getId(), user.getUsername(), user.getPassword(), user.getEmail(), user.getVersion());
+    }
+}
@@ -0,0 +1,81 @@
+package com.minishop.repository.cache;
+
+import com.minishop.response.BloomFilterStatsResponse;
+import com.minishop.support.ScalableBloomFilter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * "이 값이 DB에 있는가" 사전 검사 (중복 검사 쿼리 생략용)
+ *
+ * Bloom filter 가 없다고 하면 DB 를 읽지 않고 없다고 답한다.
+ * 있을 수도 있다고 하면 DB 조회(또는 unique 제약)로 확인하고, 실제로 없었던 경우를 오탐으로 센다.
+ * 시작할 때 DB 의 값을 모두 넣기 전에는 항상 "있을 수도 있다" 로 답한다.
+ */
+public class ExistenceFilter {
+
+    private final ScalableBloomFilter filter;
+    private volatile boolean ready;
+
+    private final LongAdder skipped = new LongAdder();        // 없다고 판단해서 조회 생략
+    private final LongAdder confirmed = new LongAdder();      // 있을 수도 → 실제로 있음
+    private final LongAdder falsePositives = new LongAdder(); // 있을 수도 → 실제로 없음
+
+    ExistenceFilter(long initialCapacity, double falsePositiveRate) {
+        this.filter = new ScalableBloomFilter(initialCapacity, falsePositiveRate);
+    }
+
+    public boolean mightExist(String value) {
+        if (value == null || !ready) {
+            return true;
+        }
+        if (filter.mightContain(value)) {
+            return true;
+        }
+        skipped.increment();
+        return false;
+    }
+
+    // 저장/이름 변경 전에 호출 (커밋 전에 다른 요청이 중복 검사를 건너뛰지 않도록, 롤백되면 오탐 하나로 남음)
+    public void add(String value) {
+        if (value != null) {
+            filter.add(value);
+        }
+    }
+
+    // mightExist 가 true 였던 값의 DB 조회 결과
+    public void recordLookup(boolean exists) {
+        if (!ready) {
+            return;
+        }
+        if (exists) {
+            confirmed.increment();
+        } else {
+            falsePositives.increment();
+        }
+    }
+
+    void markReady() {
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public BloomFilterStatsResponse stats() {
+        long negatives = skipped.sum();
+        long fp = falsePositives.sum();
+        return new BloomFilterStatsResponse(
+                ready,
+                filter.approximateCount(),
+                filter.stageCount(),
+                filter.bitSize(),
+                filter.targetFalsePositiveRate(),
+                filter.expectedFalsePositiveRate(),
+                negatives,
+                confirmed.sum(),
+                fp,
+                negatives + fp == 0 ? 0 : (double) fp / (negatives + fp));
+    }
+}
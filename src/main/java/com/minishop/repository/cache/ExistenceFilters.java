@@ -0,0 +1,74 @@
+package com.minishop.repository.cache;
+
+import com.minishop.repository.mybatis.ItemRepositoryMyBatis;
+import com.minishop.repository.mybatis.UserRepositoryMyBatis;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * 상품명 / 사용자 이메일 Bloom filter
+ *
+ * 시작할 때 DB 의 상품명, 이메일을 스트리밍으로 읽어 채우고, 이후에는 저장/이름 변경 때 CachingItemRepository,
+ * CachingUserRepository 가 넣는다. DB 를 직접 바꾸는 다른 서버가 있으면 맞지 않으므로 서버 한 대를 전제로 한다.
+ * (재고 원장과 같은 전제, 틀려도 "있을 수도 있다" 쪽은 DB 로 확인하므로 중복 허용은 unique 제약이 막는다)
+ */
+@Slf4j
+@Component
+public class ExistenceFilters implements SmartLifecycle {
+
+    private final ItemRepositoryMyBatis itemRepository;
+    private final UserRepositoryMyBatis userRepository;
+    private final ExistenceFilter itemNames;
+    private final ExistenceFilter userEmails;
+
+    private volatile boolean running;
+
+    public ExistenceFilters(ItemRepositoryMyBatis itemRepository,
+                            UserRepositoryMyBatis userRepository,
+                            @Value("${minishop.bloom.initial-capacity:100000}") long initialCapacity,
+                            @Value("${minishop.bloom.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.itemNames = new ExistenceFilter(initialCapacity, falsePositiveRate);
+        this.userEmails = new ExistenceFilter(initialCapacity, falsePositiveRate);
+    }
+
+    public ExistenceFilter itemNames() {
+        return itemNames;
+    }
+
+    public ExistenceFilter userEmails() {
+        return userEmails;
+    }
+
+    @Override
+    public void start() {
+        long begin = System.currentTimeMillis();
+        itemRepository.forEachName(itemNames::add);
+        itemNames.markReady();
+        userRepository.forEachEmail(userEmails::add);
+        userEmails.markReady();
+        running = true;
+
+        log.info("[ExistenceFilters] 상품명 {}개, 이메일 {}개로 재구성 ({}ms)",
+                itemNames.stats().getApproximateCount(), userEmails.stats().getApproximateCount(),
+                System.currentTimeMillis() - begin);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+}
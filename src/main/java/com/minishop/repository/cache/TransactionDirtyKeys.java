@@ -0,0 +1,71 @@
+package com.minishop.repository.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 현재 트랜잭션에서 바꾼 캐시 키 목록
+ *
+ * 캐시는 바꾼 키를 그 즉시 지우고, 트랜잭션이 끝나면(커밋/롤백) onCompletion 으로 한 번 더 지운다.
+ * 트랜잭션이 끝나기 전에는 바꾼 키를 캐시에서 꺼내거나 캐시에 넣지 않아야 커밋 안 된 값이 다른 요청에 보이지 않는다.
+ * 트랜잭션 밖에서는 아무것도 기록하지 않는다. (바로 커밋되므로 즉시 지우는 것으로 충분)
+ */
+class TransactionDirtyKeys<K> {
+
+    private final Consumer<Set<K>> onCompletion;
+
+    TransactionDirtyKeys(Consumer<Set<K>> onCompletion) {
+        this.onCompletion = onCompletion;
+    }
+
+    void addAll(Collection<K> keys) {
+        if (keys.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        keysOrRegister().addAll(keys);
+    }
+
+    boolean contains(K key) {
+        return current().contains(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    Set<K> current() {
+        Set<K> keys = (Set<K>) TransactionSynchronizationManager.getResource(this);
+        return keys == null ? Set.of() : keys;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<K> keysOrRegister() {
+        Set<K> keys = (Set<K>) TransactionSynchronizationManager.getResource(this);
+        if (keys != null) {
+            return keys;
+        }
+
+        Set<K> created = new HashSet<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(TransactionDirtyKeys.this);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(TransactionDirtyKeys.this, created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TransactionDirtyKeys.this);
+                onCompletion.accept(created);
+            }
+        });
+        return created;
+    }
+}
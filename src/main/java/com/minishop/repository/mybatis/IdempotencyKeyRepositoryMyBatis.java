@@ -0,0 +1,26 @@
+package com.minishop.repository.mybatis;
+
+import com.minishop.domain.IdempotencyKey;
+import com.minishop.repository.IdempotencyKeyRepository;
+import com.minishop.repository.mybatis.mapper.IdempotencyKeyMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepositoryMyBatis implements IdempotencyKeyRepository {
+
+    private final IdempotencyKeyMapper idempotencyKeyMapper;
+
+    @Override
+    public void save(IdempotencyKey key) {
+        idempotencyKeyMapper.insertKey(key);
+    }
+
+    @Override
+    public Optional<IdempotencyKey> findByKey(String idemKey) {
+        return Optional.ofNullable(idempotencyKeyMapper.findByKey(idemKey));
+    }
+}
@@ -1,19 +1,26 @@
 package com.minishop.repository.mybatis;
 
+import com.minishop.domain.ItemStockShard;
 import com.minishop.domain.Items;
+import com.minishop.exception.AppException;
+import com.minishop.exception.ErrorCode;
+import com.minishop.inventory.StockLedger;
 import com.minishop.repository.ItemRepository;
 import com.minishop.repository.mybatis.mapper.ItemMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Repository
 @RequiredArgsConstructor
 public class ItemRepositoryMyBatis implements ItemRepository {
 
     private final ItemMapper itemMapper;
+    private final StockLedger stockLedger; //등록된 상품은 재고를 인메모리 원장에서 관리
 
     @Override
     public Items save(Items item) {
@@ -23,28 +30,80 @@ public class ItemRepositoryMyBatis implements ItemRepository {
 
     @Override
     public int update(Long id, Items items) {
-        return itemMapper.updateItem(id,items);
+        // 원장 상품은 재고를 원장에 반영하고 DB에는 상품 정보만 수정 (DB 재고는 flush 때 반영)
+        if (stockLedger.isManaged(id)) {
+            int result = itemMapper.updateItemInfo(id, items);
+            if (result > 0) {
+                stockLedger.set(id, items.getStockQuantity());
+            }
+            return result;
+        }
+
+        // 샤딩된 상품은 상품 행 + 샤드에 나눠진 재고를 통째로 새 재고로 바꾼다
+        List<ItemStockShard> shards = itemMapper.findStockShardsForUpdate(id);
+
+        int result = itemMapper.updateItem(id, items);
+
+        if (result > 0 && !shards.isEmpty()) {
+            writeStockShards(id, items.getStockQuantity(), shards.size());
+        }
+        return result;
     }
 
     @Override
     public int delete(Long id) {
-        return itemMapper.deleteItem(id);
+        int result = itemMapper.deleteItem(id);
+        if (result > 0) {
+            stockLedger.remove(id);
+        }
+        return result;
     }
 
     @Override
     public Optional<Items> findById(Long id) {
-        return Optional.ofNullable(itemMapper.findById(id));
+        return Optional.ofNullable(stockLedger.overlay(itemMapper.findById(id)));
 
     }
 
+    @Override
+    public Items findVersionById(Long id) {
+        return stockLedger.overlay(itemMapper.findVersionById(id));
+    }
+
+    // 원장 재고는 DB 보다 앞서 있으므로 원장 재고 요약을 함께 넣음
+    @Override
+    public ItemCollectionVersion findCollectionVersion() {
+        ItemCollectionVersion version = itemMapper.findCollectionVersion();
+        version.setLedgerStock(stockLedger.stockDigest());
+        return version;
+    }
+
     @Override
     public List<Items> findAll() {
-        return itemMapper.findAll();
+        List<Items> items = itemMapper.findAll();
+        items.forEach(stockLedger::overlay);
+        return items;
+    }
+
+    @Override
+    public List<Items> findAllByIds(Collection<Long> ids) {
+        // IN () 는 문법 오류이므로 빈 목록은 DB에 가지 않고 바로 반환
+        if (ids == null || ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Items> items = itemMapper.findAllByIds(ids);
+        items.forEach(stockLedger::overlay);
+        return items;
     }
 
     @Override
     public Items findByName(String itemName) {
-        return itemMapper.findByName(itemName);
+        return stockLedger.overlay(itemMapper.findByName(itemName));
+    }
+
+    @Override
+    public void forEachName(Consumer<String> action) {
+        itemMapper.streamNames(context -> action.accept(context.getResultObject()));
     }
 
     @Override
@@ -57,6 +116,160 @@ public class ItemRepositoryMyBatis implements ItemRepository {
         itemMapper.updateStock(dbItem);
     }
 
+    @Override
+    public int decreaseStock(Long id, int quantity) {
+        // 0) 원장 상품은 메모리에서 차감
+        if (stockLedger.isManaged(id)) {
+            return stockLedger.decrease(id, quantity);
+        }
+
+        return decreaseRowThenShards(id, quantity, false);
+    }
+
+    // 1) 상품 행에서 조건부 차감 (재고가 있으면 여기서 끝)
+    // 2) 샤딩된 상품만 재고 샤드에서 차감 - 샤딩하지 않은 상품의 품절은 잠금 없이 바로 0
+    //    (샤드 경로는 상품 행을 FOR UPDATE 로 잠글 수 있어서, 품절 주문이 몰릴 때 재고 추가와 서로 기다리게 됨)
+    //    knownSharded : 호출한 쪽에서 이미 샤딩된 상품인 걸 확인했으면 true
+    private int decreaseRowThenShards(Long id, int quantity, boolean knownSharded) {
+        int updated = itemMapper.decreaseStock(id, quantity);
+        if (updated > 0) {
+            return updated;
+        }
+
+        if (!knownSharded && itemMapper.findShardedItemIds(List.of(id)).isEmpty()) {
+            return 0;
+        }
+        return decreaseShardStock(id, quantity);
+    }
+
+    @Override
+    public int adjustStocks(Map<Long, Integer> stockDeltas) {
+        if (stockDeltas == null || stockDeltas.isEmpty()) {
+            return 0;
+        }
+
+        // 원장 상품은 메모리에서 증감
+        Map<Long, Integer> rowDeltas = new HashMap<>(stockDeltas);
+        int updated = 0;
+        for (Long itemId : stockDeltas.keySet()) {
+            if (stockLedger.isManaged(itemId)) {
+                int delta = rowDeltas.remove(itemId);
+                if (delta < 0) {
+                    updated += stockLedger.decrease(itemId, -delta);
+                } else {
+                    stockLedger.increase(itemId, delta);
+                    updated++;
+                }
+            }
+        }
+
+        // 샤딩된 상품의 재고 차감은 상품 행 조건(재고 >= 0)으로 검사할 수 없으므로 샤드 경로로 보낸다
+        Set<Long> decreasedIds = rowDeltas.entrySet().stream()
+                .filter(e -> e.getValue() < 0)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+
+        List<Long> shardedIds = decreasedIds.isEmpty()
+                ? List.of()
+                : itemMapper.findShardedItemIds(decreasedIds);
+
+        for (Long itemId : shardedIds) {
+            updated += decreaseRowThenShards(itemId, -rowDeltas.remove(itemId), true);
+        }
+
+        return rowDeltas.isEmpty() ? updated : updated + itemMapper.adjustStocks(rowDeltas);
+    }
+
+    @Override
+    public boolean redistributeStock(Long id, int shardCount) {
+        if (stockLedger.isManaged(id)) {
+            throw new AppException(ErrorCode.INVALID_REQUEST, "재고 원장에서 관리하는 상품은 재고 샤드를 사용할 수 없습니다.");
+        }
+
+        // 상품 행 → 샤드 순서로 잠그고 합계를 구한 뒤 다시 나눠 담는다
+        Integer rowStock = itemMapper.findStockForUpdate(id);
+        if (rowStock == null) {
+            return false;
+        }
+
+        int total = rowStock + itemMapper.findStockShardsForUpdate(id).stream()
+                .mapToInt(ItemStockShard::getQuantity)
+                .sum();
+
+        writeStockShards(id, total, shardCount);
+        return true;
+    }
+
+    // 샤드에서 차감 : 임의의 샤드부터 시도해서 동시 주문들이 서로 다른 행을 잠그게 한다
+    private int decreaseShardStock(Long id, int quantity) {
+        List<Integer> shardNos = itemMapper.findStockShardNos(id, quantity);
+
+        if (!shardNos.isEmpty()) {
+            int start = ThreadLocalRandom.current().nextInt(shardNos.size());
+            for (int i = 0; i < shardNos.size(); i++) {
+                int shardNo = shardNos.get((start + i) % shardNos.size());
+                if (itemMapper.decreaseShardStock(id, shardNo, quantity) > 0) {
+                    return 1;
+                }
+            }
+        }
+
+        // 샤드 하나로는 부족하면(또는 그 사이 다른 주문이 가져가면) 모두 잠그고 나눠서 차감
+        return drainStock(id, quantity);
+    }
+
+    private int drainStock(Long id, int quantity) {
+        Integer rowStock = itemMapper.findStockForUpdate(id);
+        List<ItemStockShard> shards = itemMapper.findStockShardsForUpdate(id);
+
+        if (rowStock == null || shards.isEmpty()) {
+            return 0;
+        }
+
+        int total = rowStock + shards.stream().mapToInt(ItemStockShard::getQuantity).sum();
+        if (total < quantity) {
+            return 0;
+        }
+
+        int remaining = quantity;
+
+        int fromRow = Math.min(Math.max(rowStock, 0), remaining);
+        if (fromRow > 0) {
+            itemMapper.decreaseStock(id, fromRow);
+            remaining -= fromRow;
+        }
+
+        for (ItemStockShard shard : shards) {
+            if (remaining == 0) {
+                break;
+            }
+            int taken = Math.min(shard.getQuantity(), remaining);
+            if (taken > 0) {
+                itemMapper.updateShardStock(id, shard.getShardNo(), shard.getQuantity() - taken);
+                remaining -= taken;
+            }
+        }
+        return 1;
+    }
+
+    // 재고 total 을 샤드 shardCount 개에 고르게 나눠 담고 상품 행 재고는 0 (shardCount 0 이면 상품 행에 전부)
+    private void writeStockShards(Long id, int total, int shardCount) {
+        itemMapper.deleteStockShards(id);
+
+        if (shardCount <= 0) {
+            itemMapper.updateShardedStock(id, total, 0);
+            return;
+        }
+
+        List<ItemStockShard> shards = new ArrayList<>();
+        for (int shardNo = 0; shardNo < shardCount; shardNo++) {
+            int quantity = total / shardCount + (shardNo < total % shardCount ? 1 : 0);
+            shards.add(new ItemStockShard(id, shardNo, quantity));
+        }
+        itemMapper.insertStockShards(shards);
+        itemMapper.updateShardedStock(id, 0, shardCount);
+    }
+
     @Override
     public void deleteAll() {
         itemMapper.deleteAll();
@@ -0,0 +1,68 @@
+package com.minishop.repository.mybatis;
+
+import com.minishop.domain.Items;
+import com.minishop.domain.OrderItems;
+import com.minishop.domain.Orders;
+import com.minishop.repository.ItemRepository;
+import com.minishop.repository.mybatis.mapper.OrderMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 주문상품 배치 로더
+ *
+ * 주문 목록을 받아 주문상품을 IN 쿼리 한 번, 상품을 IN 쿼리 한 번으로 읽고 메모리에서 이어 붙인다. (주문 수와 관계없이 쿼리 2번)
+ * orders/order_items/items 를 JOIN 하면 주문 컬럼이 주문상품 수만큼 반복되고,
+ * 목록을 받은 뒤 주문마다 단건 조회하면 쿼리가 주문 수만큼 늘어나서 이 방식으로 바꿨다.
+ *
+ * 주문상품에는 주문 시점의 상품명/단가가 있으므로 상품은 현재 재고가 필요하다고 요청한 경우에만 읽는다.
+ * (기본 조회는 주문상품 쿼리 한 번 - 주문이 몰리는 상품 행의 잠금/변경과 무관)
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderLineLoader {
+
+    private final OrderMapper orderMapper;
+    private final ItemRepository itemRepository;
+
+    // 각 주문에 orderItems 를 채움, 주문상품이 없는 주문은 빈 리스트
+    // withItems 면 주문상품마다 현재 상품 정보(재고 포함)도 채움
+    public void loadLines(List<Orders> orders, boolean withItems) {
+        if (orders == null || orders.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Orders> orderMap = new HashMap<>();
+        for (Orders order : orders) {
+            order.setOrderItems(new ArrayList<>());
+            orderMap.put(order.getId(), order);
+        }
+
+        List<OrderItems> lines = orderMapper.findOrderItemsByOrderIds(orderMap.keySet());
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        if (!withItems) {
+            for (OrderItems line : lines) {
+                orderMap.get(line.getOrderId()).getOrderItems().add(line);
+            }
+            return;
+        }
+
+        Map<Long, Items> itemMap = itemRepository.findAllByIds(lines.stream()
+                        .map(OrderItems::getItemId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Items::getId, Function.identity()));
+
+        for (OrderItems line : lines) {
+            line.setItem(itemMap.get(line.getItemId())); // 삭제된 상품은 null (기존 LEFT JOIN 과 동일)
+            orderMap.get(line.getOrderId()).getOrderItems().add(line);
+        }
+    }
+}
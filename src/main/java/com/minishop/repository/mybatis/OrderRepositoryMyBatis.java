@@ -3,38 +3,111 @@ package com.minishop.repository.mybatis;
 
 import com.minishop.domain.Orders;
 import com.minishop.domain.OrderItems;
+import com.minishop.domain.OrderStatus;
+import com.minishop.dto.order.OrderCursor;
+import com.minishop.dto.order.OrderSearchRequest;
+import com.minishop.exception.AppException;
+import com.minishop.exception.ErrorCode;
 import com.minishop.repository.OrderRepository;
 import com.minishop.repository.mybatis.mapper.OrderMapper;
 import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.stereotype.Repository;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Repository
 @RequiredArgsConstructor
 public class OrderRepositoryMyBatis implements OrderRepository {
 
+    // multi-row INSERT 한 문장에 넣을 최대 주문상품 수 (문장 크기/파라미터 수 제한)
+    private static final int INSERT_BATCH_SIZE = 500;
+
     private final OrderMapper orderMapper;
+    private final OrderLineLoader orderLineLoader;
 
     @Override
     public void save(Orders order) {
         orderMapper.insertOrder(order);
 
-        // 1개의 주문에 여러 개의 상품을 주문
-        for (OrderItems item : order.getOrderItems()) {
+        // 1개의 주문에 여러 개의 상품을 주문 → 한 건씩이 아니라 multi-row INSERT로 저장
+        List<OrderItems> orderItems = order.getOrderItems();
+        if (orderItems == null || orderItems.isEmpty()) {
+            return;
+        }
+
+        for (OrderItems item : orderItems) {
             item.setOrderId(order.getId());
-            orderMapper.insertOrderItem(item);
+        }
+
+        for (int from = 0; from < orderItems.size(); from += INSERT_BATCH_SIZE) {
+            int to = Math.min(from + INSERT_BATCH_SIZE, orderItems.size());
+            orderMapper.insertOrderItems(orderItems.subList(from, to));
         }
     }
 
     @Override
     public Orders findById(Long id) {
-        return orderMapper.findById(id);
+        return findById(id, false);
+    }
+
+    @Override
+    public Orders findByIdWithItems(Long id) {
+        return findById(id, true);
+    }
+
+    @Override
+    public Orders findByIdForUpdate(Long id) {
+        // (id, 상태) 잠금 조회로 먼저 잠그고, 잠근 뒤의 주문/주문상품을 읽음
+        if (orderMapper.findStatusesForUpdate(List.of(id)).isEmpty()) {
+            return null;
+        }
+        return findById(id, false);
+    }
+
+    private Orders findById(Long id, boolean withItems) {
+        List<Orders> found = orderMapper.findByIds(List.of(id));
+        if (found.isEmpty()) {
+            return null;
+        }
+        orderLineLoader.loadLines(found, withItems);
+        return found.get(0);
     }
 
     @Override
-    public List<Orders> findAll() {
-        return orderMapper.findAll();
+    public Long findVersionById(Long id) {
+        return orderMapper.findVersionById(id);
+    }
+
+    @Override
+    public List<Long> findItemIdsByOrderId(Long orderId) {
+        return orderMapper.findItemIdsByOrderId(orderId);
+    }
+
+    @Override
+    public List<Orders> search(OrderSearchRequest condition, OrderCursor cursor, int limit) {
+        // 상태는 이름이 아니라 코드로 비교하므로 enum 으로 바꿔서 넘김 (없는 상태는 서비스에서 이미 걸러짐)
+        OrderStatus status = OrderStatus.from(condition.getStatus());
+        List<Orders> orders = cursor == null
+                ? orderMapper.searchOrders(condition, status, null, null, limit)
+                : orderMapper.searchOrders(condition, status, cursor.orderDate(), cursor.id(), limit);
+        orderLineLoader.loadLines(orders, false);
+        return orders;
+    }
+
+    // Cursor 는 SqlSession 이 열려 있는 동안만 읽을 수 있으므로 호출하는 쪽에 트랜잭션이 있어야 함
+    @Override
+    public void forEachWithItems(Consumer<Orders> action) {
+        try (Cursor<Orders> cursor = orderMapper.streamAllWithItems()) {
+            cursor.forEach(action);
+        } catch (IOException e) {
+            throw new AppException(ErrorCode.DATABASE_ERROR);
+        }
     }
 
     @Override
@@ -43,18 +116,82 @@ public class OrderRepositoryMyBatis implements OrderRepository {
     }
 
     @Override
-    public void updateStatus(Long orderId, String newStatus) {
+    public void updateStatus(Long orderId, OrderStatus newStatus) {
         orderMapper.updateOrderStatus(orderId, newStatus);
     }
 
     @Override
-    public void updateTotalPrice(Long orderId, int newTotalPrice) {
-        orderMapper.updateTotalPrice(orderId, newTotalPrice);
+    public void updateOrderItems(Long id, List<OrderItems> orderItems, int totalPrice) {
+        orderMapper.updateOrderItems(id, orderItems, totalPrice);
+    }
+
+    @Override
+    public List<Orders> findNewOrdersAfter(long afterId, int limit) {
+        return orderMapper.findNewOrdersAfter(afterId, limit);
+    }
+
+    @Override
+    public List<Long> findStaleOrderIdsForUpdate(Collection<Long> orderIds, LocalDateTime cutoff) {
+        // IN () 는 문법 오류이므로 빈 목록은 DB에 가지 않고 바로 반환
+        if (orderIds == null || orderIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return orderMapper.findStaleOrderIdsForUpdate(orderIds, cutoff);
+    }
+
+    @Override
+    public List<OrderItems> sumQuantitiesByItem(Collection<Long> orderIds) {
+        if (orderIds == null || orderIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return orderMapper.sumQuantitiesByItem(orderIds);
+    }
+
+    @Override
+    public List<Long> findOrderIdsWithMissingItems(Collection<Long> orderIds) {
+        if (orderIds == null || orderIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return orderMapper.findOrderIdsWithMissingItems(orderIds);
+    }
+
+    @Override
+    public List<Orders> findStatusesForUpdate(Collection<Long> orderIds) {
+        if (orderIds == null || orderIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return orderMapper.findStatusesForUpdate(orderIds);
+    }
+
+    @Override
+    public int updateStatusByIds(Collection<Long> orderIds, Collection<OrderStatus> fromStatuses, OrderStatus newStatus) {
+        if (orderIds == null || orderIds.isEmpty() || fromStatuses == null || fromStatuses.isEmpty()) {
+            return 0;
+        }
+        return orderMapper.updateOrderStatusByIds(orderIds, fromStatuses, newStatus);
+    }
+
+    @Override
+    public List<Long> findLineIdsWithoutSnapshot(long afterId, int limit) {
+        return orderMapper.findLineIdsWithoutSnapshot(afterId, limit);
+    }
+
+    @Override
+    public int backfillLineSnapshots(Collection<Long> lineIds) {
+        if (lineIds == null || lineIds.isEmpty()) {
+            return 0;
+        }
+        return orderMapper.backfillLineSnapshots(lineIds);
+    }
+
+    @Override
+    public String findDocument(Long orderId) {
+        return orderMapper.findDocument(orderId);
     }
 
     @Override
-    public void updateOrderItems(Long id, List<OrderItems> orderItems) {
-        orderMapper.updateOrderItems(id, orderItems);
+    public void saveDocument(Long orderId, long version, String document) {
+        orderMapper.saveDocument(orderId, version, document);
     }
 
     @Override
@@ -0,0 +1,63 @@
+package com.minishop.repository.mybatis;
+
+import com.minishop.domain.StockReservation;
+import com.minishop.domain.StockReservationItem;
+import com.minishop.repository.ReservationRepository;
+import com.minishop.repository.mybatis.mapper.ReservationMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class ReservationRepositoryMyBatis implements ReservationRepository {
+
+    private final ReservationMapper reservationMapper;
+
+    @Override
+    public StockReservation save(StockReservation reservation) {
+        reservationMapper.insertReservation(reservation);
+
+        List<StockReservationItem> items = reservation.getItems();
+        if (items != null && !items.isEmpty()) {
+            for (StockReservationItem item : items) {
+                item.setReservationId(reservation.getId());
+            }
+            reservationMapper.insertReservationItems(items);
+        }
+        return reservation;
+    }
+
+    @Override
+    public Optional<StockReservation> findById(Long id) {
+        return Optional.ofNullable(reservationMapper.findById(id));
+    }
+
+    @Override
+    public List<StockReservation> findActive() {
+        return reservationMapper.findActive();
+    }
+
+    @Override
+    public boolean confirm(Long id, LocalDateTime now) {
+        return reservationMapper.confirmReservation(id, now) > 0;
+    }
+
+    @Override
+    public boolean release(Long id) {
+        return reservationMapper.releaseReservation(id) > 0;
+    }
+
+    @Override
+    public boolean expire(Long id, LocalDateTime now) {
+        return reservationMapper.expireReservation(id, now) > 0;
+    }
+
+    @Override
+    public void updateOrderId(Long id, Long orderId) {
+        reservationMapper.updateOrderId(id, orderId);
+    }
+}
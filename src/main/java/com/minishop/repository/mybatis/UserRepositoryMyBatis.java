@@ -8,6 +8,7 @@ import com.minishop.repository.mybatis.mapper.UserMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Repository
 @RequiredArgsConstructor
@@ -29,7 +30,9 @@ public class UserRepositoryMyBatis implements UserRepository {
             throw new AppException(ErrorCode.USER_NOT_FOUND, "업데이트 대상이 존재하지 않습니다.");
         }
 
-        return userMapper.findUserById(id);
+        // 저장한 값 그대로 반환 (다시 조회하지 않음, 버전은 updateUser 가 채움)
+        user.setId(id);
+        return user;
     }
 
     @Override
@@ -42,6 +45,11 @@ public class UserRepositoryMyBatis implements UserRepository {
         return userMapper.findUserById(id);
     }
 
+    @Override
+    public Long findVersionById(Long id) {
+        return userMapper.findVersionById(id);
+    }
+
     @Override
     public List<Users> findAll() {
         return userMapper.findAllUsers();
@@ -52,6 +60,11 @@ public class UserRepositoryMyBatis implements UserRepository {
         return userMapper.findUserByEmail(email);
     }
 
+    @Override
+    public void forEachEmail(Consumer<String> action) {
+        userMapper.streamEmails(context -> action.accept(context.getResultObject()));
+    }
+
     @Override
     public void deleteAll() {
         userMapper.deleteAll();
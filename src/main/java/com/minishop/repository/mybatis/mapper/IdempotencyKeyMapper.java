@@ -0,0 +1,10 @@
+package com.minishop.repository.mybatis.mapper;
+
+import com.minishop.domain.IdempotencyKey;
+import org.apache.ibatis.annotations.Mapper;
+
+@Mapper
+public interface IdempotencyKeyMapper {
+    void insertKey(IdempotencyKey key); // 키 저장 (중복이면 DuplicateKeyException)
+    IdempotencyKey findByKey(String idemKey);
+}
@@ -1,21 +1,44 @@
 package com.minishop.repository.mybatis.mapper;
 
+import com.minishop.domain.ItemCollectionVersion;
+import com.minishop.domain.ItemStockShard;
 import com.minishop.domain.Items;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 @Mapper
 public interface ItemMapper {
 
     Items findById(Long id);
+    Items findVersionById(Long id); //id, 버전, 재고만 (ETag 용)
     List<Items> findAll(); //READ
+    List<Items> findAllByIds(@Param("ids") Collection<Long> ids); //READ (IN 조회)
+    ItemCollectionVersion findCollectionVersion(); //상품 수, 버전 최대/합계, 샤드 재고 (목록 ETag 용)
     void saveItem(Items item); //CREATE
     int updateItem(@Param("id") Long id,@Param("item") Items item); //UPDATE
+    int updateItemInfo(@Param("id") Long id, @Param("item") Items item); //UPDATE (재고 제외)
     int deleteItem(Long id); //DELETE
     Items findByName(String itemName);  //예외 처리를 위한 아이템 이름 가져오기
+    void streamNames(ResultHandler<String> handler); //모든 상품명 (한 행씩 handler 로)
     int update(Items dbItem);
     void updateStock(Items dbItem);
+    int decreaseStock(@Param("id") Long id, @Param("quantity") int quantity); //조건부 재고 차감
+    int adjustStocks(@Param("stockDeltas") Map<Long, Integer> stockDeltas); //상품별 재고 증감 일괄 반영
     void deleteAll();
+
+    //재고 샤드
+    Integer findStockForUpdate(Long id);
+    List<Integer> findStockShardNos(@Param("itemId") Long itemId, @Param("quantity") int quantity);
+    List<ItemStockShard> findStockShardsForUpdate(Long itemId);
+    List<Long> findShardedItemIds(@Param("ids") Collection<Long> ids);
+    int decreaseShardStock(@Param("itemId") Long itemId, @Param("shardNo") int shardNo, @Param("quantity") int quantity);
+    int updateShardStock(@Param("itemId") Long itemId, @Param("shardNo") int shardNo, @Param("quantity") int quantity);
+    void updateShardedStock(@Param("id") Long id, @Param("stockQuantity") int stockQuantity, @Param("shardCount") int shardCount);
+    void insertStockShards(@Param("shards") List<ItemStockShard> shards);
+    void deleteStockShards(Long itemId);
 }
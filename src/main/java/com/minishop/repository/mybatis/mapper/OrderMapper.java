@@ -2,9 +2,14 @@ package com.minishop.repository.mybatis.mapper;
 
 import com.minishop.domain.Orders;
 import com.minishop.domain.OrderItems;
+import com.minishop.domain.OrderStatus;
+import com.minishop.dto.order.OrderSearchRequest;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -14,21 +19,55 @@ public interface OrderMapper {
 
     void insertOrderItem(OrderItems orderItems); // 주문상품 저장
 
-    Orders findById(Long id); // 주문 단건 조회
+    int insertOrderItems(@Param("orderItems") List<OrderItems> orderItems); // 주문상품 여러 건 한 번에 저장
 
-    List<OrderItems> findOrderItemsByOrderId(Long orderId); // 주문의 상품 목록 조회
+    List<Orders> findByIds(@Param("orderIds") Collection<Long> orderIds); // 주문 여러 건 조회 (주문상품 제외)
 
-    List<Orders> findAll(); // 전체 주문 조회
+    Long findVersionById(Long id); // 주문 버전만 (ETag 용)
+
+    List<Long> findItemIdsByOrderId(Long orderId); // 주문상품의 상품 ID 만 (ETag 용)
+
+    List<OrderItems> findOrderItemsByOrderIds(@Param("orderIds") Collection<Long> orderIds); // 주문들의 주문상품 조회
+
+    Orders findByIdWithJoin(Long id); // 주문 단건 조회 (JOIN 방식, 성능 비교용)
+
+    List<Orders> searchOrders(@Param("condition") OrderSearchRequest condition,
+                              @Param("status") OrderStatus status,
+                              @Param("cursorDate") LocalDateTime cursorDate,
+                              @Param("cursorId") Long cursorId,
+                              @Param("limit") int limit); // 주문 검색 (keyset 페이지)
+
+    Cursor<Orders> streamAllWithItems(); // 전체 주문 + 주문상품 스트리밍 (트랜잭션 안에서만 읽을 수 있음)
 
     void updateOrderStatus(@Param("orderId") Long orderId,
-                           @Param("status") String status); //주문 상태 변경
+                           @Param("status") OrderStatus status); //주문 상태 변경
 
     void updateOrder(Orders order); //주문 수정
 
-    void updateTotalPrice(@Param("orderId") Long orderId,
-                          @Param("totalPrice") int totalPrice);
+    void updateOrderItems(@Param("id")Long id, @Param("orderItems")List<OrderItems> orderItems,
+                          @Param("totalPrice") int totalPrice); // 주문상품 + 총액 변경
+
+    List<Orders> findNewOrdersAfter(@Param("afterId") long afterId, @Param("limit") int limit); // NEW 주문 id, 주문일
+
+    List<Long> findStaleOrderIdsForUpdate(@Param("orderIds") Collection<Long> orderIds,
+                                          @Param("cutoff") LocalDateTime cutoff); // 오래된 NEW 주문 잠금
+
+    List<OrderItems> sumQuantitiesByItem(@Param("orderIds") Collection<Long> orderIds); // 상품별 주문 수량 합계
+    List<Long> findOrderIdsWithMissingItems(@Param("orderIds") Collection<Long> orderIds); // 없는 상품이 든 주문 id
+
+    List<Orders> findStatusesForUpdate(@Param("orderIds") Collection<Long> orderIds); // 주문 (id, 상태) 잠금 조회
+
+    int updateOrderStatusByIds(@Param("orderIds") Collection<Long> orderIds,
+                               @Param("fromStatuses") Collection<OrderStatus> fromStatuses,
+                               @Param("status") OrderStatus status); // 여러 주문 상태 변경
+
+    List<Long> findLineIdsWithoutSnapshot(@Param("afterId") long afterId, @Param("limit") int limit); // 스냅샷 없는 주문상품 id
+
+    int backfillLineSnapshots(@Param("lineIds") Collection<Long> lineIds); // 주문상품 상품명/단가 채우기
+
+    String findDocument(Long orderId); // 주문 조회 응답 문서 (주문 버전과 같을 때만)
 
-    void updateOrderItems(@Param("id")Long id, @Param("orderItems")List<OrderItems> orderItems);
+    int saveDocument(@Param("orderId") Long orderId, @Param("version") long version, @Param("document") String document); // 응답 문서 저장 (더 새 버전일 때만 덮어씀)
 
     void deleteAll();
 }
@@ -0,0 +1,30 @@
+package com.minishop.repository.mybatis.mapper;
+
+import com.minishop.domain.StockReservation;
+import com.minishop.domain.StockReservationItem;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface ReservationMapper {
+
+    void insertReservation(StockReservation reservation); // 예약 저장
+
+    int insertReservationItems(@Param("items") List<StockReservationItem> items); // 예약 상품 여러 건 한 번에 저장
+
+    StockReservation findById(Long id); // 예약 단건 조회 (예약 상품 포함)
+
+    List<StockReservation> findActive(); // 활성 예약의 id, 만료 시간
+
+    // 상태 변경은 모두 ACTIVE 일 때만 (동시에 확정/해제/만료가 일어나도 한 번만 성공)
+    int confirmReservation(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    int releaseReservation(@Param("id") Long id);
+
+    int expireReservation(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    void updateOrderId(@Param("id") Long id, @Param("orderId") Long orderId);
+}
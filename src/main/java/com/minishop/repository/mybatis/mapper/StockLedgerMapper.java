@@ -0,0 +1,10 @@
+package com.minishop.repository.mybatis.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+@Mapper
+public interface StockLedgerMapper {
+    Long findFlushedSequence(); //DB에 반영된 마지막 재고 저널 번호
+    void updateFlushedSequence(@Param("flushedSeq") long flushedSeq);
+}
@@ -3,6 +3,7 @@ package com.minishop.repository.mybatis.mapper;
 import com.minishop.domain.Users;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.util.List;
 
@@ -10,9 +11,11 @@ import java.util.List;
 public interface UserMapper {
     List<Users> findAllUsers(); //READ
     Users findUserById(Long id); //READ
+    Long findVersionById(Long id); //버전만 (ETag 용)
     void insertUser(Users user); //CREATE
-    int updateUser(@Param("id")Long id, @Param("user")Users user); //UPDATE
+    int updateUser(@Param("id")Long id, @Param("user")Users user); //UPDATE (수정 후 버전을 user.version 에 채움)
     int deleteUser(Long id); //DELETE
     Users findUserByEmail(String email);
+    void streamEmails(ResultHandler<String> handler); //모든 이메일 (한 행씩 handler 로)
     void deleteAll();
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.minishop.repository.mybatis.typehandler;
+
+import com.minishop.domain.OrderStatus;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedTypes;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * OrderStatus ↔ orders.status (SMALLINT) 변환
+ * mybatis.type-handlers-package 로 등록되므로 매퍼에서 따로 지정하지 않아도 OrderStatus 타입이면 항상 이 핸들러를 쓴다.
+ */
+@MappedTypes(OrderStatus.class)
+public class OrderStatusTypeHandler extends BaseTypeHandler<OrderStatus> {
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, OrderStatus parameter, JdbcType jdbcType)
+            throws SQLException {
+        ps.setShort(i, (short) parameter.getCode());
+    }
+
+    @Override
+    public OrderStatus getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        short code = rs.getShort(columnName);
+        return rs.wasNull() ? null : OrderStatus.fromCode(code);
+    }
+
+    @Override
+    public OrderStatus getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        short code = rs.getShort(columnIndex);
+        return rs.wasNull() ? null : OrderStatus.fromCode(code);
+    }
+
+    @Override
+    public OrderStatus getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        short code = cs.getShort(columnIndex);
+        return cs.wasNull() ? null : OrderStatus.fromCode(code);
+    }
+}
@@ -0,0 +1,20 @@
+package com.minishop.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BloomFilterStatsResponse {
+
+    private boolean ready;                       // 시작 시 재구성 완료 여부
+    private long approximateCount;               // 넣은 값 개수 (근사치)
+    private int stageCount;                      // 늘어난 filter 개수
+    private long bitSize;
+    private double targetFalsePositiveRate;
+    private double expectedFalsePositiveRate;    // 지금 채워진 정도로 계산한 오탐률
+    private long skippedQueries;                 // 없다고 판단해서 생략한 조회
+    private long confirmedPositives;             // 있을 수도 → 실제로 있음
+    private long falsePositives;                 // 있을 수도 → 실제로 없음
+    private double observedFalsePositiveRate;    // 실제로 없던 값 중 오탐 비율
+}
@@ -0,0 +1,20 @@
+package com.minishop.response;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CacheStatsResponse {
+
+    private long size;          // 현재 캐시된 개수 (추정치)
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount; // 최대 개수/만료로 밀려난 개수
+
+    public static CacheStatsResponse of(long size, CacheStats stats) {
+        return new CacheStatsResponse(size, stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount());
+    }
+}
@@ -0,0 +1,15 @@
+package com.minishop.response;
+
+import com.minishop.domain.Items;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ItemBatchResponse {
+
+    private List<Items> items;     // 찾은 상품 (요청한 ID 순서, 중복 ID 는 한 번만)
+    private List<Long> missingIds; // 없는 상품 ID (조회 전체를 실패시키지 않고 알려줌)
+}
@@ -0,0 +1,26 @@
+package com.minishop.response;
+
+import com.minishop.domain.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class OrderBulkStatusResponse {
+
+    private OrderStatus status;           // 바꾼 상태
+    private int updatedCount;             // 상태를 바꾼 주문 수
+    private List<OrderResult> results;    // 주문별 결과 (요청한 ID 순서, 중복 ID 는 한 번만)
+
+
+    @Data
+    @AllArgsConstructor
+    public static class OrderResult {
+        private Long orderId;
+        private boolean updated;
+        private String errorCode;   // 바꾸지 못한 이유 (ORDER_NOT_FOUND, ALREADY_CANCELLED 등, 성공이면 null)
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.minishop.response;
+
+import com.minishop.domain.Orders;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class OrderPageResponse {
+
+    private List<Orders> orders;
+    private String nextCursor; // 다음 페이지 요청에 넣을 cursor (마지막 페이지면 null)
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
@@ -1,21 +1,38 @@
 package com.minishop.service;
 
+import com.minishop.domain.ItemCollectionVersion;
 import com.minishop.domain.Items;
 import com.minishop.dto.item.ItemCreateRequest;
+import com.minishop.dto.item.ItemStockShardRequest;
 import com.minishop.dto.item.ItemUpdateRequest;
 import com.minishop.exception.*;
 import com.minishop.repository.ItemRepository;
+import com.minishop.repository.cache.CachingItemRepository;
+import com.minishop.repository.cache.ExistenceFilters;
+import com.minishop.response.BloomFilterStatsResponse;
+import com.minishop.response.CacheStatsResponse;
+import com.minishop.response.ItemBatchResponse;
+import com.minishop.support.ETags;
+import com.minishop.support.SingleFlight;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.List;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 public class ItemService {
 
+    private static final int MAX_BATCH_IDS = 1000; // 여러 건 조회 최대 ID 수 (IN 목록 크기 제한)
+
     //인터페이스에 대해서만 알고 있어도 스프링에서 자동으로 해당 구현체로 연결해줌으로 신경을 쓰지 않아도 됨.
     private final ItemRepository itemRepository;
+    private final CachingItemRepository cachingItemRepository;
+    private final ExistenceFilters existenceFilters;
+    private final SingleFlight<Long, Optional<Items>> itemLookups = new SingleFlight<>();
 
     public Items save(ItemCreateRequest request) {
 
@@ -27,18 +44,18 @@ public class ItemService {
             throw new AppException(ErrorCode.INVALID_STOCK);
         }
 
-        if(itemRepository.findByName(request.getName()) != null){
-            throw new AppException(ErrorCode.DUPLICATE_ITEM, "상품명: " + request.getName());
-        }
-
         //유효성 검사+예외 처리 완료 후 저장
         Items item = new Items();
         item.setName(request.getName());
         item.setPrice(request.getPrice());
         item.setStockQuantity(request.getStockQuantity());
 
-
-        return itemRepository.save(item);
+        // 상품명 중복은 미리 조회하지 않고 unique 제약(uk_items_name)으로 판단 (동시에 같은 이름으로 등록해도 하나만 성공)
+        try {
+            return itemRepository.save(item);
+        } catch (DuplicateKeyException e) {
+            throw new AppException(ErrorCode.DUPLICATE_ITEM, "상품명: " + request.getName());
+        }
 
     }
 
@@ -50,9 +67,66 @@ public class ItemService {
         }
     }
 
+    // 같은 상품을 동시에 조회하면 DB 조회 한 번의 결과를 함께 받음
+    // (트랜잭션 안에서는 그 트랜잭션이 바꾼 값을 봐야 하므로 합치지 않음)
     public Items findById(Long id) {
-        return itemRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.ITEM_NOT_FOUND, "상품 ID: " + id));
+        Optional<Items> item = TransactionSynchronizationManager.isActualTransactionActive()
+                ? itemRepository.findById(id)
+                : itemLookups.execute(id, () -> itemRepository.findById(id));
+        return item.orElseThrow(() -> new AppException(ErrorCode.ITEM_NOT_FOUND, "상품 ID: " + id));
+    }
+
+    // 상품 여러 건 조회 (장바구니 등) - 상품마다 조회하지 않고 IN 쿼리 한 번 (캐시에 있는 상품은 캐시에서)
+    // 없는 상품은 예외 대신 missingIds 로 알려줌
+    public ItemBatchResponse findItems(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.stream().anyMatch(Objects::isNull)) {
+            throw new AppException(ErrorCode.INVALID_REQUEST, "조회할 상품 ID 를 1개 이상 입력해야 합니다.");
+        }
+
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        if (requested.size() > MAX_BATCH_IDS) {
+            throw new AppException(ErrorCode.INVALID_REQUEST, "상품 ID 는 한 번에 " + MAX_BATCH_IDS + "개까지 조회할 수 있습니다.");
+        }
+
+        Map<Long, Items> found = new HashMap<>();
+        for (Items item : itemRepository.findAllByIds(requested)) {
+            found.put(item.getId(), item);
+        }
+
+        List<Items> items = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            Items item = found.get(id);
+            if (item != null) {
+                items.add(item);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new ItemBatchResponse(items, missingIds);
+    }
+
+    // 상품 ETag (상품이 없으면 null) - 버전 + 재고만 읽음 (재고 샤드/원장 재고는 버전을 올리지 않으므로 재고를 함께 넣음)
+    public String itemETag(Long id) {
+        Items item = itemRepository.findVersionById(id);
+        return item == null ? null : ETags.of(item.getVersion(), item.getStockQuantity());
+    }
+
+    // 상품 목록 ETag - 목록을 읽지 않고 DB 집계 + 원장 재고 요약으로 (같은 데이터면 서버마다 같은 ETag)
+    public String itemsETag() {
+        ItemCollectionVersion version = itemRepository.findCollectionVersion();
+        return ETags.of(version.getItemCount(), version.getMaxVersion(), version.getVersionSum(),
+                version.getShardStock(), version.getLedgerStock());
+    }
+
+    // 상품 조회 캐시 적중/실패/밀려난 횟수
+    public CacheStatsResponse cacheStats() {
+        return CacheStatsResponse.of(cachingItemRepository.size(), cachingItemRepository.stats());
+    }
+
+    // 상품명 중복 검사 Bloom filter 통계 (생략한 조회 수, 오탐률)
+    public BloomFilterStatsResponse nameFilterStats() {
+        return existenceFilters.itemNames().stats();
     }
 
     public List<Items> findAll() {
@@ -64,6 +138,7 @@ public class ItemService {
     }
 
 
+    @Transactional
     public Items update(Long id, ItemUpdateRequest request) {
         // (1) 존재하지 않는 상품인지 체크
         Items existedItem = itemRepository.findById(id)
@@ -92,8 +167,13 @@ public class ItemService {
         updateItem.setPrice(request.getPrice());
         updateItem.setStockQuantity(request.getStockQuantity());
 
-        //DB 업데이트 진행
-        int result =itemRepository.update(id,updateItem);
+        //DB 업데이트 진행 (위 검사와 수정 사이에 같은 이름이 등록되면 unique 제약으로 거부)
+        int result;
+        try {
+            result = itemRepository.update(id, updateItem);
+        } catch (DuplicateKeyException e) {
+            throw new AppException(ErrorCode.DUPLICATE_ITEM, "상품명: " + request.getName());
+        }
 
         if(result==0){
             throw new AppException(ErrorCode.DATABASE_ERROR);
@@ -104,4 +184,16 @@ public class ItemService {
                 .orElseThrow(() ->
                         new AppException(ErrorCode.ITEM_NOT_FOUND, "수정 후 상품을 찾을 수 없습니다."));
     }
+
+    /**
+     * 재고 샤드 개수 변경 (구매가 몰리는 상품의 재고를 여러 행으로 나눔, 0이면 샤딩 해제)
+     * 현재 재고(상품 행 + 샤드 합계)를 새 샤드 개수로 다시 나눠 담는다.
+     */
+    @Transactional
+    public Items changeStockShards(Long id, ItemStockShardRequest request) {
+        if (!itemRepository.redistributeStock(id, request.getShardCount())) {
+            throw new AppException(ErrorCode.ITEM_NOT_FOUND, "상품 ID: " + id);
+        }
+        return findById(id);
+    }
 }
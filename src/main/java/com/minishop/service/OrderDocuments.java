@@ -0,0 +1,75 @@
+package com.minishop.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.minishop.domain.Items;
+import com.minishop.domain.OrderItems;
+import com.minishop.domain.Orders;
+import com.minishop.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * 주문 조회 응답 문서 (order_documents)
+ *
+ * GET /orders/{id} 의 기본 응답(주문 + 주문상품 스냅샷)을 JSON 으로 직렬화해서 주문 버전과 함께 저장해 두고,
+ * 조회는 PK 조회 한 번으로 문자열을 그대로 내려준다. (주문/주문상품 매핑과 직렬화를 요청마다 하지 않음)
+ * 주문을 바꾸는 단건 작업(생성/상태 변경/취소/수정)은 같은 트랜잭션에서 문서를 다시 쓰고,
+ * 일괄 상태 변경처럼 문서를 쓰지 않는 작업은 주문 버전만 올라가므로 다음 조회에서 버전이 달라 다시 만든다.
+ */
+@Slf4j
+@Component
+public class OrderDocuments {
+
+    // order_documents.document 최대 길이 (V5) - 넘는 주문은 저장하지 않고 조회할 때마다 만든다
+    static final int MAX_DOCUMENT_LENGTH = 1_000_000;
+
+    private final OrderRepository orderRepository;
+    private final ObjectWriter writer;
+
+    public OrderDocuments(OrderRepository orderRepository, ObjectMapper objectMapper) {
+        this.orderRepository = orderRepository;
+        // 응답과 같은 설정(날짜 형식 등)으로, 현재 상품 정보(item)는 빼고 직렬화
+        this.writer = objectMapper.copy()
+                .addMixIn(OrderItems.class, SnapshotLine.class)
+                .writerFor(Orders.class);
+    }
+
+    // 주문 버전과 같은 문서 (없거나 이전 버전이면 null)
+    public String find(Long orderId) {
+        return orderRepository.findDocument(orderId);
+    }
+
+    // 주문을 문서로 만들어 저장하고 반환 - order 는 지금 본 주문 전체 (version 포함)
+    // 문서가 없던 주문을 조회 쪽과 동시에 처음 저장하거나 그 사이 주문이 삭제되면 저장하지 못하는데,
+    // 그래도 다음 조회에서 버전을 보고 다시 만들면 되므로 예외로 주문 작업을 실패시키지 않음
+    public String save(Orders order) {
+        String document = toDocument(order);
+        if (document.length() > MAX_DOCUMENT_LENGTH) {
+            return document;
+        }
+        try {
+            orderRepository.saveDocument(order.getId(), order.getVersion(), document);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("[OrderDocument] 주문 {} 문서 저장 건너뜀 : {}", order.getId(), e.getMessage());
+        }
+        return document;
+    }
+
+    private String toDocument(Orders order) {
+        try {
+            return writer.writeValueAsString(order);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 " + order.getId() + " 문서 직렬화 실패", e);
+        }
+    }
+
+    // 문서에는 주문 시점 스냅샷만 (수정 응답처럼 item 이 채워진 주문으로 만들어도 같은 문서)
+    private abstract static class SnapshotLine {
+        @JsonIgnore
+        abstract Items getItem();
+    }
+}
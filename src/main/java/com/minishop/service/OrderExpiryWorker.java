@@ -0,0 +1,146 @@
+package com.minishop.service;
+
+import com.minishop.domain.Orders;
+import com.minishop.repository.OrderRepository;
+import com.minishop.support.HashedTimingWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 오래된 NEW 주문 자동 취소 (minishop.order.expiry.max-age-minutes, 0이면 사용 안 함)
+ *
+ * - 시작할 때 NEW 주문을 id 순으로 나눠 읽어서 "주문일 + 유지 시간" 에 만료되도록 타이밍 휠에 등록하고,
+ *   이후 생성되는 주문은 커밋 후 이벤트로 등록한다. (주문마다 예약 작업을 만들지 않음)
+ * - tick 마다 만료된 주문을 모아 batch-size 개씩 한 트랜잭션으로 취소한다 (OrderService.cancelStaleOrders).
+ *   그 사이 배송/취소된 주문은 취소 쿼리 조건에서 걸러진다.
+ */
+@Slf4j
+@Component
+public class OrderExpiryWorker implements SmartLifecycle {
+
+    private static final int WHEEL_SIZE = 512;
+    private static final int SEED_PAGE_SIZE = 10_000;
+    private static final long RETRY_DELAY_MILLIS = 10_000;
+
+    private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final Duration maxAge;
+    private final long tickMillis;
+    private final int batchSize;
+
+    private volatile HashedTimingWheel wheel;
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public OrderExpiryWorker(OrderRepository orderRepository,
+                             OrderService orderService,
+                             @Value("${minishop.order.expiry.max-age-minutes:0}") long maxAgeMinutes,
+                             @Value("${minishop.order.expiry.tick-ms:1000}") long tickMillis,
+                             @Value("${minishop.order.expiry.batch-size:500}") int batchSize) {
+        this.orderRepository = orderRepository;
+        this.orderService = orderService;
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+        this.tickMillis = tickMillis;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (maxAge.isZero()) {
+            return;
+        }
+
+        // 휠을 먼저 공개해서 채우는 동안 커밋된 주문도 이벤트로 등록되게 한다
+        // (마지막 페이지를 읽은 뒤 커밋된 주문은 채우기에서 빠지므로) - 양쪽에 모두 들어간 주문은 두 번째 취소 시도가 NEW 조건에서 걸러짐
+        HashedTimingWheel seeded = new HashedTimingWheel(tickMillis, WHEEL_SIZE, System.currentTimeMillis());
+        wheel = seeded;
+
+        long lastId = 0;
+        List<Orders> page;
+        do {
+            page = orderRepository.findNewOrdersAfter(lastId, SEED_PAGE_SIZE);
+            for (Orders order : page) {
+                seeded.add(order.getId(), deadlineOf(order.getOrderDate()));
+                lastId = order.getId();
+            }
+        } while (page.size() == SEED_PAGE_SIZE);
+
+        log.info("[OrderExpiry] 만료 대기 NEW 주문 {}건 (유지 시간 {}분)", seeded.size(), maxAge.toMinutes());
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // 주문 생성 트랜잭션이 커밋된 뒤 등록 (트랜잭션 밖에서 발행되면 바로 등록)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        HashedTimingWheel current = wheel;
+        if (current != null) {
+            current.add(event.orderId(), deadlineOf(event.orderDate()));
+        }
+    }
+
+    private void tick() {
+        long now = System.currentTimeMillis();
+        List<Long> expired = new ArrayList<>();
+        wheel.advance(now, expired::add);
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        // 휠은 만료 시각이 지난 뒤에만 꺼내므로, cutoff 이전 주문만 취소 대상
+        LocalDateTime cutoff = LocalDateTime.now().minus(maxAge);
+        int cancelled = 0;
+        for (int from = 0; from < expired.size(); from += batchSize) {
+            List<Long> batch = expired.subList(from, Math.min(from + batchSize, expired.size()));
+            try {
+                cancelled += orderService.cancelStaleOrders(batch, cutoff);
+            } catch (RuntimeException e) {
+                // 실패한 묶음은 잠시 후 다시 시도
+                log.error("[OrderExpiry] 주문 {}건 자동 취소 실패", batch.size(), e);
+                batch.forEach(orderId -> wheel.add(orderId, now + RETRY_DELAY_MILLIS));
+            }
+        }
+        log.info("[OrderExpiry] 만료 주문 {}건 중 {}건 자동 취소", expired.size(), cancelled);
+    }
+
+    private long deadlineOf(LocalDateTime orderDate) {
+        return orderDate.plus(maxAge).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 재고 원장(phase 0) 다음, 웹 서버보다 먼저 시작
+    @Override
+    public int getPhase() {
+        return 1;
+    }
+}
@@ -0,0 +1,92 @@
+package com.minishop.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minishop.domain.OrderItems;
+import com.minishop.domain.Orders;
+import com.minishop.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * 전체 주문 내보내기 (NDJSON : 한 줄에 주문 하나, 주문상품 포함)
+ *
+ * DB Cursor 에서 주문을 하나씩 꺼내 바로 출력 스트림에 쓰고 버리므로, 주문이 몇 건이든 힙 사용량이 늘지 않는다.
+ * Cursor 는 트랜잭션(SqlSession)이 열려 있는 동안만 읽을 수 있어서 내보내기 전체를 읽기 전용 트랜잭션으로 묶는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderExportService {
+
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+
+    // 내보낸 주문 수 반환 (out 은 닫지 않음)
+    @Transactional(readOnly = true)
+    public long exportOrders(OutputStream out) throws IOException {
+        long[] count = {0};
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.setRootValueSeparator(null); // 줄 구분은 직접 '\n' 으로
+
+            orderRepository.forEachWithItems(order -> {
+                try {
+                    writeOrder(generator, order);
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // 클라이언트가 연결을 끊은 경우 등 - 이미 응답을 보내는 중이라 에러 응답으로 바꿀 수 없음
+            log.warn("[OrderExport] {}건 내보낸 뒤 중단 : {}", count[0], e.getMessage());
+            throw e.getCause();
+        }
+
+        log.info("[OrderExport] 주문 {}건 내보내기 완료", count[0]);
+        return count[0];
+    }
+
+    private void writeOrder(JsonGenerator generator, Orders order) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", order.getId());
+        if (order.getUserId() == null) {
+            generator.writeNullField("userId");
+        } else {
+            generator.writeNumberField("userId", order.getUserId());
+        }
+        generator.writeStringField("orderDate", order.getOrderDate() == null ? null : order.getOrderDate().toString());
+        generator.writeNumberField("totalPrice", order.getTotalPrice());
+        generator.writeStringField("status", order.getStatus() == null ? null : order.getStatus().name());
+
+        generator.writeArrayFieldStart("orderItems");
+        if (order.getOrderItems() != null) {
+            for (OrderItems line : order.getOrderItems()) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", line.getId());
+                generator.writeNumberField("itemId", line.getItemId());
+                generator.writeNumberField("quantity", line.getQuantity());
+                // 주문 시점 스냅샷 (V4 이전 주문상품은 백필 전까지 null)
+                generator.writeStringField("itemName", line.getItemName());
+                if (line.getUnitPrice() == null) {
+                    generator.writeNullField("unitPrice");
+                } else {
+                    generator.writeNumberField("unitPrice", line.getUnitPrice());
+                }
+                generator.writeEndObject();
+            }
+        }
+        generator.writeEndArray();
+
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
@@ -0,0 +1,153 @@
+package com.minishop.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.minishop.domain.IdempotencyKey;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minishop.domain.Orders;
+import com.minishop.dto.order.OrderCreateRequest;
+import com.minishop.dto.order.OrderItemRequest;
+import com.minishop.exception.AppException;
+import com.minishop.exception.ErrorCode;
+import com.minishop.repository.IdempotencyKeyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Idempotency-Key 주문 (POST /orders 재시도 시 중복 주문/재고 중복 차감 방지)
+ *
+ * - 최근 키는 메모리 캐시(최대 개수 + 시간 만료)에 "진행 중이거나 끝난 주문 결과(future)" 로 보관한다.
+ *   같은 키로 동시에 들어온 요청은 먼저 들어온 요청의 실행 결과를 함께 기다린다.
+ * - 키는 주문과 같은 트랜잭션으로 idempotency_keys 에 저장하므로, 캐시에서 밀려났거나 다른 서버로 재시도해도
+ *   저장된 주문을 다시 조회해서 돌려준다. (재고는 건드리지 않음)
+ * - 실패한 요청은 아무것도 커밋되지 않았으므로 캐시에서 빼고, 같은 키로 다시 시도할 수 있게 한다.
+ * - 같은 키로 다른 요청을 보냈는지는 요청 본문의 SHA-256 으로 비교한다. (주문상품 순서만 다른 요청은 같은 요청)
+ */
+@Service
+public class OrderIdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final OrderService orderService;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Execution> executions;
+
+    // 같은 키의 요청 내용(digest) + 주문 결과
+    private record Execution(String requestDigest, CompletableFuture<Orders> result) {
+    }
+
+    public OrderIdempotencyService(OrderService orderService,
+                                   IdempotencyKeyRepository idempotencyKeyRepository,
+                                   ObjectMapper objectMapper,
+                                   @Value("${minishop.order.idempotency.cache-size:100000}") long cacheSize,
+                                   @Value("${minishop.order.idempotency.cache-ttl-minutes:60}") long cacheTtlMinutes) {
+        this.orderService = orderService;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.executions = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMinutes(cacheTtlMinutes))
+                .build();
+    }
+
+    public Orders createOrder(String idempotencyKey, OrderCreateRequest request) {
+
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new AppException(ErrorCode.INVALID_IDEMPOTENCY_KEY);
+        }
+
+        String requestDigest = digest(request);
+        Execution mine = new Execution(requestDigest, new CompletableFuture<>());
+        Execution running = executions.asMap().putIfAbsent(idempotencyKey, mine);
+
+        // 같은 키로 먼저 들어온 요청이 있으면 그 결과를 기다림
+        if (running != null) {
+            if (!running.requestDigest().equals(requestDigest)) {
+                throw new AppException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+            }
+            return await(running.result());
+        }
+
+        try {
+            Orders order = execute(idempotencyKey, request, requestDigest);
+            mine.result().complete(order);
+            return order;
+        } catch (RuntimeException e) {
+            executions.asMap().remove(idempotencyKey, mine);
+            mine.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Orders execute(String idempotencyKey, OrderCreateRequest request, String requestDigest) {
+
+        // 캐시에서 밀려난 키 / 다른 서버에서 처리한 키
+        IdempotencyKey saved = idempotencyKeyRepository.findByKey(idempotencyKey).orElse(null);
+        if (saved != null) {
+            return findSavedOrder(saved, request, requestDigest);
+        }
+
+        try {
+            return orderService.createOrder(request, idempotencyKey, requestDigest);
+        } catch (DuplicateKeyException e) {
+            // 다른 서버가 같은 키로 먼저 커밋 → 이 요청의 주문/재고 차감은 롤백됨
+            IdempotencyKey winner = idempotencyKeyRepository.findByKey(idempotencyKey).orElseThrow(() -> e);
+            return findSavedOrder(winner, request, requestDigest);
+        }
+    }
+
+    private Orders findSavedOrder(IdempotencyKey saved, OrderCreateRequest request, String requestDigest) {
+        // V6 이전에 저장된 키는 digest 가 없으므로 그때 저장한 hashCode 로 비교
+        boolean sameRequest = saved.getRequestDigest() != null
+                ? saved.getRequestDigest().equals(requestDigest)
+                : saved.getRequestHash() != null && saved.getRequestHash() == request.hashCode();
+        if (!sameRequest) {
+            throw new AppException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+        }
+        return orderService.findOrder(saved.getOrderId());
+    }
+
+    // 요청 본문 SHA-256 (hex) - 주문상품은 상품 ID, 수량 순으로 정렬해서 순서만 다른 요청은 같은 값
+    private String digest(OrderCreateRequest request) {
+        List<OrderItemRequest> items = new ArrayList<>(request.getOrderItems() == null ? List.of() : request.getOrderItems());
+        items.sort(Comparator.nullsFirst(Comparator
+                .comparing(OrderItemRequest::getItemId, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparingInt(OrderItemRequest::getQuantity)));
+
+        Map<String, Object> canonical = new LinkedHashMap<>();
+        canonical.put("userId", request.getUserId());
+        canonical.put("orderItems", items);
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(canonical)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("주문 요청 digest 생성 실패", e);
+        }
+    }
+
+    private Orders await(CompletableFuture<Orders> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
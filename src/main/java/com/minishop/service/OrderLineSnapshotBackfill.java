@@ -0,0 +1,100 @@
+package com.minishop.service;
+
+import com.minishop.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 주문상품 상품명/단가 백필 (V4 이전에 저장된 주문상품)
+ *
+ * 시작할 때 백그라운드 스레드에서 스냅샷이 비어 있는 주문상품을 id 순으로 batch-size 개씩 읽어 채운다.
+ * 묶음마다 짧은 트랜잭션으로 커밋하고 잠시 쉬므로, 행이 많아도 한 번에 큰 잠금을 잡거나 주문 처리를 밀어내지 않는다.
+ * 상품이 삭제된 주문상품은 채울 수 없어 그대로 두고 지나간다. (id 기준 keyset 이라 다시 읽지 않음)
+ * minishop.order.snapshot-backfill.batch-size 가 0 이면 사용하지 않는다.
+ */
+@Slf4j
+@Component
+public class OrderLineSnapshotBackfill implements SmartLifecycle {
+
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long pauseMillis;
+
+    private Thread worker;
+    private volatile boolean running;
+
+    public OrderLineSnapshotBackfill(OrderRepository orderRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${minishop.order.snapshot-backfill.batch-size:1000}") int batchSize,
+                                     @Value("${minishop.order.snapshot-backfill.pause-ms:50}") long pauseMillis) {
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (batchSize <= 0) {
+            return;
+        }
+
+        worker = new Thread(() -> {
+            try {
+                long filled = backfillAll();
+                if (filled > 0) {
+                    log.info("[OrderSnapshot] 주문상품 {}건 상품명/단가 백필 완료", filled);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // 다음 시작 때 남은 행부터 다시 채움
+                log.error("[OrderSnapshot] 주문상품 백필 실패", e);
+            }
+        }, "order-snapshot-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // 남은 주문상품을 모두 채우고 채운 행 수 반환 (묶음 사이에 pause-ms 만큼 쉼)
+    public long backfillAll() throws InterruptedException {
+        long filled = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> lineIds = orderRepository.findLineIdsWithoutSnapshot(afterId, batchSize);
+            if (lineIds.isEmpty()) {
+                break;
+            }
+
+            // 그 사이 다른 트랜잭션이 채운 행은 UPDATE 조건(unit_price IS NULL)에서 빠짐
+            filled += transactionTemplate.execute(status -> orderRepository.backfillLineSnapshots(lineIds));
+            afterId = lineIds.get(lineIds.size() - 1);
+            if (lineIds.size() < batchSize) {
+                break;
+            }
+            Thread.sleep(pauseMillis);
+        }
+        return filled;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
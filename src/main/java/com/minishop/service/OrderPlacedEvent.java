@@ -0,0 +1,9 @@
+package com.minishop.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 생성 이벤트 (커밋 후 OrderExpiryWorker 가 만료 휠에 등록)
+ */
+public record OrderPlacedEvent(Long orderId, LocalDateTime orderDate) {
+}
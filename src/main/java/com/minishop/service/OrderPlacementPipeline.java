@@ -0,0 +1,335 @@
+package com.minishop.service;
+
+import com.minishop.domain.Items;
+import com.minishop.domain.Orders;
+import com.minishop.dto.order.OrderCreateRequest;
+import com.minishop.dto.order.OrderItemRequest;
+import com.minishop.exception.AppException;
+import com.minishop.exception.ErrorCode;
+import com.minishop.inventory.StockLedger;
+import com.minishop.repository.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 group commit 파이프라인 (minishop.order.pipeline.enabled)
+ *
+ * - 들어온 주문 요청을 bounded 큐에 넣고, 쓰기 스레드 하나가 최대 max-batch-size 건 / max-wait-ms 동안 모아서
+ *   한 트랜잭션으로 처리한다. 커밋(디스크 동기화)이 주문마다가 아니라 묶음마다 한 번이다.
+ * - 묶음의 재고는 상품별 합계로 조건부 UPDATE 한 번에 먼저 차감해 보고, 부족한 상품이 있으면
+ *   주문마다 기존 방식(createOrder)으로 차감한다.
+ * - 주문마다 savepoint 안에서 실행하므로 실패한 주문만 되돌리고 나머지는 함께 커밋된다.
+ *   각 요청자는 커밋이 끝난 뒤 자기 주문 또는 예외를 받는다.
+ *   (트랜잭션 매니저가 JpaTransactionManager 라서 NESTED 전파를 쓸 수 없으므로, 트랜잭션의 JDBC 커넥션에 직접 savepoint 를 둔다)
+ * - 재고 원장(StockLedger)을 쓰는 상품이 있으면 사용하지 않는다.
+ *   (savepoint 롤백으로는 원장에서 차감한 재고를 되돌릴 수 없음)
+ */
+@Slf4j
+@Component
+public class OrderPlacementPipeline implements SmartLifecycle {
+
+    private static final long ENQUEUE_TIMEOUT_MILLIS = 1_000;
+
+    private final OrderService orderService;
+    private final ItemRepository itemRepository;
+    private final StockLedger stockLedger;
+    private final DataSource dataSource;
+    private final TransactionTemplate batchTx;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final BlockingQueue<Pending> queue;
+
+    private Thread writer;
+    private volatile boolean running;
+    private volatile boolean accepting;
+
+    private record Pending(OrderCreateRequest request, CompletableFuture<Orders> result) {
+    }
+
+    public OrderPlacementPipeline(OrderService orderService,
+                                  ItemRepository itemRepository,
+                                  StockLedger stockLedger,
+                                  PlatformTransactionManager transactionManager,
+                                  DataSource dataSource,
+                                  @Value("${minishop.order.pipeline.enabled:false}") boolean enabled,
+                                  @Value("${minishop.order.pipeline.max-batch-size:64}") int maxBatchSize,
+                                  @Value("${minishop.order.pipeline.max-wait-ms:2}") long maxWaitMillis,
+                                  @Value("${minishop.order.pipeline.queue-capacity:4096}") int queueCapacity) {
+        this.orderService = orderService;
+        this.itemRepository = itemRepository;
+        this.stockLedger = stockLedger;
+        this.dataSource = dataSource;
+        this.batchTx = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public boolean isAccepting() {
+        return accepting;
+    }
+
+    // 주문하기 (묶음이 커밋될 때까지 대기)
+    public Orders place(OrderCreateRequest request) {
+        try {
+            return submit(request).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // 큐에 넣고 바로 반환 (큐가 가득 차서 일정 시간 안에 넣지 못하면 ORDER_QUEUE_FULL)
+    public CompletableFuture<Orders> submit(OrderCreateRequest request) {
+        CompletableFuture<Orders> result = new CompletableFuture<>();
+        try {
+            if (!accepting || !queue.offer(new Pending(request, result), ENQUEUE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                result.completeExceptionally(new AppException(ErrorCode.ORDER_QUEUE_FULL));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(new AppException(ErrorCode.ORDER_QUEUE_FULL));
+        }
+        return result;
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                // 예상하지 못한 오류로 쓰기 스레드가 죽지 않게 (요청자는 process 에서 이미 완료 처리됨)
+                log.error("[OrderPipeline] 주문 묶음 처리 실패", e);
+            } finally {
+                batch.clear();
+            }
+        }
+
+        // 종료 중에 남은 요청은 실패 처리
+        Pending left;
+        while ((left = queue.poll()) != null) {
+            left.result().completeExceptionally(new AppException(ErrorCode.ORDER_QUEUE_FULL));
+        }
+    }
+
+    // 첫 요청 이후 max-wait-ms 동안, 최대 max-batch-size 건까지 모음
+    private void collect(List<Pending> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                return;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    // 묶음 전체를 한 트랜잭션으로 처리하고, 커밋된 뒤에 요청자에게 결과 전달
+    private void process(List<Pending> batch) {
+        Object[] outcomes = new Object[batch.size()];
+        try {
+            batchTx.executeWithoutResult(status -> placeAll(batch, outcomes));
+        } catch (RuntimeException e) {
+            // 커밋 실패 → 묶음 전체 실패
+            log.error("[OrderPipeline] 주문 {}건 커밋 실패", batch.size(), e);
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (outcomes[i] instanceof Orders order) {
+                batch.get(i).result().complete(order);
+            } else {
+                batch.get(i).result().completeExceptionally((RuntimeException) outcomes[i]);
+            }
+        }
+    }
+
+    private void placeAll(List<Pending> batch, Object[] outcomes) {
+        Set<Integer> held = holdStock(batch);
+
+        for (int i = 0; i < batch.size(); i++) {
+            OrderCreateRequest request = batch.get(i).request();
+            boolean stockHeld = held.contains(i);
+            try {
+                // @Transactional 메서드를 거치면 실패 시 바깥 트랜잭션 전체가 rollback-only 가 되므로 본체를 직접 호출
+                outcomes[i] = inSavepoint(() ->
+                        orderService.placeOrder(request.getUserId(), request.getOrderItems(), stockHeld));
+            } catch (RuntimeException e) {
+                outcomes[i] = e;
+                // 미리 차감한 재고는 savepoint 밖에서 차감했으므로 직접 돌려놓음
+                if (stockHeld) {
+                    itemRepository.adjustStocks(quantitiesOf(request));
+                }
+            }
+        }
+    }
+
+    /**
+     * 묶음의 재고를 상품별 합계로 한 번에 차감
+     * 주문 라인이 모두 정상(상품 존재, 수량 > 0)인 주문만 대상이고, 하나라도 재고가 부족하면 차감하지 않는다.
+     * @return 재고를 미리 차감한 주문의 순번
+     */
+    private Set<Integer> holdStock(List<Pending> batch) {
+        Set<Long> itemIds = batch.stream()
+                .map(Pending::request)
+                .filter(request -> request.getOrderItems() != null)
+                .flatMap(request -> request.getOrderItems().stream())
+                .map(OrderItemRequest::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existing = itemRepository.findAllByIds(itemIds).stream()
+                .map(Items::getId)
+                .collect(Collectors.toSet());
+
+        Set<Integer> eligible = new HashSet<>();
+        Map<Long, Integer> stockDeltas = new HashMap<>();
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                List<OrderItemRequest> lines = batch.get(i).request().getOrderItems();
+                boolean valid = lines != null && !lines.isEmpty() && lines.stream()
+                        .allMatch(line -> existing.contains(line.getItemId()) && line.getQuantity() > 0);
+                if (valid) {
+                    eligible.add(i);
+                    for (OrderItemRequest line : lines) {
+                        stockDeltas.merge(line.getItemId(), -line.getQuantity(), Math::addExact);
+                    }
+                }
+            }
+        } catch (ArithmeticException e) {
+            return Set.of();
+        }
+
+        // 주문이 하나뿐이면 이득이 없음
+        if (eligible.size() < 2) {
+            return Set.of();
+        }
+
+        // 일부 상품만 차감된 상태가 남지 않도록 savepoint 안에서 실행하고, 부족하면 되돌림
+        try {
+            inSavepoint(() -> {
+                if (itemRepository.adjustStocks(stockDeltas) < stockDeltas.size()) {
+                    throw new AppException(ErrorCode.OUT_OF_STOCK);
+                }
+                return null;
+            });
+            return eligible;
+        } catch (AppException e) {
+            return Set.of();
+        }
+    }
+
+    // 현재 트랜잭션 커넥션에 savepoint 를 두고 실행, 예외가 나면 savepoint 까지 되돌리고 다시 던짐
+    private <T> T inSavepoint(Supplier<T> action) {
+        Connection con = DataSourceUtils.getConnection(dataSource);
+        Savepoint savepoint;
+        try {
+            savepoint = con.setSavepoint();
+        } catch (SQLException e) {
+            throw new AppException(ErrorCode.DATABASE_ERROR, e.getMessage());
+        }
+
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            try {
+                con.rollback(savepoint);
+            } catch (SQLException rollbackEx) {
+                e.addSuppressed(rollbackEx);
+                // savepoint 로 되돌리지 못하면 묶음 전체를 롤백
+                throw new AppException(ErrorCode.DATABASE_ERROR, rollbackEx.getMessage());
+            }
+            throw e;
+        }
+
+        try {
+            con.releaseSavepoint(savepoint);
+        } catch (SQLException ignored) {
+            // 해제하지 못한 savepoint 는 커밋 때 함께 정리됨
+        }
+        return result;
+    }
+
+    private Map<Long, Integer> quantitiesOf(OrderCreateRequest request) {
+        return request.getOrderItems().stream()
+                .collect(Collectors.toMap(OrderItemRequest::getItemId, OrderItemRequest::getQuantity, Integer::sum));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (!enabled) {
+            return;
+        }
+        if (stockLedger.hasManagedItems()) {
+            log.warn("[OrderPipeline] 재고 원장을 사용하는 상품이 있어 주문 파이프라인을 사용하지 않음");
+            return;
+        }
+
+        writer = new Thread(this::run, "order-pipeline-writer");
+        writer.setDaemon(true);
+        writer.start();
+        accepting = true;
+        log.info("[OrderPipeline] 시작 (최대 {}건 / {}ms 단위로 커밋)", maxBatchSize,
+                TimeUnit.NANOSECONDS.toMillis(maxWaitNanos));
+    }
+
+    // 새 요청은 받지 않고, 큐에 남은 요청을 처리한 뒤 종료
+    @Override
+    public void stop() {
+        accepting = false;
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 재고 원장(phase 0) 다음, 웹 서버보다 먼저 시작하고 나중에 종료
+    @Override
+    public int getPhase() {
+        return 1;
+    }
+}
@@ -1,25 +1,36 @@
 // service/OrderService.java
 package com.minishop.service;
 
+import com.minishop.domain.IdempotencyKey;
 import com.minishop.domain.Items;
 import com.minishop.domain.Orders;
 import com.minishop.domain.OrderItems;
+import com.minishop.domain.OrderStatus;
 import com.minishop.dto.order.OrderCreateRequest;
+import com.minishop.dto.order.OrderCursor;
 import com.minishop.dto.order.OrderItemRequest;
 import com.minishop.dto.order.OrderModifyRequest;
+import com.minishop.dto.order.OrderSearchRequest;
 import com.minishop.dto.order.OrderUpdateRequest;
 import com.minishop.exception.AppException;
 import com.minishop.exception.ErrorCode;
+import com.minishop.repository.IdempotencyKeyRepository;
 import com.minishop.repository.ItemRepository;
-import com.minishop.repository.OrderItemsRepository;
 import com.minishop.repository.OrderRepository;
+import com.minishop.response.OrderBulkStatusResponse;
 import com.minishop.response.OrderCancelResponse;
+import com.minishop.response.OrderPageResponse;
+import com.minishop.support.ETags;
+import com.minishop.support.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -30,24 +41,54 @@ public class OrderService {
 
     private final OrderRepository orderRepository;
     private final ItemRepository itemRepository;
-    private final OrderItemsRepository orderItemsRepository;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderDocuments orderDocuments;
+    private final SingleFlight<Long, Orders> orderLookups = new SingleFlight<>();
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BULK_ORDER_IDS = 10000; // 일괄 상태 변경 최대 주문 수 (IN 목록 크기 제한)
 
     //주문하기
     @Transactional
     public Orders createOrder(OrderCreateRequest request) {
+        return placeOrder(request.getUserId(), request.getOrderItems(), false);
+    }
 
-        if (request.getOrderItems() == null || request.getOrderItems().isEmpty()) {
+    //주문하기 + Idempotency-Key 저장 (같은 트랜잭션 - 다른 요청이 같은 키를 먼저 저장했으면 DuplicateKeyException 으로 전체 롤백)
+    @Transactional
+    public Orders createOrder(OrderCreateRequest request, String idempotencyKey, String requestDigest) {
+        Orders order = placeOrder(request.getUserId(), request.getOrderItems(), false);
+        idempotencyKeyRepository.save(new IdempotencyKey(idempotencyKey, order.getId(), null, requestDigest, LocalDateTime.now()));
+        return order;
+    }
+
+    //재고를 이미 차감해 둔 주문 (재고 예약 확정, 주문 파이프라인의 일괄 차감)
+    @Transactional
+    public Orders createOrderWithHeldStock(Long userId, List<OrderItemRequest> orderItems) {
+        return placeOrder(userId, orderItems, true);
+    }
+
+    // 주문 생성 본체 - 트랜잭션을 시작하지 않고 호출한 쪽 트랜잭션에서 실행 (주문 파이프라인은 savepoint 안에서 직접 호출)
+    public Orders placeOrder(Long userId, List<OrderItemRequest> orderItems, boolean stockReserved) {
+
+        if (orderItems == null || orderItems.isEmpty()) {
             throw new AppException(ErrorCode.INVALID_REQUEST);
         }
 
         int totalPrice = 0;
         List<OrderItems> items = new ArrayList<>();
 
-        for (OrderItemRequest req : request.getOrderItems()) {
+        //주문 라인의 상품들을 한 번에 조회
+        Map<Long, Items> itemMap = findItemMap(orderItems.stream()
+                .map(OrderItemRequest::getItemId)
+                .collect(Collectors.toSet()));
+
+        for (OrderItemRequest req : orderItems) {
 
             //상품 조회
-            Items item = itemRepository.findById(req.getItemId())
-                    .orElseThrow(() -> new AppException(ErrorCode.ITEM_NOT_FOUND));
+            Items item = getItem(itemMap, req.getItemId());
 
             //가격 검증
             if (item.getPrice() < 0) {
@@ -59,47 +100,73 @@ public class OrderService {
                 throw new AppException(ErrorCode.INVALID_QUANTITY);
             }
 
-            //재고 검증
-            if (item.getStockQuantity() < req.getQuantity()) {
-                throw new AppException(ErrorCode.OUT_OF_STOCK);
-            }
-
-            // 재고 감소
-            item.setStockQuantity(item.getStockQuantity() - req.getQuantity());
-
-            //  DB 반영
-            itemRepository.update(item);
-
             //각 상품 금액 계산
             long linePrice = (long) item.getPrice() * req.getQuantity();
             if (linePrice > Integer.MAX_VALUE) {
                 throw new AppException(ErrorCode.PRICE_OVERFLOW);
             }
 
+            // 재고 검증 + 감소를 조건부 UPDATE 한 번으로 처리
+            // (조회한 재고로 계산해서 덮어쓰면 동시 주문 시 갱신 손실 → 초과 판매 발생)
+            if (!stockReserved && itemRepository.decreaseStock(item.getId(), req.getQuantity()) == 0) {
+                throw new AppException(ErrorCode.OUT_OF_STOCK);
+            }
+
             totalPrice += (int) linePrice;
 
-            //주문상품 준비
+            //주문상품 준비 (주문 시점의 상품명/단가를 함께 저장 - 이후 조회/수정은 상품 행을 읽지 않음)
             OrderItems orderItem = new OrderItems();
             orderItem.setItemId(req.getItemId());
             orderItem.setQuantity(req.getQuantity());
+            orderItem.setItemName(item.getName());
+            orderItem.setUnitPrice(item.getPrice());
 
             items.add(orderItem);
         }
 
         Orders order = new Orders();
-        order.setUserId(request.getUserId());
+        order.setUserId(userId);
         order.setOrderItems(items);
-        order.setOrderDate(LocalDateTime.now());
+        order.setOrderDate(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS)); // DB(TIMESTAMP) 정밀도 - 응답 문서와 조회 결과가 같도록
         order.setTotalPrice(totalPrice);
-        order.setStatus("NEW");
+        order.setStatus(OrderStatus.NEW);
 
         orderRepository.save(order);
+        orderDocuments.save(order); // 새 주문은 version 0
+
+        // 커밋되면 주문 만료 휠에 등록 (OrderExpiryWorker)
+        eventPublisher.publishEvent(new OrderPlacedEvent(order.getId(), order.getOrderDate()));
         return order;
     }
 
-    // 주문 단건 조회
+    // 주문 단건 조회 (주문상품은 주문 시점의 상품명/단가만, 상품은 읽지 않음)
+    // 같은 주문을 동시에 조회하면 DB 조회 한 번의 결과(또는 예외)를 함께 받음
+    // (트랜잭션 안에서는 그 트랜잭션이 바꾼 값을 봐야 하므로 합치지 않음)
     public Orders findOrder(Long orderId) {
-        Orders order = orderRepository.findById(orderId);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loadOrder(orderId, false);
+        }
+        return orderLookups.execute(orderId, () -> loadOrder(orderId, false));
+    }
+
+    // 주문 단건 조회 - liveStock 이면 주문상품마다 현재 상품 정보(재고 포함)까지
+    // (결과가 다른 조회라 같은 주문의 기본 조회와 합치지 않음)
+    public Orders findOrder(Long orderId, boolean liveStock) {
+        return liveStock ? loadOrder(orderId, true) : findOrder(orderId);
+    }
+
+    // 주문 단건 조회 응답 문서 (JSON 그대로) - 미리 직렬화해 둔 문서를 PK 조회 한 번으로 읽고 매핑/직렬화하지 않음
+    // 문서가 없거나 주문 버전과 다르면 (일괄 상태 변경, V5 이전 주문 등) 주문을 읽어 다시 만들고 저장
+    public String findOrderDocument(Long orderId) {
+        String document = orderDocuments.find(orderId);
+        if (document != null) {
+            return document;
+        }
+        return orderDocuments.save(findOrder(orderId));
+    }
+
+    private Orders loadOrder(Long orderId, boolean withItems) {
+        Orders order = withItems ? orderRepository.findByIdWithItems(orderId) : orderRepository.findById(orderId);
 
         //주문이 조회 되지 않는 경우
         if (order == null) {
@@ -114,40 +181,79 @@ public class OrderService {
         return order;
     }
 
+    // 주문 ETag (주문이 없으면 null) - 주문 행/주문상품 행 전체를 읽지 않음
+    // 기본 응답은 주문과 주문상품 스냅샷뿐이라 주문 버전만으로 만들고 (주문상품이 바뀌면 주문 버전도 오름)
+    // liveStock 응답은 상품 정보(재고 포함)도 들어가므로 상품별 버전/재고를 더한다 (상품은 대부분 상품 캐시에서)
+    public String orderETag(Long orderId, boolean liveStock) {
+        Long version = orderRepository.findVersionById(orderId);
+        if (version == null) {
+            return null;
+        }
+        if (!liveStock) {
+            return ETags.of(version);
+        }
+
+        List<Items> items = new ArrayList<>(itemRepository.findAllByIds(orderRepository.findItemIdsByOrderId(orderId)));
+        items.sort(Comparator.comparing(Items::getId));
 
-    // 전체 주문 조회
-    public List<Orders> findAllOrders() {
-        List<Orders> orders = orderRepository.findAll();
+        long[] values = new long[1 + items.size() * 3];
+        values[0] = version;
+        int n = 1;
+        for (Items item : items) {
+            values[n++] = item.getId();
+            values[n++] = item.getVersion();
+            values[n++] = item.getStockQuantity();
+        }
+        return ETags.of(values);
+    }
+
+    // 주문 검색 - (order_date, id) keyset 페이지
+    // 한 건 더 읽어서 다음 페이지가 있는지 확인하고, 이번 페이지 마지막 주문을 다음 cursor 로 돌려줌
+    public OrderPageResponse searchOrders(OrderSearchRequest request) {
 
-        System.out.println(">>> orders 결과 = " + orders);
+        int size = request.getSize() == null ? DEFAULT_PAGE_SIZE : request.getSize();
+        if (size < 1) {
+            throw new AppException(ErrorCode.INVALID_REQUEST, "size 는 1 이상이어야 합니다.");
+        }
+        size = Math.min(size, MAX_PAGE_SIZE);
 
-        if (orders == null || orders.isEmpty()) {
-            // NPE(NullPointerException)를 막기 위해
-            return Collections.emptyList();
+        if (request.getStatus() != null && OrderStatus.from(request.getStatus()) == null) {
+            throw new AppException(ErrorCode.INVALID_STATUS);
+        }
+        if (request.getFromDate() != null && request.getToDate() != null
+                && !request.getFromDate().isBefore(request.getToDate())) {
+            throw new AppException(ErrorCode.INVALID_REQUEST, "fromDate 는 toDate 보다 앞서야 합니다.");
         }
+        if (request.getMinTotalPrice() != null && request.getMaxTotalPrice() != null
+                && request.getMinTotalPrice() > request.getMaxTotalPrice()) {
+            throw new AppException(ErrorCode.INVALID_REQUEST, "minTotalPrice 는 maxTotalPrice 보다 클 수 없습니다.");
+        }
+
+        OrderCursor cursor = request.getCursor() == null ? null : OrderCursor.decode(request.getCursor());
+        List<Orders> orders = orderRepository.search(request, cursor, size + 1);
 
-        return orders;
+        if (orders.size() <= size) {
+            return new OrderPageResponse(orders, null);
+        }
+        List<Orders> page = new ArrayList<>(orders.subList(0, size));
+        return new OrderPageResponse(page, OrderCursor.of(page.get(size - 1)).encode());
     }
 
     //주문 상태 변경
     @Transactional
     public Orders updateOrderStatus(Long orderId, OrderUpdateRequest request) {
 
-        // 1) 주문 조회
-        Orders order = orderRepository.findById(orderId);
+        // 1) 주문 조회 (잠금 - 자동 취소/다른 취소와 동시에 재고를 두 번 복구하지 않도록)
+        Orders order = orderRepository.findByIdForUpdate(orderId);
         if (order == null) {
             throw new AppException(ErrorCode.ORDER_NOT_FOUND);
         }
 
-        String currentStatus = order.getStatus();
-        String newStatus = request.getStatus();
-
-        // 2) 상태 값 검증
-        if (newStatus == null || newStatus.isBlank()) {
-            throw new AppException(ErrorCode.INVALID_STATUS);
-        }
+        OrderStatus currentStatus = order.getStatus();
+        OrderStatus newStatus = OrderStatus.from(request.getStatus());
 
-        if (!isValidStatus(newStatus)) {
+        // 2) 상태 값 검증 (비어 있거나 없는 상태)
+        if (newStatus == null) {
             throw new AppException(ErrorCode.INVALID_STATUS);
         }
 
@@ -155,60 +261,151 @@ public class OrderService {
         validateStatusTransition(currentStatus, newStatus);
 
         // 4) CANCELLED로 전환될 때 재고 복구
-        if (newStatus.equals("CANCELLED")) {
+        if (newStatus == OrderStatus.CANCELLED) {
             restoreStock(order);
         }
 
-        // 5) 상태 변경
+        // 5) 상태 변경 + 응답 문서
         order.setStatus(newStatus);
         orderRepository.updateStatus(orderId, newStatus);
+        order.setVersion(order.getVersion() + 1);
+        orderDocuments.save(order);
 
         return order;
     }
 
 
-    // 상태 전환 규칙
-    private void validateStatusTransition(String current, String next) {
+    //주문 여러 건 상태 변경 (창고 일괄 배송/배송완료 처리)
+    // 주문마다 조회/변경하지 않고 (id, 상태) SELECT 한 번 + UPDATE 한 번으로 처리
+    // 바꿀 수 없는 주문이 섞여 있어도 전체를 실패시키지 않고 주문별 결과로 알려줌
+    @Transactional
+    public OrderBulkStatusResponse updateOrderStatuses(List<Long> orderIds, String status) {
 
-        if (current.equals("CANCELLED")) {
-            throw new AppException(ErrorCode.ALREADY_CANCELLED);
+        // 0) 요청 검증
+        OrderStatus newStatus = OrderStatus.from(status);
+        if (newStatus == null) {
+            throw new AppException(ErrorCode.INVALID_STATUS);
+        }
+        if (orderIds == null || orderIds.isEmpty() || orderIds.stream().anyMatch(Objects::isNull)) {
+            throw new AppException(ErrorCode.INVALID_REQUEST, "변경할 주문 ID 를 1개 이상 입력해야 합니다.");
         }
 
-        if (current.equals("COMPLETED")) {
-            throw new AppException(ErrorCode.CANNOT_MODIFY_COMPLETED);
+        Set<Long> requested = new LinkedHashSet<>(orderIds);
+        if (requested.size() > MAX_BULK_ORDER_IDS) {
+            throw new AppException(ErrorCode.INVALID_REQUEST, "주문 상태는 한 번에 " + MAX_BULK_ORDER_IDS + "건까지 변경할 수 있습니다.");
+        }
+
+        // 1) (id, 상태) 만 잠금 조회 - 트랜잭션이 끝날 때까지 다른 상태 변경/취소가 끼어들지 못함
+        Map<Long, OrderStatus> currentStatuses = new HashMap<>();
+        for (Orders order : orderRepository.findStatusesForUpdate(requested)) {
+            currentStatuses.put(order.getId(), order.getStatus());
         }
 
-        if (current.equals("SHIPPED") && next.equals("NEW")) {
-            throw new AppException(ErrorCode.INVALID_STATUS_TRANSITION);
+        // 취소면 재고를 복구할 수 없는 주문(없는 상품이 든 주문)을 함께 조회 - 단건 취소처럼 ITEM_NOT_FOUND
+        Set<Long> missingItemOrderIds = newStatus == OrderStatus.CANCELLED
+                ? new HashSet<>(orderRepository.findOrderIdsWithMissingItems(currentStatuses.keySet()))
+                : Set.of();
+
+        // 2) 주문별 전이 검증
+        List<Long> movableIds = new ArrayList<>();
+        List<OrderBulkStatusResponse.OrderResult> results = new ArrayList<>(requested.size());
+        for (Long orderId : requested) {
+            // 상태가 NULL 인 주문(V3 에서 알 수 없던 상태)도 있는 주문이므로 containsKey 로 구분
+            ErrorCode error = !currentStatuses.containsKey(orderId)
+                    ? ErrorCode.ORDER_NOT_FOUND
+                    : transitionError(currentStatuses.get(orderId), newStatus);
+            if (error == null && missingItemOrderIds.contains(orderId)) {
+                error = ErrorCode.ITEM_NOT_FOUND;
+            }
+            if (error == null) {
+                movableIds.add(orderId);
+            }
+            results.add(new OrderBulkStatusResponse.OrderResult(orderId, error == null, error == null ? null : error.name()));
         }
 
-        if (current.equals("SHIPPED") && next.equals("CANCELLED")) {
-            throw new AppException(ErrorCode.INVALID_STATUS_TRANSITION);
+        // 3) 취소면 재고 복구 (상품별 수량 합계를 조건부 UPDATE 한 문장으로)
+        if (newStatus == OrderStatus.CANCELLED) {
+            restoreStock(orderRepository.sumQuantitiesByItem(movableIds).stream()
+                    .collect(Collectors.toMap(OrderItems::getItemId, OrderItems::getQuantity)));
         }
+
+        // 4) 상태 변경 - 잠근 주문이라 그 사이 상태가 바뀌지 않지만, 이 상태로 올 수 있는 주문만 바뀌도록 조건을 함께 건다
+        //    응답 문서는 여기서 다시 쓰지 않음 (주문 버전이 올라가서 다음 조회 때 다시 만듦)
+        int updated = orderRepository.updateStatusByIds(movableIds, newStatus.allowedSources(), newStatus);
+
+        return new OrderBulkStatusResponse(newStatus, updated, results);
     }
 
 
-    // 재고 복구
-    private void restoreStock(Orders order) {
+    // 상태 전환 규칙 (OrderStatus 의 전이 표)
+    private void validateStatusTransition(OrderStatus current, OrderStatus next) {
+        ErrorCode error = transitionError(current, next);
+        if (error != null) {
+            throw new AppException(error);
+        }
+    }
+
+    // 허용되지 않는 전이면 현재 상태에 맞는 오류, 허용되면 null
+    private ErrorCode transitionError(OrderStatus current, OrderStatus next) {
+
+        // V3 마이그레이션에서 알 수 없던 상태는 NULL 로 남아 있으므로 어떤 상태로도 바꿀 수 없음
+        if (current == null) {
+            return ErrorCode.INVALID_STATUS_TRANSITION;
+        }
+
+        if (current.canTransitionTo(next)) {
+            return null;
+        }
+
+        if (current == OrderStatus.CANCELLED) {
+            return ErrorCode.ALREADY_CANCELLED;
+        }
+
+        if (current == OrderStatus.COMPLETED) {
+            return ErrorCode.CANNOT_MODIFY_COMPLETED;
+        }
+
+        return ErrorCode.INVALID_STATUS_TRANSITION;
+    }
+
+
+    // 재고 복구 - 상품별 주문 수량 합계를 조건부 UPDATE 한 문장으로 반영하고, 반영한 상품별 증가분을 반환
+    // (상품을 미리 조회하지 않고 증가분만 반영, 같은 상품이 여러 라인에 있어도 한 번만)
+    // 증가만 하므로 변경된 상품 수가 모자라면 없는 상품이 있는 것 → 예외로 전체 롤백
+    private Map<Long, Integer> restoreStock(Orders order) {
+        Map<Long, Integer> stockDeltas = new HashMap<>();
         for (OrderItems oi : order.getOrderItems()) {
-            Items item = itemRepository.findById(oi.getItemId())
-                    .orElseThrow(() -> new AppException(ErrorCode.ITEM_NOT_FOUND));
+            stockDeltas.merge(oi.getItemId(), oi.getQuantity(), Integer::sum);
+        }
+        return restoreStock(stockDeltas);
+    }
 
-            item.setStockQuantity(item.getStockQuantity() + oi.getQuantity());
-            itemRepository.update(item);
+    // 상품별 증가분 반영 (단건/일괄/자동 취소 공통)
+    // 일괄/자동 취소는 없는 상품이 든 주문을 미리 빼므로, 그 사이 상품이 삭제된 경우에만 모자람 → 전체 롤백
+    private Map<Long, Integer> restoreStock(Map<Long, Integer> stockDeltas) {
+        if (itemRepository.adjustStocks(stockDeltas) < stockDeltas.size()) {
+            throw new AppException(ErrorCode.ITEM_NOT_FOUND);
         }
+        return stockDeltas;
     }
 
 
 
-    private boolean isValidStatus(String status) {
-        // NEW : 주문 생성, CANCELLED : 주문 취소 , SHIPPED : 배송중 , COMPLETED : 배송완료
-        boolean b = status.equals("NEW") ||
-                status.equals("CANCELLED") ||
-                status.equals("SHIPPED") ||
-                status.equals("COMPLETED");
+    // 상품들을 IN 쿼리 한 번으로 조회해서 id → 상품 map으로 반환 (주문 라인마다 조회하는 N+1 방지)
+    private Map<Long, Items> findItemMap(Collection<Long> itemIds) {
+        return itemRepository.findAllByIds(itemIds.stream()
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Items::getId, item -> item));
+    }
 
-        return b;
+    private Items getItem(Map<Long, Items> itemMap, Long itemId) {
+        Items item = itemMap.get(itemId);
+        if (item == null) {
+            throw new AppException(ErrorCode.ITEM_NOT_FOUND);
+        }
+        return item;
     }
 
 
@@ -216,60 +413,84 @@ public class OrderService {
     @Transactional
     public OrderCancelResponse cancelOrder(Long orderId) {
 
-        // 1) 주문 조회
-        Orders order = orderRepository.findById(orderId);
+        // 1) 주문 조회 (잠금 - 자동 취소/다른 취소와 동시에 재고를 두 번 복구하지 않도록)
+        Orders order = orderRepository.findByIdForUpdate(orderId);
 
         //주문이 존재하지 않는 경우
         if (order == null) {
             throw new AppException(ErrorCode.ORDER_NOT_FOUND);
         }
 
-        // 2) 이미 취소된 주문인지 검사
-        if ("CANCELLED".equals(order.getStatus())) {
-            throw new AppException(ErrorCode.ALREADY_CANCELLED);
-        }
+        // 2) 취소할 수 있는 상태인지 검사 (이미 취소됨, 배송중/배송완료는 취소 불가)
+        validateStatusTransition(order.getStatus(), OrderStatus.CANCELLED);
 
         // 3) 주문 상품 조회가 null이거나 비어 있으면 오류
         if (order.getOrderItems() == null || order.getOrderItems().isEmpty()) {
             throw new AppException(ErrorCode.ORDER_ITEM_NOT_FOUND);
         }
 
-        // 4) 재고 복구
+        // 4) 재고 복구 (상품별 합계로 UPDATE 한 문장)
+        Map<Long, Integer> restored = restoreStock(order);
+
+        // 5) 응답용 상품 정보는 복구가 끝난 뒤 IN 조회 한 번으로 (복구 후 재고)
+        Map<Long, Items> itemMap = findItemMap(restored.keySet());
         List<OrderCancelResponse.ItemCancelInfo> restoredItems = new ArrayList<>();
 
         for (OrderItems orderItem : order.getOrderItems()) {
 
-            Items item = itemRepository.findById(orderItem.getItemId())
-                    .orElseThrow(() -> new AppException(ErrorCode.ITEM_NOT_FOUND));
-
-            //취소 전 주문 수량
-            int qty = orderItem.getQuantity();
-
-            // 재고 복구
-            item.setStockQuantity(item.getStockQuantity() + qty);
-            itemRepository.update(item);
+            Items item = getItem(itemMap, orderItem.getItemId());
 
             // 응답용 DTO 정보 저장
             restoredItems.add(
                     new OrderCancelResponse.ItemCancelInfo(
                             item.getId(),
                             item.getName(),
-                            qty,          // 취소 전 주문 수량
-                            item.getStockQuantity() // 복구 후 재고
+                            orderItem.getQuantity(),  // 취소 전 주문 수량
+                            item.getStockQuantity()   // 복구 후 재고 (같은 상품 라인은 모두 같은 값)
                     )
             );
         }
 
-        // 5) 상태 변경
-        order.setStatus("CANCELLED");
-        orderRepository.updateStatus(orderId, "CANCELLED");
+        // 6) 상태 변경 + 응답 문서
+        order.setStatus(OrderStatus.CANCELLED);
+        orderRepository.updateStatus(orderId, OrderStatus.CANCELLED);
+        order.setVersion(order.getVersion() + 1);
+        orderDocuments.save(order);
 
-        // 6) DTO 반환
+        // 7) DTO 반환
         return new OrderCancelResponse(orderId, restoredItems);
     }
 
 
 
+    // 오래된 NEW 주문 일괄 취소 (OrderExpiryWorker 에서 호출) - 취소한 주문 수 반환
+    // 주문마다 취소하지 않고, 대상 주문을 잠근 뒤 상품별 수량 합계로 재고를 한 번에 복구하고 상태도 한 번에 변경
+    @Transactional
+    public int cancelStaleOrders(Collection<Long> orderIds, LocalDateTime cutoff) {
+
+        // 1) 아직 NEW 이고 cutoff 이전에 생성된 주문만 잠금 (그 사이 배송/취소된 주문은 제외)
+        List<Long> staleIds = new ArrayList<>(orderRepository.findStaleOrderIdsForUpdate(orderIds, cutoff));
+
+        // 없는 상품이 든 주문은 재고를 복구할 수 없으므로 단건 취소처럼 취소하지 않음 (다시 시도해도 같으므로 건너뛰고 기록만)
+        List<Long> missingItemOrderIds = orderRepository.findOrderIdsWithMissingItems(staleIds);
+        if (!missingItemOrderIds.isEmpty()) {
+            log.warn("[OrderExpiry] 없는 상품이 들어 있어 자동 취소하지 않은 주문 : {}", missingItemOrderIds);
+            staleIds.removeAll(missingItemOrderIds);
+        }
+        if (staleIds.isEmpty()) {
+            return 0;
+        }
+
+        // 2) 재고 복구 (상품별 증가분을 조건부 UPDATE 한 문장으로)
+        restoreStock(orderRepository.sumQuantitiesByItem(staleIds).stream()
+                .collect(Collectors.toMap(OrderItems::getItemId, OrderItems::getQuantity)));
+
+        // 3) 상태 변경 (응답 문서는 다음 조회 때 다시 만듦)
+        orderRepository.updateStatusByIds(staleIds, EnumSet.of(OrderStatus.NEW), OrderStatus.CANCELLED);
+        return staleIds.size();
+    }
+
+
     //주문 수정
     @Transactional
     public Orders modifyOrder(Long orderId, OrderModifyRequest request) {
@@ -279,14 +500,14 @@ public class OrderService {
             throw new AppException(ErrorCode.INVALID_REQUEST);
         }
 
-        // 1) 주문 조회
-        Orders order = orderRepository.findById(orderId);
+        // 1) 주문 조회 (잠금 - 수정 중에 취소되어 재고가 어긋나지 않도록)
+        Orders order = orderRepository.findByIdForUpdate(orderId);
         if (order == null) {
             throw new AppException(ErrorCode.ORDER_NOT_FOUND);
         }
 
         // 주문 상태가 완료된 경우 수정 불가
-        if ("COMPLETED".equals(order.getStatus())) {
+        if (order.getStatus() == OrderStatus.COMPLETED) {
             throw new AppException(ErrorCode.CANNOT_MODIFY_COMPLETED);
         }
 
@@ -301,9 +522,18 @@ public class OrderService {
         Map<Long, OrderItems> oldMap = oldItems.stream()
                 .collect(Collectors.toMap(OrderItems::getId, oi -> oi));
 
-        int newTotalPrice = 0;
+        // 기존 상품 + 새 상품을 한 번에 조회
+        Set<Long> itemIds = new HashSet<>();
+        oldItems.forEach(oi -> itemIds.add(oi.getItemId()));
+        request.getItems().forEach(reqItem -> itemIds.add(reqItem.getItemId()));
+        Map<Long, Items> itemMap = findItemMap(itemIds);
+
+        // 3) 요청 검증 + 상품별 재고 변화량 집계
+        //    라인마다 재고를 바로 반영하면 같은 상품이 여러 라인에 있을 때 중간 재고 검사가 틀어지므로
+        //    요청 전체의 순 변화량(기존 수량 복구 +, 새 수량 차감 -)을 상품별로 모아서 한 번에 반영한다.
+        Map<Long, Integer> stockDeltas = new HashMap<>();
+        Map<Long, OrderItems> changedItems = new LinkedHashMap<>();
 
-        // 3) 요청된 items 하나씩 처리
         for (OrderModifyRequest.OrderModifyItem reqItem : request.getItems()) {
 
             OrderItems old = oldMap.get(reqItem.getOrderItemId());
@@ -312,15 +542,11 @@ public class OrderService {
             }
 
             //구 상품 검증
-            Items oldProduct = itemRepository.findById(old.getItemId())
-                    .orElseThrow(() -> new AppException(ErrorCode.ITEM_NOT_FOUND));
-
+            getItem(itemMap, old.getItemId());
 
             //새 상품 검증
-            Items newProduct = itemRepository.findById(reqItem.getItemId())
-                    .orElseThrow(() -> new AppException(ErrorCode.ITEM_NOT_FOUND));
+            Items newProduct = getItem(itemMap, reqItem.getItemId());
 
-            int oldQty = old.getQuantity();
             int newQty = reqItem.getQuantity();
 
             // 수량 검증
@@ -328,51 +554,55 @@ public class OrderService {
                 throw new AppException(ErrorCode.INVALID_QUANTITY);
             }
 
-            // 3-1) 수량 변경만 있는 경우
-            if (old.getItemId().equals(reqItem.getItemId())) {
-
-                //
-                if (newQty > oldQty) {
-                    int diff = newQty - oldQty;
-                    if (newProduct.getStockQuantity() < diff) {
-                        throw new AppException(ErrorCode.OUT_OF_STOCK);
-                    }
-                    newProduct.setStockQuantity(newProduct.getStockQuantity() - diff);
-                } else if (newQty < oldQty) {
-                    int diff = oldQty - newQty;
-                    newProduct.setStockQuantity(newProduct.getStockQuantity() + diff);
-                }
-
-                itemRepository.update(newProduct);
-
-            } else {
-                // 3-2) 상품 자체가 바뀐 경우
-                // 이전 상품 재고 복구
-                oldProduct.setStockQuantity(oldProduct.getStockQuantity() + oldQty);
-                itemRepository.update(oldProduct);
-
-                // 새 상품 재고 감소
-                if (newProduct.getStockQuantity() < newQty) {
-                    throw new AppException(ErrorCode.OUT_OF_STOCK);
-                }
-                newProduct.setStockQuantity(newProduct.getStockQuantity() - newQty);
-                itemRepository.update(newProduct);
-            }
+            // 3-1) 기존 상품은 재고 복구, 새 상품은 재고 차감 (같은 상품이면 수량 차이만 남음)
+            stockDeltas.merge(old.getItemId(), old.getQuantity(), Integer::sum);
+            stockDeltas.merge(reqItem.getItemId(), -newQty, Integer::sum);
 
-            // 3-3) order_items 업데이트
+            // 3-2) 주문상품 변경 (DB 반영은 아래에서 한 번에)
+            //      상품이 바뀐 라인만 지금 상품명/단가로 스냅샷을 바꾸고, 수량만 바뀐 라인은 주문 시점 단가 유지
+            if (!reqItem.getItemId().equals(old.getItemId()) || old.getUnitPrice() == null) {
+                old.setItemName(newProduct.getName());
+                old.setUnitPrice(newProduct.getPrice());
+            }
             old.setItemId(reqItem.getItemId());
             old.setQuantity(newQty);
-            orderItemsRepository.update(old);
+            old.setItem(newProduct);
+            changedItems.put(old.getId(), old);
+        }
 
-            // 3-4) 금액 누적
-            newTotalPrice += newProduct.getPrice() * newQty;
+        // 4) 재고 반영 : 조건부 UPDATE 한 문장, 재고가 음수가 되는 상품이 있으면 재고 부족
+        stockDeltas.values().removeIf(delta -> delta == 0);
+
+        if (itemRepository.adjustStocks(stockDeltas) < stockDeltas.size()) {
+            throw new AppException(ErrorCode.OUT_OF_STOCK);
+        }
+
+        stockDeltas.forEach((itemId, delta) -> {
+            Items item = itemMap.get(itemId);
+            item.setStockQuantity(item.getStockQuantity() + delta);
+        });
+
+        // 5) 최종 금액 계산 (요청에 없는 라인도 포함한 주문 전체 금액, 라인의 스냅샷 단가 기준)
+        long newTotalPrice = 0;
+        for (OrderItems oi : oldItems) {
+            Items item = getItem(itemMap, oi.getItemId());
+            oi.setItem(item);
+            int unitPrice = oi.getUnitPrice() != null ? oi.getUnitPrice() : item.getPrice(); // 백필 전 행은 현재 가격
+            newTotalPrice += (long) unitPrice * oi.getQuantity();
         }
 
-        // 4) 최종 금액 업데이트
-        order.setTotalPrice(newTotalPrice);
-        orderRepository.updateTotalPrice(orderId, newTotalPrice);
+        if (newTotalPrice > Integer.MAX_VALUE) {
+            throw new AppException(ErrorCode.PRICE_OVERFLOW);
+        }
+
+        // 6) order_items + 총액 반영 (foreach UPDATE 한 번, 주문 버전도 한 번만 올림)
+        orderRepository.updateOrderItems(orderId, new ArrayList<>(changedItems.values()), (int) newTotalPrice);
+        order.setTotalPrice((int) newTotalPrice);
+        order.setVersion(order.getVersion() + 1);
 
-        return orderRepository.findById(orderId);
+        // 다시 조회하지 않고 메모리에 반영된 상태로 응답 문서 + 응답
+        orderDocuments.save(order);
+        return order;
     }
 
 
@@ -0,0 +1,83 @@
+package com.minishop.service;
+
+import com.minishop.domain.StockReservation;
+import com.minishop.inventory.ReservationExpiryQueue;
+import com.minishop.repository.ReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 만료 시간이 된 재고 예약을 해제하는 백그라운드 스레드
+ * 시작할 때 DB의 활성 예약으로 만료 대기열을 채운다 (서버가 내려가 있는 동안 만료된 예약은 바로 처리).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationExpiryWorker implements SmartLifecycle {
+
+    private final ReservationExpiryQueue expiryQueue;
+    private final ReservationRepository reservationRepository;
+    private final ReservationService reservationService;
+
+    // 만료 처리에 실패한 예약을 다시 시도할 때까지 기다리는 시간
+    private static final long RETRY_DELAY_SECONDS = 10;
+
+    private Thread worker;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        for (StockReservation reservation : reservationRepository.findActive()) {
+            expiryQueue.schedule(reservation.getId(), reservation.getExpiresAt());
+        }
+        log.info("[Reservation] 만료 대기 예약 {}건", expiryQueue.size());
+
+        running = true;
+        worker = new Thread(this::run, "reservation-expiry");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void run() {
+        while (running) {
+            Long reservationId;
+            try {
+                reservationId = expiryQueue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            try {
+                reservationService.expire(reservationId);
+            } catch (RuntimeException e) {
+                // take() 가 대기열에서 이미 뺐으므로, 실패한 예약은 잠시 후 다시 시도 (스레드는 계속 돈다)
+                log.error("[Reservation] 예약 {} 만료 처리 실패", reservationId, e);
+                expiryQueue.schedule(reservationId, LocalDateTime.now().plusSeconds(RETRY_DELAY_SECONDS));
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 재고 원장(phase 0) 다음, 웹 서버보다 먼저 시작
+    @Override
+    public int getPhase() {
+        return 1;
+    }
+}
@@ -0,0 +1,179 @@
+package com.minishop.service;
+
+import com.minishop.domain.Items;
+import com.minishop.domain.Orders;
+import com.minishop.domain.StockReservation;
+import com.minishop.domain.StockReservationItem;
+import com.minishop.dto.order.OrderItemRequest;
+import com.minishop.dto.reservation.ReservationCreateRequest;
+import com.minishop.exception.AppException;
+import com.minishop.exception.ErrorCode;
+import com.minishop.inventory.ReservationExpiryQueue;
+import com.minishop.repository.ItemRepository;
+import com.minishop.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 재고 예약 (hold → confirm / release / 만료)
+ * 예약할 때 재고를 차감해 두고, 확정하면 재고 차감 없이 주문으로 전환, 해제·만료되면 재고를 돌려놓는다.
+ */
+@Slf4j
+@Service
+public class ReservationService {
+
+    private final ReservationRepository reservationRepository;
+    private final ItemRepository itemRepository;
+    private final OrderService orderService;
+    private final ReservationExpiryQueue expiryQueue;
+    private final Duration ttl;
+
+    public ReservationService(ReservationRepository reservationRepository,
+                              ItemRepository itemRepository,
+                              OrderService orderService,
+                              ReservationExpiryQueue expiryQueue,
+                              @Value("${minishop.reservation.ttl-seconds:600}") long ttlSeconds) {
+        this.reservationRepository = reservationRepository;
+        this.itemRepository = itemRepository;
+        this.orderService = orderService;
+        this.expiryQueue = expiryQueue;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    //재고 예약
+    @Transactional
+    public StockReservation reserve(ReservationCreateRequest request) {
+
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            throw new AppException(ErrorCode.INVALID_REQUEST);
+        }
+
+        // 같은 상품이 여러 줄이면 합쳐서 상품당 한 줄로 예약
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItemRequest req : request.getItems()) {
+            if (req.getQuantity() <= 0) {
+                throw new AppException(ErrorCode.INVALID_QUANTITY);
+            }
+            quantities.merge(req.getItemId(), req.getQuantity(), Integer::sum);
+        }
+
+        // 상품 존재 확인 (IN 쿼리 한 번)
+        Set<Long> foundIds = itemRepository.findAllByIds(quantities.keySet()).stream()
+                .map(Items::getId)
+                .collect(Collectors.toSet());
+        if (!foundIds.containsAll(quantities.keySet())) {
+            throw new AppException(ErrorCode.ITEM_NOT_FOUND);
+        }
+
+        // 재고 차감 (주문과 같은 조건부 UPDATE, 하나라도 부족하면 전체 롤백)
+        List<StockReservationItem> items = new ArrayList<>();
+        quantities.forEach((itemId, quantity) -> {
+            if (itemRepository.decreaseStock(itemId, quantity) == 0) {
+                throw new AppException(ErrorCode.OUT_OF_STOCK);
+            }
+            items.add(new StockReservationItem(null, itemId, quantity));
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        StockReservation reservation = new StockReservation();
+        reservation.setUserId(request.getUserId());
+        reservation.setStatus("ACTIVE");
+        reservation.setCreatedAt(now);
+        reservation.setExpiresAt(now.plus(ttl));
+        reservation.setItems(items);
+        reservationRepository.save(reservation);
+
+        // 커밋된 뒤에 만료 대기열에 등록 (커밋 전에 만료 처리가 돌면 아직 보이지 않는 예약이라 놓침)
+        afterCommit(() -> expiryQueue.schedule(reservation.getId(), reservation.getExpiresAt()));
+        return reservation;
+    }
+
+    //예약 조회
+    public StockReservation findReservation(Long reservationId) {
+        return reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new AppException(ErrorCode.RESERVATION_NOT_FOUND));
+    }
+
+    //예약 확정 → 주문 생성
+    @Transactional
+    public Orders confirm(Long reservationId) {
+
+        StockReservation reservation = findReservation(reservationId);
+
+        // ACTIVE 이고 만료 전일 때만 확정 (동시에 해제/만료되는 경우는 한쪽만 성공)
+        if (!reservationRepository.confirm(reservationId, LocalDateTime.now())) {
+            throw new AppException(ErrorCode.RESERVATION_NOT_ACTIVE);
+        }
+
+        List<OrderItemRequest> orderItems = reservation.getItems().stream()
+                .map(ri -> new OrderItemRequest(ri.getItemId(), ri.getQuantity()))
+                .toList();
+
+        // 예약 후 상품이 삭제되어 예약 상품이 없으면 주문 생성에서 INVALID_REQUEST → 전체 롤백
+        Orders order = orderService.createOrderWithHeldStock(reservation.getUserId(), orderItems);
+        reservationRepository.updateOrderId(reservationId, order.getId());
+
+        afterCommit(() -> expiryQueue.cancel(reservationId));
+        return order;
+    }
+
+    //예약 해제 + 재고 복구
+    @Transactional
+    public StockReservation release(Long reservationId) {
+
+        StockReservation reservation = findReservation(reservationId);
+
+        if (!reservationRepository.release(reservationId)) {
+            throw new AppException(ErrorCode.RESERVATION_NOT_ACTIVE);
+        }
+
+        restoreStock(reservation);
+        reservation.setStatus("RELEASED");
+
+        afterCommit(() -> expiryQueue.cancel(reservationId));
+        return reservation;
+    }
+
+    // 만료 처리 (만료 대기열에서 호출) - 이미 확정/해제되었거나 만료 전이면 아무것도 하지 않음
+    @Transactional
+    public boolean expire(Long reservationId) {
+
+        Optional<StockReservation> reservation = reservationRepository.findById(reservationId);
+        if (reservation.isEmpty() || !reservationRepository.expire(reservationId, LocalDateTime.now())) {
+            return false;
+        }
+
+        restoreStock(reservation.get());
+        log.info("[Reservation] 예약 {} 만료 → 재고 복구", reservationId);
+        return true;
+    }
+
+    // 예약 수량을 상품별 증가분으로 한 번에 반영
+    private void restoreStock(StockReservation reservation) {
+        Map<Long, Integer> stockDeltas = reservation.getItems().stream()
+                .collect(Collectors.toMap(StockReservationItem::getItemId, StockReservationItem::getQuantity));
+        itemRepository.adjustStocks(stockDeltas);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
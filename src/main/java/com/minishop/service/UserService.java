@@ -6,7 +6,11 @@ import com.minishop.dto.item.UserUpdateRequest;
 import com.minishop.exception.AppException;
 import com.minishop.exception.ErrorCode;
 import com.minishop.repository.UserRepository;
+import com.minishop.repository.cache.ExistenceFilters;
+import com.minishop.response.BloomFilterStatsResponse;
+import com.minishop.support.ETags;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +22,14 @@ import java.util.Objects;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final ExistenceFilters existenceFilters;
+
+    /**
+     * 이메일 중복 검사 Bloom filter 통계 (생략한 조회 수, 오탐률)
+     */
+    public BloomFilterStatsResponse emailFilterStats() {
+        return existenceFilters.userEmails().stats();
+    }
 
     /**
      * 사용자 등록
@@ -25,13 +37,6 @@ public class UserService {
 
     public Users save(UserCreateRequest request) {
 
-        // 이메일 중복 검증
-        Users existingUser = userRepository.findByEmail(request.getEmail());
-
-        if (existingUser != null) {
-            throw new AppException(ErrorCode.DUPLICATE_EMAIL);
-        }
-
         // 비즈니스 유효성 검증 (추가 검증 가능)
         if (request.getPassword().length() < 8) {
             throw new AppException(ErrorCode.INVALID_USER_DATA, "비밀번호는 8자 이상이어야 합니다.");
@@ -43,7 +48,12 @@ public class UserService {
         user.setPassword(request.getPassword());
         user.setEmail(request.getEmail());
 
-        return userRepository.save(user);
+        // 이메일 중복은 미리 조회하지 않고 unique 제약(uk_users_email)으로 판단 (동시에 같은 이메일로 가입해도 하나만 성공)
+        try {
+            return userRepository.save(user);
+        } catch (DuplicateKeyException e) {
+            throw new AppException(ErrorCode.DUPLICATE_EMAIL);
+        }
     }
 
     /**
@@ -68,6 +78,14 @@ public class UserService {
         return user;
     }
 
+    /**
+     * 사용자 ETag (사용자가 없으면 null) - 버전만 읽음
+     */
+    public String userETag(Long id) {
+        Long version = userRepository.findVersionById(id);
+        return version == null ? null : ETags.of(version);
+    }
+
     /**
      * 전체 사용자 조회
      */
@@ -116,6 +134,11 @@ public class UserService {
         }
 
 
-        return userRepository.update(id, existingUser);
+        // 위 검사와 수정 사이에 같은 이메일이 등록되면 unique 제약으로 거부
+        try {
+            return userRepository.update(id, existingUser);
+        } catch (DuplicateKeyException e) {
+            throw new AppException(ErrorCode.DUPLICATE_EMAIL);
+        }
     }
 }
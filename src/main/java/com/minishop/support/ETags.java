@@ -0,0 +1,29 @@
+package com.minishop.support;
+
+/**
+ * ETag 값 만들기
+ *
+ * 응답 본문을 만들지 않고 버전/재고 같은 작은 값들만으로 ETag 를 만든다.
+ * 값들을 순서대로 FNV-1a 64bit 로 섞으므로 값이 하나라도 바뀌면 (거의 확실히) 다른 ETag 가 된다.
+ * 따옴표는 붙이지 않는다. (WebRequest.checkNotModified / ResponseEntity.eTag 가 붙임)
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(long... values) {
+        return Long.toHexString(hash(values));
+    }
+
+    public static long hash(long... values) {
+        long hash = 0xcbf29ce484222325L;
+        for (long value : values) {
+            for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+                hash ^= (value >>> shift) & 0xff;
+                hash *= 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,119 @@
+package com.minishop.support;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * 해시드 타이밍 휠 (long ID + 만료 시각)
+ *
+ * - 만료 시각을 tick 단위로 잘라 wheelSize 개 버킷 중 하나에 넣고, 시간이 지나면 지나간 tick 의 버킷만 확인한다.
+ *   한 바퀴 이상 뒤에 만료되는 항목은 같은 버킷에 남아 있다가 해당 바퀴에서 꺼낸다.
+ * - 항목마다 예약 작업/객체를 만들지 않고 버킷별 long 배열 두 개(ID, 만료 시각)에만 저장하므로
+ *   항목당 16바이트 정도로 메모리가 항목 수에 비례한다. (비워진 버킷 배열은 다시 줄인다)
+ * - 만료는 tick 이 완전히 지난 뒤에 알려준다 (만료 시각보다 최대 1 tick 늦게, 일찍 알려주는 경우는 없음).
+ */
+public class HashedTimingWheel {
+
+    private static final int INITIAL_BUCKET_CAPACITY = 16;
+    private static final long[] EMPTY = new long[0];
+
+    private final long tickMillis;
+    private final int mask;
+    private final long[][] ids;
+    private final long[][] deadlines;
+    private final int[] sizes;
+
+    private long size;
+    private long nextTick; // 아직 처리하지 않은 가장 이른 tick
+
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis, wheelSize 는 0보다 커야 합니다.");
+        }
+        // 버킷 번호를 나머지 대신 비트 연산으로 구하도록 2의 거듭제곱으로 올림
+        int buckets = Integer.highestOneBit(wheelSize) == wheelSize ? wheelSize : Integer.highestOneBit(wheelSize) << 1;
+
+        this.tickMillis = tickMillis;
+        this.mask = buckets - 1;
+        this.ids = new long[buckets][];
+        this.deadlines = new long[buckets][];
+        this.sizes = new int[buckets];
+        Arrays.fill(ids, EMPTY);
+        Arrays.fill(deadlines, EMPTY);
+        this.nextTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    // 이미 지난 만료 시각이면 다음 tick 에 만료
+    public synchronized void add(long id, long deadlineMillis) {
+        long tick = Math.max(Math.floorDiv(deadlineMillis, tickMillis), nextTick);
+        int bucket = (int) (tick & mask);
+
+        int n = sizes[bucket];
+        if (n == ids[bucket].length) {
+            int capacity = Math.max(INITIAL_BUCKET_CAPACITY, n * 2);
+            ids[bucket] = Arrays.copyOf(ids[bucket], capacity);
+            deadlines[bucket] = Arrays.copyOf(deadlines[bucket], capacity);
+        }
+        ids[bucket][n] = id;
+        deadlines[bucket][n] = deadlineMillis;
+        sizes[bucket] = n + 1;
+        size++;
+    }
+
+    /**
+     * nowMillis 이전에 끝난 tick 들의 만료 항목을 expired 로 넘기고 휠에서 제거
+     * @return 만료된 항목 수
+     */
+    public synchronized int advance(long nowMillis, LongConsumer expired) {
+        long nowTick = Math.floorDiv(nowMillis, tickMillis);
+        if (nowTick <= nextTick) {
+            return 0;
+        }
+
+        // 한 바퀴 이상 밀렸으면 모든 버킷을 한 번씩만 확인
+        long from = Math.max(nextTick, nowTick - (mask + 1));
+        int count = 0;
+        for (long tick = from; tick < nowTick; tick++) {
+            count += expireBucket((int) (tick & mask), nowTick - 1, expired);
+        }
+        nextTick = nowTick;
+        return count;
+    }
+
+    public synchronized long size() {
+        return size;
+    }
+
+    // 버킷에서 lastTick 까지 만료되는 항목만 꺼냄 (뒤 바퀴 항목은 남김, 마지막 항목을 빈 자리로 옮겨서 제거)
+    private int expireBucket(int bucket, long lastTick, LongConsumer expired) {
+        long[] bucketIds = ids[bucket];
+        long[] bucketDeadlines = deadlines[bucket];
+        int n = sizes[bucket];
+        int count = 0;
+
+        int i = 0;
+        while (i < n) {
+            if (Math.floorDiv(bucketDeadlines[i], tickMillis) <= lastTick) {
+                expired.accept(bucketIds[i]);
+                n--;
+                bucketIds[i] = bucketIds[n];
+                bucketDeadlines[i] = bucketDeadlines[n];
+                count++;
+            } else {
+                i++;
+            }
+        }
+
+        sizes[bucket] = n;
+        size -= count;
+
+        // 한꺼번에 쌓였다 빠진 버킷이 큰 배열을 계속 잡고 있지 않도록 줄임
+        int capacity = bucketIds.length;
+        if (capacity > INITIAL_BUCKET_CAPACITY && n < capacity / 4) {
+            int shrunk = Math.max(INITIAL_BUCKET_CAPACITY, capacity / 2);
+            ids[bucket] = Arrays.copyOf(bucketIds, shrunk);
+            deadlines[bucket] = Arrays.copyOf(bucketDeadlines, shrunk);
+        }
+        return count;
+    }
+}
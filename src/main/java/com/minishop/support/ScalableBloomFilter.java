@@ -0,0 +1,183 @@
+package com.minishop.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 크기가 늘어나는 Bloom filter (scalable Bloom filter)
+ *
+ * "없다" 는 답은 항상 맞고, "있을 수도 있다" 는 답은 falsePositiveRate 정도 확률로 틀린다.
+ * 처음 filter 가 용량만큼 차면 용량은 growth 배, 오탐률은 tightening 배인 filter 를 뒤에 붙인다.
+ * 그래서 몇 개를 넣든 전체 오탐률이 목표 오탐률 p 를 넘지 않는다. (p0 = p(1 - r), p_i = p0 r^i → 합 ≤ p)
+ * 지울 수는 없다. (지운 값은 계속 "있을 수도 있다" 로 남음)
+ *
+ * 비트 세트는 AtomicLongArray 라서 add / mightContain 은 락 없이 여러 스레드에서 호출할 수 있고,
+ * filter 를 새로 붙일 때만 잠근다.
+ */
+public class ScalableBloomFilter {
+
+    private static final int GROWTH = 2;
+    private static final double TIGHTENING = 0.5;
+
+    private final double falsePositiveRate;
+    private volatile Stage[] stages;
+
+    public ScalableBloomFilter(long initialCapacity, double falsePositiveRate) {
+        if (initialCapacity <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("initialCapacity > 0, 0 < falsePositiveRate < 1");
+        }
+        this.falsePositiveRate = falsePositiveRate;
+        this.stages = new Stage[]{new Stage(initialCapacity, falsePositiveRate * (1 - TIGHTENING))};
+    }
+
+    public void add(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+
+        Stage[] current = stages;
+        for (Stage stage : current) {
+            if (stage.contains(hash1, hash2)) {
+                return;
+            }
+        }
+        Stage last = current[current.length - 1];
+        if (last.isFull()) {
+            last = grow(current);
+        }
+        last.add(hash1, hash2);
+    }
+
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (Stage stage : stages) {
+            if (stage.contains(hash1, hash2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 넣은 값 개수 (이미 있다고 판단한 값은 세지 않으므로 근사치)
+    public long approximateCount() {
+        long count = 0;
+        for (Stage stage : stages) {
+            count += stage.count.get();
+        }
+        return count;
+    }
+
+    public int stageCount() {
+        return stages.length;
+    }
+
+    public long bitSize() {
+        long bits = 0;
+        for (Stage stage : stages) {
+            bits += stage.bits;
+        }
+        return bits;
+    }
+
+    // 지금 채워진 정도로 계산한 오탐률 (모든 filter 중 하나라도 오탐할 확률)
+    public double expectedFalsePositiveRate() {
+        double allNegative = 1;
+        for (Stage stage : stages) {
+            allNegative *= 1 - stage.expectedFalsePositiveRate();
+        }
+        return 1 - allNegative;
+    }
+
+    public double targetFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    private synchronized Stage grow(Stage[] seen) {
+        Stage[] current = stages;
+        Stage last = current[current.length - 1];
+        if (current != seen || !last.isFull()) {
+            return last; // 다른 스레드가 이미 붙임
+        }
+        Stage next = new Stage(last.capacity * GROWTH, last.falsePositiveRate * TIGHTENING);
+        Stage[] grown = new Stage[current.length + 1];
+        System.arraycopy(current, 0, grown, 0, current.length);
+        grown[current.length] = next;
+        stages = grown;
+        return next;
+    }
+
+    // FNV-1a 64bit + murmur3 fmix64
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class Stage {
+
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final long bits;
+        private final int hashCount;
+        private final AtomicLongArray words;
+        private final AtomicLong count = new AtomicLong();
+
+        Stage(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            // m = -n ln p / (ln 2)^2, k = m/n ln 2
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bits = Math.max(64, (optimalBits + 63) / 64 * 64);
+            this.hashCount = Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+            this.words = new AtomicLongArray((int) (bits / 64));
+        }
+
+        boolean isFull() {
+            return count.get() >= capacity;
+        }
+
+        void add(long hash1, long hash2) {
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bits);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long old;
+                do {
+                    old = words.get(word);
+                    if ((old & mask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(word, old, old | mask));
+            }
+            count.incrementAndGet();
+        }
+
+        boolean contains(long hash1, long hash2) {
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // (1 - e^(-kn/m))^k
+        double expectedFalsePositiveRate() {
+            return Math.pow(1 - Math.exp(-(double) hashCount * count.get() / bits), hashCount);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.minishop.support;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키의 동시 조회 합치기 (single flight)
+ *
+ * 같은 키로 동시에 들어온 호출 중 처음 하나만 loader 를 실행하고, 나머지는 그 결과(또는 예외)를 함께 받는다.
+ * 끝나면 바로 지우므로 결과를 보관하는 캐시가 아니다. (끝난 뒤 들어온 호출은 다시 실행)
+ * 이미 실행 중인 키는 ConcurrentHashMap.get 한 번으로 찾아서 기다리므로 락을 잡지 않는다.
+ *
+ * 결과 객체는 기다린 호출들이 함께 쓰므로 받은 쪽에서 값을 바꾸면 안 된다.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> running = inFlight.get(key);
+        if (running != null) {
+            return await(running);
+        }
+
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // 실행 중인 키 개수
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    // 먼저 실행한 호출이 던진 예외는 감싸지 않고 그대로 던짐
+    private static <V> V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+-- 기준 스키마 (Flyway V1)
+-- 예전에는 items, users, orders, order_items 가 외부 H2 서버에 이미 있다고 가정하고 schema.sql 로 나머지만 만들었다.
+-- 이미 테이블이 있는 DB 는 baseline(V0) 으로 등록한 뒤 이 스크립트를 그대로 실행하므로, 모든 문장은 여러 번 실행해도 같은 결과여야 한다. (IF NOT EXISTS)
+
+CREATE TABLE IF NOT EXISTS items (
+    id             BIGINT       AUTO_INCREMENT PRIMARY KEY,
+    name           VARCHAR(255) NOT NULL,
+    price          INT          NOT NULL,
+    stock_quantity INT          NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id       BIGINT       AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(255),
+    password VARCHAR(255),
+    email    VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS orders (
+    id          BIGINT      AUTO_INCREMENT PRIMARY KEY,
+    user_id     BIGINT,
+    order_date  TIMESTAMP,
+    total_price INT,
+    status      VARCHAR(20)
+);
+
+CREATE TABLE IF NOT EXISTS order_items (
+    id       BIGINT AUTO_INCREMENT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    item_id  BIGINT NOT NULL,
+    quantity INT    NOT NULL
+);
+
+-- 재고 샤드 : 구매가 몰리는 상품의 재고를 여러 행으로 나눠 보관 (상품 재고 = items.stock_quantity + 샤드 합계)
+CREATE TABLE IF NOT EXISTS item_stock_shards (
+    item_id  BIGINT NOT NULL,
+    shard_no INT    NOT NULL,
+    quantity INT    NOT NULL,
+    PRIMARY KEY (item_id, shard_no),
+    FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE
+);
+
+-- 인메모리 재고 원장 체크포인트 : items 에 반영을 마친 마지막 재고 저널 번호 (id = 1 한 행)
+CREATE TABLE IF NOT EXISTS stock_ledger_checkpoint (
+    id          INT    PRIMARY KEY,
+    flushed_seq BIGINT NOT NULL
+);
+
+-- 재고 예약 : 예약하면서 재고를 바로 차감하고, 확정하면 주문으로 전환 / 해제·만료되면 재고 복구
+CREATE TABLE IF NOT EXISTS stock_reservations (
+    id         BIGINT      AUTO_INCREMENT PRIMARY KEY,
+    user_id    BIGINT      NOT NULL,
+    status     VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP   NOT NULL,
+    expires_at TIMESTAMP   NOT NULL,
+    order_id   BIGINT
+);
+
+-- 시작할 때 만료 대기열을 채우기 위한 활성 예약 조회용
+CREATE INDEX IF NOT EXISTS idx_stock_reservations_status ON stock_reservations (status, expires_at);
+
+CREATE TABLE IF NOT EXISTS stock_reservation_items (
+    reservation_id BIGINT NOT NULL,
+    item_id        BIGINT NOT NULL,
+    quantity       INT    NOT NULL,
+    PRIMARY KEY (reservation_id, item_id),
+    FOREIGN KEY (reservation_id) REFERENCES stock_reservations (id) ON DELETE CASCADE,
+    FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE
+);
+
+-- 주문 Idempotency-Key : 같은 키로 다시 요청하면 새로 주문하지 않고 처음 만든 주문을 돌려준다
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idem_key     VARCHAR(100) PRIMARY KEY,
+    order_id     BIGINT       NOT NULL,
+    request_hash INT          NOT NULL,
+    created_at   TIMESTAMP    NOT NULL,
+    FOREIGN KEY (order_id) REFERENCES orders (id) ON DELETE CASCADE
+);
+
+-- 주문 검색 (order_date DESC, id DESC keyset 페이지) : 조건별로 정렬 순서 그대로 읽고 페이지 크기만큼에서 멈추도록 복합 인덱스
+-- 총액 범위는 정렬 키와 함께 인덱스로 좁힐 수 없으므로 읽으면서 거른다
+CREATE INDEX IF NOT EXISTS idx_orders_date_id ON orders (order_date, id);
+CREATE INDEX IF NOT EXISTS idx_orders_user_date_id ON orders (user_id, order_date, id);
+CREATE INDEX IF NOT EXISTS idx_orders_status_date_id ON orders (status, order_date, id);
+
+-- 조회 ETag 용 버전 : 상품/사용자/주문을 UPDATE 할 때마다 1씩 올린다 (조건부 GET 에서 행 전체 대신 버전만 읽음)
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
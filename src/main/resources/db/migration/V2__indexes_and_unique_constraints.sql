@@ -0,0 +1,14 @@
+-- 자주 실행되는 조회의 인덱스 + 중복을 막는 unique 제약 (Flyway V2)
+-- 상품명/이메일 중복은 등록 전에 SELECT 로 확인하지 않고 이 제약 위반(DuplicateKeyException)으로 판단한다.
+-- 이미 중복 데이터가 있는 DB 에서는 제약을 만들 수 없으므로 중복을 먼저 정리해야 한다.
+
+-- 주문상품 조회 (OrderLineLoader, 주문 취소/만료 시 상품별 수량 합계, 주문 ETag)
+CREATE INDEX IF NOT EXISTS idx_order_items_order_id ON order_items (order_id);
+
+-- 사용자별 주문 조회 (user_id, order_date) : V1 의 idx_orders_user_date_id (user_id, order_date, id) 가 같은 순서로 앞부분을 포함하므로 따로 만들지 않는다
+
+-- 상품명 중복 검사 + findByName
+ALTER TABLE items ADD CONSTRAINT IF NOT EXISTS uk_items_name UNIQUE (name);
+
+-- 이메일 중복 검사 + findByEmail
+ALTER TABLE users ADD CONSTRAINT IF NOT EXISTS uk_users_email UNIQUE (email);
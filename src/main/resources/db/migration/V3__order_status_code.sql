@@ -0,0 +1,18 @@
+-- 주문 상태를 문자열 대신 작은 정수 코드로 저장 (Flyway V3)
+-- 코드는 OrderStatus 의 code 와 같다 : 0 NEW, 1 CANCELLED, 2 SHIPPED, 3 COMPLETED
+-- 목록에 없는 문자열이 들어 있던 행은 NULL 이 된다.
+
+-- 상태별 검색 인덱스 (status, order_date, id) 는 컬럼 타입이 바뀌므로 지웠다가 다시 만든다
+DROP INDEX IF EXISTS idx_orders_status_date_id;
+
+UPDATE orders
+SET status = CASE status
+    WHEN 'NEW'       THEN '0'
+    WHEN 'CANCELLED' THEN '1'
+    WHEN 'SHIPPED'   THEN '2'
+    WHEN 'COMPLETED' THEN '3'
+END;
+
+ALTER TABLE orders ALTER COLUMN status SET DATA TYPE SMALLINT;
+
+CREATE INDEX IF NOT EXISTS idx_orders_status_date_id ON orders (status, order_date, id);
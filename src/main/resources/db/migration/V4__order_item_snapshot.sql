@@ -0,0 +1,5 @@
+-- 주문상품에 주문 시점의 상품명/단가 저장 (Flyway V4)
+-- 주문 조회 응답과 주문 수정 금액 계산이 items 행을 읽지 않도록 한다.
+-- 이미 있던 행은 비워 두고 OrderLineSnapshotBackfill 이 나눠서 채운다. (그때의 상품 가격이라 주문 당시 가격과 다를 수 있음)
+ALTER TABLE order_items ADD COLUMN IF NOT EXISTS item_name VARCHAR(255);
+ALTER TABLE order_items ADD COLUMN IF NOT EXISTS unit_price INT;
@@ -0,0 +1,10 @@
+-- 주문 조회 응답 문서 (Flyway V5)
+-- 주문 + 주문상품을 응답 JSON 그대로 직렬화해 두고, GET /orders/{id} 는 이 행 하나를 PK 로 읽어 그대로 내려준다.
+-- version 은 문서를 만들 때의 orders.version : 주문 버전과 다르면(일괄 상태 변경 등으로 문서를 다시 쓰지 않은 경우) 읽지 않고 다시 만든다.
+-- 문서는 주문에서 언제든 다시 만들 수 있으므로, 너무 큰 주문은 저장하지 않고 매번 주문에서 만든다. (document 최대 길이)
+CREATE TABLE IF NOT EXISTS order_documents (
+    order_id BIGINT           PRIMARY KEY,
+    version  BIGINT           NOT NULL,
+    document VARCHAR(1000000) NOT NULL,
+    FOREIGN KEY (order_id) REFERENCES orders (id) ON DELETE CASCADE
+);
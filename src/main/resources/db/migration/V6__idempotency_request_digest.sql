@@ -0,0 +1,4 @@
+-- Idempotency-Key 요청 비교를 32비트 hashCode 대신 요청 본문의 SHA-256 으로 (Flyway V6)
+-- 이미 저장된 키는 본문이 없어 digest 를 만들 수 없으므로 request_hash 를 그대로 두고 그 값으로 비교한다.
+ALTER TABLE idempotency_keys ADD COLUMN IF NOT EXISTS request_digest VARCHAR(64);
+ALTER TABLE idempotency_keys ALTER COLUMN request_hash SET NULL;
@@ -0,0 +1,5 @@
+-- 상품 행에 재고 샤드 개수를 둬서, 샤딩하지 않은 상품은 조회할 때 재고 샤드 합계를 구하지 않게 한다 (Flyway V7)
+ALTER TABLE items ADD COLUMN IF NOT EXISTS shard_count INT DEFAULT 0 NOT NULL;
+
+UPDATE items
+SET shard_count = (SELECT COUNT(*) FROM item_stock_shards s WHERE s.item_id = items.id);
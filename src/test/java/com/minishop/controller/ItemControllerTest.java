@@ -0,0 +1,133 @@
+package com.minishop.controller;
+
+import com.minishop.domain.Items;
+import com.minishop.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 상품 API 검증 (요청 → JSON 응답까지)
+ * 이 트랜잭션에서 저장한 상품은 상품 캐시를 거치지 않으므로 조회는 모두 DB 에서 읽는다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ItemControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @BeforeEach
+    void clearDB() {
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("상품 여러 건 조회 - GET ?ids= / POST /lookup 모두 없는 상품은 missingIds 로 응답")
+    void getItems() throws Exception {
+        List<Long> ids = saveItems(2);
+
+        mockMvc.perform(get("/items").param("ids", ids.get(0) + "," + ids.get(1) + ",99999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(2))
+                .andExpect(jsonPath("$.data.items[0].id").value(ids.get(0)))
+                .andExpect(jsonPath("$.data.missingIds[0]").value(99999));
+
+        mockMvc.perform(post("/items/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + ids.get(1) + ",99999]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(1))
+                .andExpect(jsonPath("$.data.items[0].id").value(ids.get(1)))
+                .andExpect(jsonPath("$.data.missingIds[0]").value(99999));
+    }
+
+    @Test
+    @DisplayName("상품 여러 건 조회 실패 - 빈 ID 목록은 400")
+    void lookupItemsFail_Empty() throws Exception {
+        mockMvc.perform(post("/items/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Tag("benchmark")
+    @Test
+    @DisplayName("장바구니 상품 조회 지연 시간 - 상품마다 GET /items/{id} vs GET /items?ids=")
+    void benchmarkMultiGet() throws Exception {
+        int rounds = 200;
+
+        for (int lines : new int[]{20, 40}) {
+            List<Long> ids = saveItems(lines);
+            String joined = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+
+            // 워밍업
+            for (int i = 0; i < 20; i++) {
+                getEach(ids);
+                mockMvc.perform(get("/items").param("ids", joined)).andExpect(status().isOk());
+            }
+
+            long[] single = new long[rounds];
+            long[] multi = new long[rounds];
+            for (int i = 0; i < rounds; i++) {
+                long begin = System.nanoTime();
+                getEach(ids);
+                single[i] = System.nanoTime() - begin;
+
+                begin = System.nanoTime();
+                mockMvc.perform(get("/items").param("ids", joined)).andExpect(status().isOk());
+                multi[i] = System.nanoTime() - begin;
+            }
+
+            System.out.printf(">>> 장바구니 %d개 : 상품마다 GET avg %.2f ms / p99 %.2f ms, 여러 건 GET avg %.2f ms / p99 %.2f ms%n",
+                    lines, avgMillis(single), p99Millis(single), avgMillis(multi), p99Millis(multi));
+        }
+    }
+
+    private void getEach(List<Long> ids) throws Exception {
+        for (Long id : ids) {
+            mockMvc.perform(get("/items/{id}", id)).andExpect(status().isOk());
+        }
+    }
+
+    private List<Long> saveItems(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Items item = new Items(null, "장바구니 상품" + System.nanoTime() + "-" + i, 1000, 100);
+            itemRepository.save(item);
+            ids.add(item.getId());
+        }
+        return ids;
+    }
+
+    private static double avgMillis(long[] nanos) {
+        return Arrays.stream(nanos).average().orElse(0) / 1_000_000.0;
+    }
+
+    private static double p99Millis(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(sorted.length * 0.99) - 1] / 1_000_000.0;
+    }
+}
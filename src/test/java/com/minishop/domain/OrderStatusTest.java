@@ -0,0 +1,118 @@
+package com.minishop.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OrderStatusTest {
+
+    @Test
+    @DisplayName("전이 표 - 예전 문자열 비교 규칙과 모든 (현재, 다음) 조합에서 같은 결과")
+    void transitionsMatchStringRules() {
+        for (OrderStatus current : OrderStatus.values()) {
+            for (OrderStatus next : OrderStatus.values()) {
+                assertThat(current.canTransitionTo(next))
+                        .as("%s → %s", current, next)
+                        .isEqualTo(stringTransitionAllowed(current.name(), next.name()));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("이름/코드 변환 - 없는 이름은 null, 없는 코드는 예외")
+    void fromNameAndCode() {
+        for (OrderStatus status : OrderStatus.values()) {
+            assertThat(OrderStatus.from(status.name())).isEqualTo(status);
+            assertThat(OrderStatus.fromCode(status.getCode())).isEqualTo(status);
+        }
+
+        assertThat(OrderStatus.from(null)).isNull();
+        assertThat(OrderStatus.from("")).isNull();
+        assertThat(OrderStatus.from("new")).isNull();
+        assertThatThrownBy(() -> OrderStatus.fromCode(99)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Tag("benchmark")
+    @Test
+    @DisplayName("상태 전이 검증 - 문자열 equals 비교 vs enum 전이 표")
+    void benchmarkTransitionValidation() {
+        int rounds = 5_000_000;
+
+        // 요청 JSON 에서 읽은 문자열처럼 상수와 다른 인스턴스로 만든다 (equals 의 같은 참조 지름길을 타지 않도록)
+        String[] names = new String[OrderStatus.values().length];
+        for (OrderStatus status : OrderStatus.values()) {
+            names[status.ordinal()] = new String(status.name().toCharArray());
+        }
+        OrderStatus[] statuses = OrderStatus.values();
+
+        // 워밍업
+        runStrings(names, rounds);
+        runEnums(statuses, names, rounds);
+
+        long begin = System.nanoTime();
+        long allowedByString = runStrings(names, rounds);
+        long stringNanos = System.nanoTime() - begin;
+
+        begin = System.nanoTime();
+        long allowedByEnum = runEnums(statuses, names, rounds);
+        long enumNanos = System.nanoTime() - begin;
+
+        long checks = (long) rounds * names.length * names.length;
+        System.out.printf(">>> 상태 전이 검증 : 문자열 비교 %.2f ns/op, enum 전이 표 %.2f ns/op%n",
+                (double) stringNanos / checks, (double) enumNanos / checks);
+        assertThat(allowedByEnum).isEqualTo(allowedByString);
+    }
+
+    // 현재 상태는 DB 에서 읽은 값, 다음 상태는 요청 문자열 (유효성 검사 + 전이 검사)
+    private static long runStrings(String[] names, int rounds) {
+        long allowed = 0;
+        for (int r = 0; r < rounds; r++) {
+            for (String current : names) {
+                for (String next : names) {
+                    if (isValidStatus(next) && stringTransitionAllowed(current, next)) {
+                        allowed++;
+                    }
+                }
+            }
+        }
+        return allowed;
+    }
+
+    private static long runEnums(OrderStatus[] statuses, String[] names, int rounds) {
+        long allowed = 0;
+        for (int r = 0; r < rounds; r++) {
+            for (OrderStatus current : statuses) {
+                for (String name : names) {
+                    OrderStatus next = OrderStatus.from(name);
+                    if (next != null && current.canTransitionTo(next)) {
+                        allowed++;
+                    }
+                }
+            }
+        }
+        return allowed;
+    }
+
+    // 예전 OrderService 의 isValidStatus / validateStatusTransition (예외 대신 boolean)
+    private static boolean isValidStatus(String status) {
+        return status.equals("NEW") ||
+                status.equals("CANCELLED") ||
+                status.equals("SHIPPED") ||
+                status.equals("COMPLETED");
+    }
+
+    private static boolean stringTransitionAllowed(String current, String next) {
+        if (current.equals("CANCELLED")) {
+            return false;
+        }
+        if (current.equals("COMPLETED")) {
+            return false;
+        }
+        if (current.equals("SHIPPED") && next.equals("NEW")) {
+            return false;
+        }
+        return !(current.equals("SHIPPED") && next.equals("CANCELLED"));
+    }
+}
@@ -0,0 +1,42 @@
+package com.minishop.inventory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ReservationExpiryQueueTest {
+
+    @Test
+    @DisplayName("만료 시간 순으로 꺼내고, 취소된 예약은 건너뜀")
+    void takeInExpiryOrder_SkipCancelled() throws InterruptedException {
+        ReservationExpiryQueue queue = new ReservationExpiryQueue();
+        LocalDateTime now = LocalDateTime.now();
+
+        queue.schedule(1L, now.plusNanos(300_000_000));
+        queue.schedule(2L, now.plusNanos(100_000_000));
+        queue.schedule(3L, now.plusNanos(200_000_000));
+        queue.cancel(2L);
+
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(queue.take()).isEqualTo(3L);
+        assertThat(queue.take()).isEqualTo(1L);
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("다시 등록하면 마지막 만료 시간만 유효")
+    void rescheduleKeepsLatest() throws InterruptedException {
+        ReservationExpiryQueue queue = new ReservationExpiryQueue();
+        LocalDateTime now = LocalDateTime.now();
+
+        queue.schedule(1L, now.plusNanos(50_000_000));
+        queue.schedule(1L, now.plusNanos(250_000_000));
+        queue.schedule(2L, now.plusNanos(150_000_000));
+
+        assertThat(queue.take()).isEqualTo(2L);
+        assertThat(queue.take()).isEqualTo(1L);
+    }
+}
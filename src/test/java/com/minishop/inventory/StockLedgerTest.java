@@ -0,0 +1,293 @@
+package com.minishop.inventory;
+
+import com.minishop.domain.Items;
+import com.minishop.exception.AppException;
+import com.minishop.exception.ErrorCode;
+import com.minishop.repository.ItemRepository;
+import com.minishop.repository.mybatis.mapper.ItemMapper;
+import com.minishop.repository.mybatis.mapper.StockLedgerMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 인메모리 재고 원장 검증
+ * 원장은 테스트마다 임시 저널 디렉터리로 직접 만들고, flush 는 자체 트랜잭션으로 커밋하므로 @Transactional을 붙이지 않는다.
+ */
+@SpringBootTest
+class StockLedgerTest {
+
+    private static final long NO_AUTO_FLUSH = TimeUnit.HOURS.toMillis(1);
+
+    @Autowired
+    ItemMapper itemMapper;
+
+    @Autowired
+    StockLedgerMapper stockLedgerMapper;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @TempDir
+    Path journalDir;
+
+    private final List<StockLedger> ledgers = new ArrayList<>();
+    private int itemSeq; // 상품명은 unique 라서 테스트 안에서 상품마다 다른 이름
+
+    @BeforeEach
+    void clearDB() {
+        itemRepository.deleteAll();
+    }
+
+    @AfterEach
+    void stopLedgers() {
+        ledgers.forEach(StockLedger::stop);
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("동시 차감 - 초과 판매 없음, flush 후 DB 재고 일치")
+    void concurrentDecrease_NoOversell() throws Exception {
+
+        // given
+        Items item = saveItem(100);
+        StockLedger ledger = startLedger(item.getId());
+
+        // when : 200번 동시 차감
+        AtomicInteger success = new AtomicInteger();
+        runConcurrently(200, () -> success.addAndGet(ledger.decrease(item.getId(), 1)));
+        ledger.flush();
+
+        // then
+        assertThat(success.get()).isEqualTo(100);
+        assertThat(ledger.overlay(new Items(item.getId(), null, 0, -1)).getStockQuantity()).isZero();
+        assertThat(itemMapper.findById(item.getId()).getStockQuantity()).isZero();
+    }
+
+    @Test
+    @DisplayName("장애 복구 - DB에 반영하지 못한 증감은 다음 시작 때 저널에서 반영")
+    void recoverFromJournal() {
+
+        // given : flush 하지 않은 상태에서 증감 후 서버가 죽음 (stop 을 호출하면 flush 되므로 그냥 버림)
+        Items item = saveItem(10);
+        StockLedger crashed = new StockLedger(itemMapper, stockLedgerMapper, transactionManager,
+                Set.of(item.getId()), journalDir.toString(), NO_AUTO_FLUSH, 4 * 1024 * 1024);
+        crashed.start();
+        crashed.decrease(item.getId(), 3);
+        crashed.decrease(item.getId(), 2);
+        crashed.increase(item.getId(), 1);
+        assertThat(itemMapper.findById(item.getId()).getStockQuantity()).isEqualTo(10);
+
+        // when : 같은 저널 디렉터리로 다시 시작
+        StockLedger restarted = startLedger(item.getId());
+
+        // then
+        assertThat(itemMapper.findById(item.getId()).getStockQuantity()).isEqualTo(6);
+        assertThat(restarted.overlay(new Items(item.getId(), null, 0, -1)).getStockQuantity()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("장애 복구 - 이미 반영한 저널은 다시 반영하지 않음")
+    void recoverFromJournal_SkipFlushed() {
+
+        // given
+        Items item = saveItem(10);
+        StockLedger first = new StockLedger(itemMapper, stockLedgerMapper, transactionManager,
+                Set.of(item.getId()), journalDir.toString(), NO_AUTO_FLUSH, 4 * 1024 * 1024);
+        first.start();
+        first.decrease(item.getId(), 4);
+        first.flush();
+        first.decrease(item.getId(), 1);
+
+        // when
+        startLedger(item.getId());
+
+        // then
+        assertThat(itemMapper.findById(item.getId()).getStockQuantity()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("장애 복구 - 롤백된 트랜잭션의 차감은 복구 때 반영되지 않음")
+    void recoverFromJournal_SkipRolledBack() {
+
+        // given : 커밋된 차감 1건, 롤백된 차감 1건 후 서버가 죽음
+        Items item = saveItem(10);
+        StockLedger crashed = new StockLedger(itemMapper, stockLedgerMapper, transactionManager,
+                Set.of(item.getId()), journalDir.toString(), NO_AUTO_FLUSH, 4 * 1024 * 1024);
+        crashed.start();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> crashed.decrease(item.getId(), 3));
+        tx.executeWithoutResult(status -> {
+            crashed.decrease(item.getId(), 4);
+            status.setRollbackOnly();
+        });
+        assertThat(crashed.overlay(new Items(item.getId(), null, 0, -1)).getStockQuantity()).isEqualTo(7);
+
+        // when
+        StockLedger restarted = startLedger(item.getId());
+
+        // then
+        assertThat(itemMapper.findById(item.getId()).getStockQuantity()).isEqualTo(7);
+        assertThat(restarted.overlay(new Items(item.getId(), null, 0, -1)).getStockQuantity()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("재고 증가 - 커밋되기 전에는 다른 주문이 가져갈 수 없고, 롤백되면 반영되지 않음")
+    void increase_VisibleAfterCommit() {
+
+        // given
+        Items item = saveItem(0);
+        StockLedger ledger = startLedger(item.getId());
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        // when : 롤백될 증가 - 그 사이 다른 주문은 차감할 수 없음
+        tx.executeWithoutResult(status -> {
+            ledger.increase(item.getId(), 5);
+            assertThat(ledger.decrease(item.getId(), 1)).isZero();
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(ledger.overlay(new Items(item.getId(), null, 0, -1)).getStockQuantity()).isZero();
+
+        // 커밋된 증가는 반영
+        tx.executeWithoutResult(status -> ledger.increase(item.getId(), 5));
+        assertThat(ledger.overlay(new Items(item.getId(), null, 0, -1)).getStockQuantity()).isEqualTo(5);
+        ledger.flush();
+        assertThat(itemMapper.findById(item.getId()).getStockQuantity()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("저널 기록 실패 - 커밋 전에 기록하므로 트랜잭션이 롤백되어 요청이 실패하고, 메모리 재고도 되돌림")
+    void journalFailure_RollsBackTransaction() {
+
+        // given : 저널을 닫아서 기록이 실패하는 상황
+        Items item = saveItem(10);
+        StockLedger ledger = startLedger(item.getId());
+        ledger.stop();
+
+        // when & then
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        assertThatThrownBy(() -> tx.executeWithoutResult(status -> ledger.decrease(item.getId(), 3)))
+                .isInstanceOf(AppException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.STOCK_JOURNAL_ERROR);
+        assertThat(ledger.overlay(new Items(item.getId(), null, 0, -1)).getStockQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("flush - DB 에 반영되지 않은 증감이 있으면 반영 번호를 올리지 않고 다음 flush 때 다시 반영")
+    void flush_RetriesSkippedDelta() {
+
+        // given : 원장을 만든 뒤 DB 재고가 밖에서 줄어서 원장의 차감을 반영하면 음수가 됨
+        Items item = saveItem(10);
+        StockLedger ledger = startLedger(item.getId());
+        Long flushedBefore = stockLedgerMapper.findFlushedSequence();
+        ledger.decrease(item.getId(), 5);
+        itemMapper.adjustStocks(Map.of(item.getId(), -8));
+
+        // when
+        ledger.flush();
+
+        // then : 반영 번호 그대로, DB 재고 그대로
+        assertThat(stockLedgerMapper.findFlushedSequence()).isEqualTo(flushedBefore);
+        assertThat(itemMapper.findById(item.getId()).getStockQuantity()).isEqualTo(2);
+
+        // 재고가 다시 채워지면 빠졌던 증감까지 반영
+        itemMapper.adjustStocks(Map.of(item.getId(), 8));
+        ledger.flush();
+        assertThat(itemMapper.findById(item.getId()).getStockQuantity()).isEqualTo(5);
+        assertThat(stockLedgerMapper.findFlushedSequence()).isNotEqualTo(flushedBefore);
+    }
+
+    @Tag("benchmark")
+    @Test
+    @DisplayName("핫 아이템 동시 차감 - 원장 vs DB 조건부 UPDATE")
+    void benchmarkDecrease() throws Exception {
+        int threads = 64;
+        int perThread = 200;
+        int total = threads * perThread;
+
+        Items dbItem = saveItem(total);
+        Items ledgerItem = saveItem(total);
+        StockLedger ledger = startLedger(ledgerItem.getId());
+
+        long dbNanos = runConcurrently(threads, () -> {
+            for (int i = 0; i < perThread; i++) {
+                itemRepository.decreaseStock(dbItem.getId(), 1);
+            }
+        });
+        long ledgerNanos = runConcurrently(threads, () -> {
+            for (int i = 0; i < perThread; i++) {
+                ledger.decrease(ledgerItem.getId(), 1);
+            }
+        });
+        ledger.flush();
+
+        System.out.printf(">>> 재고 차감 %d건 (스레드 %d개): DB %.1f ops/sec, 원장 %.1f ops/sec%n",
+                total, threads, opsPerSec(total, dbNanos), opsPerSec(total, ledgerNanos));
+
+        assertThat(itemMapper.findById(dbItem.getId()).getStockQuantity()).isZero();
+        assertThat(itemMapper.findById(ledgerItem.getId()).getStockQuantity()).isZero();
+    }
+
+    private Items saveItem(int stock) {
+        Items item = new Items(null, "한정판 운동화" + (++itemSeq), 10000, stock);
+        itemRepository.save(item);
+        return item;
+    }
+
+    private StockLedger startLedger(Long itemId) {
+        StockLedger ledger = new StockLedger(itemMapper, stockLedgerMapper, transactionManager,
+                Set.of(itemId), journalDir.toString(), NO_AUTO_FLUSH, 4 * 1024 * 1024);
+        ledger.start();
+        ledgers.add(ledger);
+        return ledger;
+    }
+
+    // threads 개의 스레드가 동시에 task 실행, 걸린 시간(ns) 반환
+    private long runConcurrently(int threads, Runnable task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                task.run();
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+        return elapsed;
+    }
+
+    private static double opsPerSec(int ops, long nanos) {
+        return ops * 1_000_000_000.0 / nanos;
+    }
+}
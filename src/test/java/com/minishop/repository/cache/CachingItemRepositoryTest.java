@@ -0,0 +1,221 @@
+package com.minishop.repository.cache;
+
+import com.minishop.domain.Items;
+import com.minishop.dto.item.ItemCreateRequest;
+import com.minishop.dto.item.ItemUpdateRequest;
+import com.minishop.dto.order.OrderCreateRequest;
+import com.minishop.dto.order.OrderItemRequest;
+import com.minishop.exception.AppException;
+import com.minishop.exception.ErrorCode;
+import com.minishop.repository.ItemRepository;
+import com.minishop.repository.OrderRepository;
+import com.minishop.repository.mybatis.ItemRepositoryMyBatis;
+import com.minishop.service.ItemService;
+import com.minishop.service.OrderService;
+import com.minishop.support.QueryCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 상품 조회 캐시 검증
+ * 캐시는 트랜잭션이 끝날 때 무효화되므로 클래스에 @Transactional을 붙이지 않는다.
+ */
+@SpringBootTest
+@Import(QueryCounter.class)
+class CachingItemRepositoryTest {
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    ItemRepositoryMyBatis itemRepositoryMyBatis;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    QueryCounter queryCounter;
+
+    @BeforeEach
+    @AfterEach
+    void clearDB() {
+        orderRepository.deleteAll();
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("같은 상품을 여러 번 조회해도 DB 조회는 한 번")
+    void findById_Cached() {
+
+        Items item = itemRepository.save(new Items(null, "운동화", 10000, 10));
+        queryCounter.clear();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(itemService.findById(item.getId()).getName()).isEqualTo("운동화");
+        }
+
+        assertThat(queryCounter.count("ItemMapper.findById")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("꺼낸 상품을 바꿔도 캐시에는 영향 없음")
+    void findById_ReturnsCopy() {
+
+        Items item = itemRepository.save(new Items(null, "운동화", 10000, 10));
+        itemService.findById(item.getId()).setStockQuantity(999);
+
+        assertThat(itemService.findById(item.getId()).getStockQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("상품 수정/주문 재고 차감/주문 취소 후 조회하면 바뀐 값")
+    void invalidateOnWrite() {
+
+        Items item = itemRepository.save(new Items(null, "운동화", 10000, 10));
+        itemService.findById(item.getId());
+
+        // 상품 수정
+        itemService.update(item.getId(), new ItemUpdateRequest("러닝화", 20000, 10));
+        assertThat(itemService.findById(item.getId()).getName()).isEqualTo("러닝화");
+
+        // 주문 → 재고 차감
+        Long orderId = orderService.createOrder(new OrderCreateRequest(1L,
+                List.of(new OrderItemRequest(item.getId(), 3)))).getId();
+        assertThat(itemService.findById(item.getId()).getStockQuantity()).isEqualTo(7);
+
+        // 주문 취소 → 재고 복구
+        orderService.cancelOrder(orderId);
+        assertThat(itemService.findById(item.getId()).getStockQuantity()).isEqualTo(10);
+
+        // 삭제
+        itemService.delete(item.getId());
+        assertThat(itemRepository.findById(item.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("커밋 전 수정 값은 다른 요청에 보이지 않고, 롤백 후에도 캐시에 남지 않음")
+    void uncommittedWriteNotVisible() {
+
+        Items item = itemRepository.save(new Items(null, "운동화", 10000, 10));
+        itemService.findById(item.getId());
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            itemRepository.update(item.getId(), new Items(null, "러닝화", 20000, 5));
+
+            // 같은 트랜잭션에서는 바뀐 값
+            assertThat(itemRepository.findById(item.getId()).orElseThrow().getName()).isEqualTo("러닝화");
+
+            // 다른 요청(스레드)은 커밋된 값
+            String seenByOther = CompletableFuture.supplyAsync(
+                    () -> itemRepository.findById(item.getId()).orElseThrow().getName()).join();
+            assertThat(seenByOther).isEqualTo("운동화");
+
+            status.setRollbackOnly();
+        });
+
+        assertThat(itemService.findById(item.getId()).getName()).isEqualTo("운동화");
+        assertThat(itemService.findById(item.getId()).getStockQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("상품명 조회 - Bloom filter 에 없는 이름은 DB 조회 없이 null, 등록 중복은 조회 없이 unique 제약으로 거부")
+    void findByName_SkipsQueryForNewName() {
+
+        queryCounter.clear();
+        assertThat(itemRepository.findByName("처음 보는 상품")).isNull();
+        assertThat(queryCounter.count("ItemMapper.findByName")).isZero();
+
+        itemService.save(new ItemCreateRequest("처음 보는 상품", 10000, 10));
+        assertThatThrownBy(() -> itemService.save(new ItemCreateRequest("처음 보는 상품", 20000, 5)))
+                .isInstanceOf(AppException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.DUPLICATE_ITEM);
+        assertThat(queryCounter.count("ItemMapper.findByName")).isZero();
+
+        // 등록한 이름은 "있을 수도 있음" 이므로 DB 로 확인
+        assertThat(itemRepository.findByName("처음 보는 상품")).isNotNull();
+        assertThat(queryCounter.count("ItemMapper.findByName")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("여러 건 조회 중에 상품이 바뀌면 읽은 값은 캐시에 넣지 않음")
+    void findAllByIds_SkipsInsertAfterInvalidation() throws Exception {
+
+        Items item = itemRepository.save(new Items(null, "운동화", 10000, 10));
+        queryCounter.clear();
+
+        // 조회가 DB 를 읽기 직전에 멈춘 사이 상품 수정 (읽은 값이 수정 전일 수도 있는 상황)
+        CountDownLatch gate = new CountDownLatch(1);
+        queryCounter.holdUntil("findAllByIds", gate);
+        CompletableFuture<List<Items>> reading = CompletableFuture.supplyAsync(
+                () -> itemRepository.findAllByIds(List.of(item.getId())));
+        while (queryCounter.count("ItemMapper.findAllByIds") == 0) {
+            Thread.sleep(10);
+        }
+        itemRepository.update(item.getId(), new Items(null, "러닝화", 20000, 10));
+        gate.countDown();
+        reading.get(10, TimeUnit.SECONDS);
+
+        // 캐시에 들어가지 않았으므로 다음 조회는 다시 DB 에서 바뀐 값
+        queryCounter.clear();
+        assertThat(itemRepository.findAllByIds(List.of(item.getId())))
+                .extracting(Items::getName).containsExactly("러닝화");
+        assertThat(queryCounter.count("ItemMapper.findAllByIds")).isEqualTo(1);
+
+        // 무효화 없이 읽은 값은 캐시에 들어감
+        itemRepository.findAllByIds(List.of(item.getId()));
+        assertThat(queryCounter.count("ItemMapper.findAllByIds")).isEqualTo(1);
+    }
+
+    @Tag("benchmark")
+    @Test
+    @DisplayName("상품 단건 조회 - 캐시 적중 vs DB")
+    void benchmarkFindById() {
+        int reads = 100_000;
+        Items item = itemRepository.save(new Items(null, "운동화", 10000, 10));
+
+        for (int i = 0; i < 10_000; i++) {
+            itemService.findById(item.getId());
+            itemRepositoryMyBatis.findById(item.getId());
+        }
+
+        long begin = System.nanoTime();
+        for (int i = 0; i < reads; i++) {
+            itemService.findById(item.getId());
+        }
+        long cachedNanos = System.nanoTime() - begin;
+
+        begin = System.nanoTime();
+        for (int i = 0; i < reads; i++) {
+            itemRepositoryMyBatis.findById(item.getId());
+        }
+        long dbNanos = System.nanoTime() - begin;
+
+        System.out.printf(">>> 상품 단건 조회 %d번 : 캐시 %.2f µs/건, DB %.2f µs/건, %s%n",
+                reads, cachedNanos / 1000.0 / reads, dbNanos / 1000.0 / reads, itemService.cacheStats());
+    }
+}
@@ -0,0 +1,135 @@
+package com.minishop.repository.cache;
+
+import com.minishop.domain.Users;
+import com.minishop.dto.item.UserCreateRequest;
+import com.minishop.dto.item.UserUpdateRequest;
+import com.minishop.exception.AppException;
+import com.minishop.exception.ErrorCode;
+import com.minishop.repository.UserRepository;
+import com.minishop.service.UserService;
+import com.minishop.support.QueryCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 사용자 조회 캐시 + 이메일 인덱스 검증
+ * 캐시는 트랜잭션이 끝날 때 무효화되므로 클래스에 @Transactional을 붙이지 않는다.
+ */
+@SpringBootTest
+@Import(QueryCounter.class)
+class CachingUserRepositoryTest {
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    QueryCounter queryCounter;
+
+    @BeforeEach
+    @AfterEach
+    void clearDB() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("단일 사용자 조회 - DB 조회는 한 번")
+    void findById_Cached() {
+
+        Users saved = userService.save(new UserCreateRequest("박석훈", "password123", "cache@test.com"));
+        queryCounter.clear();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(userService.findById(saved.getId()).getEmail()).isEqualTo("cache@test.com");
+        }
+
+        assertThat(queryCounter.count("UserMapper.findUserById")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("이메일 중복 검사 - 캐시된 사용자는 DB 조회 없이 중복 판단")
+    void duplicateEmail_FromIndex() {
+
+        Users saved = userService.save(new UserCreateRequest("박석훈", "password123", "dup@test.com"));
+        userService.findById(saved.getId());
+        queryCounter.clear();
+
+        assertThatThrownBy(() -> userService.save(new UserCreateRequest("다른사람", "password123", "dup@test.com")))
+                .isInstanceOf(AppException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.DUPLICATE_EMAIL);
+
+        assertThat(queryCounter.count("UserMapper.findUserByEmail")).isZero();
+    }
+
+    @Test
+    @DisplayName("새 이메일 등록 - 중복 검사 조회 없이 저장, 없는 이메일 조회는 Bloom filter 로 생략")
+    void save_SkipsDuplicateQueryForNewEmail() {
+
+        queryCounter.clear();
+        for (int i = 0; i < 10; i++) {
+            userService.save(new UserCreateRequest("사용자" + i, "password123", "bulk" + i + "@test.com"));
+        }
+        assertThat(queryCounter.count("UserMapper.findUserByEmail")).isZero();
+
+        long skipped = userService.emailFilterStats().getSkippedQueries();
+        assertThat(userRepository.findByEmail("nobody@test.com")).isNull();
+        assertThat(queryCounter.count("UserMapper.findUserByEmail")).isZero();
+        assertThat(userService.emailFilterStats().getSkippedQueries()).isEqualTo(skipped + 1);
+    }
+
+    @Test
+    @DisplayName("이메일 변경 - 이전 이메일은 인덱스에서 빠지고 새 이메일로 조회됨, 수정 후 다시 조회하지 않음")
+    void updateEmail_IndexCoherent() {
+
+        Users saved = userService.save(new UserCreateRequest("박석훈", "password123", "old@test.com"));
+        userService.findById(saved.getId());
+        queryCounter.clear();
+
+        Users updated = userService.update(saved.getId(), new UserUpdateRequest(null, null, "new@test.com"));
+
+        assertThat(updated.getEmail()).isEqualTo("new@test.com");
+        assertThat(queryCounter.count("UserMapper.findUserById")).isZero();
+
+        assertThat(userRepository.findByEmail("old@test.com")).isNull();
+        assertThat(userRepository.findByEmail("new@test.com").getId()).isEqualTo(saved.getId());
+        assertThat(userService.findById(saved.getId()).getEmail()).isEqualTo("new@test.com");
+
+        // 이전 이메일로 다른 사용자 등록 가능
+        assertThat(userService.save(new UserCreateRequest("다른사람", "password123", "old@test.com")).getId())
+                .isNotEqualTo(saved.getId());
+    }
+
+    @Test
+    @DisplayName("삭제 - 캐시와 이메일 인덱스에서 제거")
+    void delete_Evicted() {
+
+        Users saved = userService.save(new UserCreateRequest("박석훈", "password123", "delete@test.com"));
+        userService.findById(saved.getId());
+        userRepository.findByEmail("delete@test.com");
+
+        userService.delete(saved.getId());
+
+        assertThatThrownBy(() -> userService.findById(saved.getId())).isInstanceOf(AppException.class);
+        assertThat(userRepository.findByEmail("delete@test.com")).isNull();
+    }
+
+    @Test
+    @DisplayName("꺼낸 사용자를 바꿔도 캐시에는 영향 없음")
+    void findById_ReturnsCopy() {
+
+        Users saved = userService.save(new UserCreateRequest("박석훈", "password123", "copy@test.com"));
+        userService.findById(saved.getId()).setEmail("changed@test.com");
+
+        assertThat(userService.findById(saved.getId()).getEmail()).isEqualTo("copy@test.com");
+        assertThat(userRepository.findByEmail("copy@test.com")).isNotNull();
+    }
+}
@@ -0,0 +1,146 @@
+package com.minishop.repository.mybatis;
+
+import com.minishop.domain.OrderStatus;
+import com.minishop.dto.order.OrderSearchRequest;
+import com.minishop.repository.OrderRepository;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 자주 실행되는 매퍼 쿼리가 인덱스를 타는지 EXPLAIN 으로 검증
+ * 매퍼 XML 의 SQL 을 그대로 꺼내서(동적 SQL 적용 후) 실행 계획에 전체 스캔(tableScan)이 없는지 확인한다.
+ */
+@SpringBootTest
+@Transactional
+class QueryPlanTest {
+
+    private static final String ITEM = "com.minishop.repository.mybatis.mapper.ItemMapper.";
+    private static final String USER = "com.minishop.repository.mybatis.mapper.UserMapper.";
+    private static final String ORDER = "com.minishop.repository.mybatis.mapper.OrderMapper.";
+
+    @Autowired
+    SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        // 빈 테이블이면 어떤 계획이든 비용이 같으므로 행을 조금 넣어 둔다
+        orderRepository.deleteAll();
+        jdbcTemplate.update("INSERT INTO items (name, price, stock_quantity) "
+                + "SELECT '상품' || X, 1000, 10 FROM SYSTEM_RANGE(1, 1000)");
+        jdbcTemplate.update("INSERT INTO users (username, password, email) "
+                + "SELECT '사용자' || X, 'password123', 'user' || X || '@test.com' FROM SYSTEM_RANGE(1, 1000)");
+        jdbcTemplate.update("INSERT INTO orders (user_id, order_date, total_price, status) "
+                + "SELECT MOD(X, 100), DATEADD('MINUTE', -X, CURRENT_TIMESTAMP), 1000, "
+                + "CASE WHEN MOD(X, 10) = 0 THEN 0 ELSE 3 END FROM SYSTEM_RANGE(1, 5000)"); // NEW / COMPLETED 코드
+        jdbcTemplate.update("INSERT INTO order_items (order_id, item_id, quantity) "
+                + "SELECT o.id, (SELECT MIN(id) FROM items), 1 FROM orders o");
+    }
+
+    @Test
+    @DisplayName("상품 - id / id 목록 / 상품명 조회와 재고 차감은 인덱스 사용")
+    void itemQueries() {
+        assertIndexed(explain(ITEM + "findById", 1L));
+        assertIndexed(explain(ITEM + "findVersionById", 1L));
+        assertIndexed(explain(ITEM + "findAllByIds", Map.of("ids", List.of(1L, 2L, 3L))));
+        assertThat(explain(ITEM + "findByName", "상품1")).containsIgnoringCase("UK_ITEMS_NAME");
+        assertIndexed(explain(ITEM + "decreaseStock", Map.of("id", 1L, "quantity", 1)));
+    }
+
+    @Test
+    @DisplayName("사용자 - 이메일 조회는 unique 제약 인덱스 사용")
+    void userQueries() {
+        assertIndexed(explain(USER + "findUserById", 1L));
+        assertThat(explain(USER + "findUserByEmail", "user1@test.com")).containsIgnoringCase("UK_USERS_EMAIL");
+    }
+
+    @Test
+    @DisplayName("주문 - 주문상품 조회는 order_id 인덱스, 사용자/상태별 검색은 (조건, 주문일, id) 인덱스 사용")
+    void orderQueries() {
+        List<Long> orderIds = List.of(1L, 2L, 3L);
+
+        assertIndexed(explain(ORDER + "findByIds", Map.of("orderIds", orderIds)));
+        assertThat(explain(ORDER + "findOrderItemsByOrderIds", Map.of("orderIds", orderIds)))
+                .containsIgnoringCase("IDX_ORDER_ITEMS_ORDER_ID");
+        assertThat(explain(ORDER + "findItemIdsByOrderId", 1L)).containsIgnoringCase("IDX_ORDER_ITEMS_ORDER_ID");
+        assertThat(explain(ORDER + "sumQuantitiesByItem", Map.of("orderIds", orderIds)))
+                .containsIgnoringCase("IDX_ORDER_ITEMS_ORDER_ID");
+
+        OrderSearchRequest byUser = new OrderSearchRequest();
+        byUser.setUserId(1L);
+        assertThat(explain(ORDER + "searchOrders", searchParams(byUser))).containsIgnoringCase("IDX_ORDERS_USER_DATE_ID");
+
+        OrderSearchRequest byStatus = new OrderSearchRequest();
+        byStatus.setStatus("NEW");
+        assertThat(explain(ORDER + "searchOrders", searchParams(byStatus))).containsIgnoringCase("IDX_ORDERS_STATUS_DATE_ID");
+    }
+
+    private static Map<String, Object> searchParams(OrderSearchRequest condition) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("condition", condition);
+        params.put("status", OrderStatus.from(condition.getStatus()));
+        params.put("cursorDate", null);
+        params.put("cursorId", null);
+        params.put("limit", 20);
+        return params;
+    }
+
+    private static void assertIndexed(String plan) {
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+    }
+
+    // 매퍼 SQL 에 파라미터를 MyBatis 와 같은 방식(매핑의 TypeHandler)으로 채워서 EXPLAIN
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private String explain(String statementId, Object parameter) {
+        Configuration configuration = sqlSessionFactory.getConfiguration();
+        BoundSql boundSql = configuration.getMappedStatement(statementId).getBoundSql(parameter);
+        MetaObject meta = configuration.newMetaObject(parameter);
+
+        String plan = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("EXPLAIN " + boundSql.getSql());
+            List<ParameterMapping> mappings = boundSql.getParameterMappings();
+            for (int i = 0; i < mappings.size(); i++) {
+                ParameterMapping mapping = mappings.get(i);
+                String property = mapping.getProperty();
+                Object value;
+                if (boundSql.hasAdditionalParameter(property)) {
+                    value = boundSql.getAdditionalParameter(property);
+                } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+                    value = parameter;
+                } else {
+                    value = meta.getValue(property);
+                }
+                JdbcType jdbcType = mapping.getJdbcType() == null ? configuration.getJdbcTypeForNull() : mapping.getJdbcType();
+                TypeHandler typeHandler = mapping.getTypeHandler();
+                typeHandler.setParameter(ps, i + 1, value, jdbcType);
+            }
+            return ps;
+        }, rs -> rs.next() ? rs.getString(1) : null);
+        System.out.printf(">>> %s%n%s%n", statementId, plan);
+        return plan;
+    }
+}
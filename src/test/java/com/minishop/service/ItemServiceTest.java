@@ -2,23 +2,29 @@ package com.minishop.service;
 
 import com.minishop.domain.Items;
 import com.minishop.dto.item.ItemCreateRequest;
+import com.minishop.dto.item.ItemStockShardRequest;
 import com.minishop.dto.item.ItemUpdateRequest;
 import com.minishop.exception.AppException;
 import com.minishop.exception.ErrorCode;
 import com.minishop.repository.ItemRepository;
+import com.minishop.response.ItemBatchResponse;
+import com.minishop.support.QueryCounter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
 
 @SpringBootTest
 @Transactional
+@Import(QueryCounter.class)
 class ItemServiceTest {
 
     @Autowired
@@ -27,6 +33,9 @@ class ItemServiceTest {
     @Autowired
     ItemRepository itemRepository;
 
+    @Autowired
+    QueryCounter queryCounter;
+
     @BeforeEach
     void clearDB() {
         itemRepository.deleteAll();
@@ -128,6 +137,37 @@ class ItemServiceTest {
         assertThat(list).hasSize(2);
     }
 
+    @Test
+    @DisplayName("상품 여러 건 조회 - IN 쿼리 한 번, 요청 순서대로, 없는 상품은 missingIds 로")
+    void findItems() {
+        Items shoes = itemService.save(new ItemCreateRequest("운동화", 30000, 10));
+        Items hat = itemService.save(new ItemCreateRequest("모자", 15000, 20));
+
+        queryCounter.clear();
+        ItemBatchResponse result = itemService.findItems(List.of(hat.getId(), 99999L, shoes.getId(), hat.getId()));
+
+        assertThat(result.getItems()).extracting(Items::getId).containsExactly(hat.getId(), shoes.getId());
+        assertThat(result.getMissingIds()).containsExactly(99999L);
+        assertThat(queryCounter.count("ItemMapper.findAllByIds")).isEqualTo(1);
+        assertThat(queryCounter.count("ItemMapper.findById")).isZero();
+    }
+
+    @Test
+    @DisplayName("상품 여러 건 조회 실패 - ID 가 없거나 너무 많음")
+    void findItemsFail_InvalidIds() {
+        List<Long> tooMany = new ArrayList<>();
+        for (long id = 1; id <= 1001; id++) {
+            tooMany.add(id);
+        }
+
+        assertThatThrownBy(() -> itemService.findItems(List.of()))
+                .isInstanceOf(AppException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.INVALID_REQUEST);
+        assertThatThrownBy(() -> itemService.findItems(tooMany))
+                .isInstanceOf(AppException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.INVALID_REQUEST);
+    }
+
     @Test
     @DisplayName("상품 전체 조회 실패 - 상품이 없음")
     void findAllFail_Empty() {
@@ -205,4 +245,100 @@ class ItemServiceTest {
                 .isInstanceOf(AppException.class)
                 .hasMessageContaining("상품명");
     }
+
+    // ========================================
+    // ETag 테스트
+    // ========================================
+
+    @Test
+    @DisplayName("상품 ETag - 수정/재고 차감/샤드 재고 차감 때마다 바뀌고, 그 외에는 그대로")
+    void itemETag() {
+        Items saved = itemService.save(new ItemCreateRequest("운동화", 30000, 10));
+        String first = itemService.itemETag(saved.getId());
+        assertThat(itemService.itemETag(saved.getId())).isEqualTo(first);
+
+        // 상품 정보 수정 → 버전 증가
+        itemService.update(saved.getId(), new ItemUpdateRequest("러닝화", 45000, 10));
+        String afterUpdate = itemService.itemETag(saved.getId());
+        assertThat(afterUpdate).isNotEqualTo(first);
+        assertThat(itemService.findById(saved.getId()).getVersion()).isEqualTo(1);
+
+        // 재고 차감 → 버전 증가
+        itemRepository.decreaseStock(saved.getId(), 1);
+        String afterDecrease = itemService.itemETag(saved.getId());
+        assertThat(afterDecrease).isNotEqualTo(afterUpdate);
+
+        // 샤드에서 차감하면 상품 행 버전은 그대로지만 재고가 바뀌므로 다른 ETag
+        itemService.changeStockShards(saved.getId(), new ItemStockShardRequest(3));
+        String afterShard = itemService.itemETag(saved.getId());
+        itemRepository.decreaseStock(saved.getId(), 1);
+        assertThat(itemService.itemETag(saved.getId())).isNotEqualTo(afterShard);
+
+        // 없는 상품
+        assertThat(itemService.itemETag(99999L)).isNull();
+    }
+
+    @Test
+    @DisplayName("상품 목록 ETag - 상품을 바꾸면 바뀌고, 조회만 하면 그대로 (샤드 재고 차감도 반영)")
+    void itemsETag() {
+        Items saved = itemService.save(new ItemCreateRequest("운동화", 30000, 10));
+        String first = itemService.itemsETag();
+
+        itemService.findAll();
+        itemService.findById(saved.getId());
+        assertThat(itemService.itemsETag()).isEqualTo(first);
+
+        itemRepository.decreaseStock(saved.getId(), 1);
+        assertThat(itemService.itemsETag()).isNotEqualTo(first);
+
+        // 샤드에서 차감하면 상품 행 버전은 그대로지만 목록의 재고가 바뀌므로 다른 ETag
+        itemService.changeStockShards(saved.getId(), new ItemStockShardRequest(3));
+        String afterShard = itemService.itemsETag();
+        itemRepository.decreaseStock(saved.getId(), 1);
+        assertThat(itemService.itemsETag()).isNotEqualTo(afterShard);
+    }
+
+    @Test
+    @DisplayName("재고 샤드 - 샤드로 나눠도 조회 재고는 합계, 차감/해제 후에도 합계 유지")
+    void changeStockShardsSuccess() {
+        Items saved = itemService.save(new ItemCreateRequest("한정판 운동화", 30000, 10));
+
+        // 샤드 4개로 분할 (3, 3, 2, 2)
+        Items sharded = itemService.changeStockShards(saved.getId(), new ItemStockShardRequest(4));
+        assertThat(sharded.getStockQuantity()).isEqualTo(10);
+
+        // 샤드 하나(최대 3)로는 부족한 수량도 여러 샤드에서 나눠 차감
+        assertThat(itemRepository.decreaseStock(saved.getId(), 5)).isEqualTo(1);
+        assertThat(itemService.findById(saved.getId()).getStockQuantity()).isEqualTo(5);
+
+        // 재고보다 많은 수량은 차감되지 않음
+        assertThat(itemRepository.decreaseStock(saved.getId(), 6)).isZero();
+
+        // 샤딩 해제 → 상품 행으로 합쳐짐
+        Items merged = itemService.changeStockShards(saved.getId(), new ItemStockShardRequest(0));
+        assertThat(merged.getStockQuantity()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("재고 차감 - 샤딩하지 않은 상품의 품절은 상품 행을 잠그지 않고 바로 실패")
+    void decreaseStock_SoldOutWithoutLock() {
+        Items saved = itemService.save(new ItemCreateRequest("운동화", 30000, 1));
+        assertThat(itemRepository.decreaseStock(saved.getId(), 1)).isEqualTo(1);
+
+        queryCounter.clear();
+        assertThat(itemRepository.decreaseStock(saved.getId(), 1)).isZero();
+
+        assertThat(queryCounter.count("ItemMapper.findStockForUpdate")).isZero();
+        assertThat(queryCounter.count("ItemMapper.findStockShardsForUpdate")).isZero();
+        assertThat(queryCounter.count("ItemMapper.findStockShardNos")).isZero();
+    }
+
+    @Test
+    @DisplayName("재고 샤드 변경 실패 - 존재하지 않는 상품")
+    void changeStockShardsFail_NotFound() {
+
+        assertThatThrownBy(() -> itemService.changeStockShards(99999L, new ItemStockShardRequest(4)))
+                .isInstanceOf(AppException.class)
+                .hasMessageContaining("상품 ID");
+    }
 }
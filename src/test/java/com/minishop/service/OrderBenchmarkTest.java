@@ -0,0 +1,336 @@
+package com.minishop.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minishop.domain.Items;
+import com.minishop.domain.OrderItems;
+import com.minishop.domain.OrderStatus;
+import com.minishop.domain.Orders;
+import com.minishop.dto.order.OrderCreateRequest;
+import com.minishop.dto.order.OrderItemRequest;
+import com.minishop.dto.order.OrderSearchRequest;
+import com.minishop.dto.order.OrderUpdateRequest;
+import com.minishop.repository.ItemRepository;
+import com.minishop.repository.OrderRepository;
+import com.minishop.repository.mybatis.mapper.OrderMapper;
+import com.minishop.response.OrderBulkStatusResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 주문 관련 성능 측정 (./gradlew benchmark 로 실행)
+ * 결과는 표준 출력으로 확인한다.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Transactional
+class OrderBenchmarkTest {
+
+    private static final int WARMUP = 3;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    OrderMapper orderMapper;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @BeforeEach
+    void clearDB() {
+        orderRepository.deleteAll();
+    }
+
+    @ParameterizedTest(name = "주문상품 {0}개")
+    @ValueSource(ints = {1, 10, 100, 1000})
+    @DisplayName("주문상품 저장 - 한 건씩 INSERT vs multi-row INSERT")
+    void insertOrderItems(int lines) {
+        Items item = new Items(null, "운동화", 1000, 0);
+        itemRepository.save(item);
+
+        for (int i = 0; i < WARMUP; i++) {
+            insertOneByOne(newOrder(item.getId(), lines));
+            orderRepository.save(newOrder(item.getId(), lines));
+        }
+
+        long singleNanos = 0;
+        long batchNanos = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            Orders single = newOrder(item.getId(), lines);
+            long begin = System.nanoTime();
+            insertOneByOne(single);
+            singleNanos += System.nanoTime() - begin;
+
+            Orders batch = newOrder(item.getId(), lines);
+            begin = System.nanoTime();
+            orderRepository.save(batch);
+            batchNanos += System.nanoTime() - begin;
+
+            // 생성된 id가 모든 주문상품에 채워졌는지 확인
+            assertThat(batch.getOrderItems()).allSatisfy(oi -> assertThat(oi.getId()).isNotNull());
+        }
+
+        System.out.printf(">>> 주문상품 %4d개 저장: 한 건씩 %.3f ms, multi-row %.3f ms%n",
+                lines, singleNanos / 1_000_000.0 / ROUNDS, batchNanos / 1_000_000.0 / ROUNDS);
+    }
+
+    @ParameterizedTest(name = "주문상품 {0}개")
+    @ValueSource(ints = {1, 10, 50})
+    @DisplayName("주문 조회 - JOIN vs 배치 로딩 (단건, 20건 목록)")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 같은 SqlSession 의 1차 캐시에 걸리지 않도록 조회마다 새 세션
+    void loadOrderLines(int lines) {
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Orders order = new Orders();
+            order.setUserId(1L);
+            order.setOrderDate(LocalDateTime.now());
+            order.setTotalPrice(1000 * lines);
+            order.setStatus(OrderStatus.NEW);
+            order.setOrderItems(new ArrayList<>());
+            for (int l = 0; l < lines; l++) {
+                Items item = new Items(null, "상품" + i + "-" + l, 1000, 0);
+                itemRepository.save(item);
+                OrderItems oi = new OrderItems();
+                oi.setItemId(item.getId());
+                oi.setQuantity(1);
+                order.getOrderItems().add(oi);
+            }
+            orderRepository.save(order);
+            orderIds.add(order.getId());
+        }
+        Long detailId = orderIds.get(0);
+        OrderSearchRequest page = new OrderSearchRequest();
+
+        for (int i = 0; i < WARMUP * 10; i++) {
+            orderMapper.findByIdWithJoin(detailId);
+            orderRepository.findByIdWithItems(detailId);
+            orderIds.forEach(orderMapper::findByIdWithJoin);
+            orderRepository.search(page, null, 20);
+        }
+
+        int reads = ROUNDS * 10;
+        long joinDetail = 0, batchDetail = 0, joinList = 0, batchList = 0;
+        for (int i = 0; i < reads; i++) {
+            long begin = System.nanoTime();
+            orderMapper.findByIdWithJoin(detailId);
+            joinDetail += System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            orderRepository.findByIdWithItems(detailId);
+            batchDetail += System.nanoTime() - begin;
+
+            // 기존 목록 : 주문 목록 조회 후 주문마다 JOIN 단건 조회
+            begin = System.nanoTime();
+            orderIds.forEach(orderMapper::findByIdWithJoin);
+            joinList += System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            List<Orders> loaded = orderRepository.search(page, null, 20);
+            batchList += System.nanoTime() - begin;
+
+            assertThat(loaded).allSatisfy(order -> assertThat(order.getOrderItems()).hasSize(lines));
+        }
+
+        System.out.printf(">>> 주문상품 %2d개 - 단건: JOIN %.3f ms, 배치 %.3f ms / 20건 목록: 주문마다 JOIN %.3f ms, 배치 %.3f ms%n",
+                lines, joinDetail / 1_000_000.0 / reads, batchDetail / 1_000_000.0 / reads,
+                joinList / 1_000_000.0 / reads, batchList / 1_000_000.0 / reads);
+
+        orderRepository.deleteAll();
+    }
+
+    @ParameterizedTest(name = "주문상품 {0}개")
+    @ValueSource(ints = {1, 10, 50})
+    @DisplayName("주문 단건 응답 - 3테이블 JOIN 조회 + 직렬화 vs 저장해 둔 응답 문서 PK 조회")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 같은 SqlSession 의 1차 캐시에 걸리지 않도록 조회마다 새 세션
+    void orderDocumentRead(int lines) throws Exception {
+        List<OrderItemRequest> requests = new ArrayList<>();
+        for (int l = 0; l < lines; l++) {
+            Items item = new Items(null, "상품" + l, 1000, 10);
+            itemRepository.save(item);
+            requests.add(new OrderItemRequest(item.getId(), 1));
+        }
+        Long orderId = orderService.createOrder(new OrderCreateRequest(1L, requests)).getId();
+
+        for (int i = 0; i < WARMUP * 100; i++) {
+            objectMapper.writeValueAsString(orderMapper.findByIdWithJoin(orderId));
+            orderService.findOrderDocument(orderId);
+        }
+
+        int reads = ROUNDS * 100;
+        long joinNanos = 0, documentNanos = 0;
+        for (int i = 0; i < reads; i++) {
+            long begin = System.nanoTime();
+            String joined = objectMapper.writeValueAsString(orderMapper.findByIdWithJoin(orderId));
+            joinNanos += System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            String document = orderService.findOrderDocument(orderId);
+            documentNanos += System.nanoTime() - begin;
+
+            assertThat(document.length()).isPositive();
+            assertThat(joined.length()).isPositive();
+        }
+
+        System.out.printf(">>> 주문상품 %2d개 단건 응답: JOIN + 직렬화 %.3f ms, 응답 문서 %.3f ms%n",
+                lines, joinNanos / 1_000_000.0 / reads, documentNanos / 1_000_000.0 / reads);
+
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("주문 1만 건 배송 처리 - 주문마다 PUT /orders/{id} vs 일괄 상태 변경")
+    void bulkStatusTransition() {
+        int orders = 10_000;
+        Items item = new Items(null, "운동화", 1000, 0);
+        itemRepository.save(item);
+
+        List<Long> oneByOneIds = new ArrayList<>();
+        List<Long> bulkIds = new ArrayList<>();
+        for (int i = 0; i < orders; i++) {
+            Orders single = newOrder(item.getId(), 3);
+            orderRepository.save(single);
+            oneByOneIds.add(single.getId());
+
+            Orders batch = newOrder(item.getId(), 3);
+            orderRepository.save(batch);
+            bulkIds.add(batch.getId());
+        }
+
+        // 기존 방식 : 주문마다 (주문 + 주문상품 조회) + UPDATE
+        OrderUpdateRequest shipReq = new OrderUpdateRequest();
+        shipReq.setStatus("SHIPPED");
+        long begin = System.nanoTime();
+        for (Long orderId : oneByOneIds) {
+            orderService.updateOrderStatus(orderId, shipReq);
+        }
+        long oneByOneNanos = System.nanoTime() - begin;
+
+        begin = System.nanoTime();
+        OrderBulkStatusResponse shipped = orderService.updateOrderStatuses(bulkIds, "SHIPPED");
+        long bulkNanos = System.nanoTime() - begin;
+
+        // 일괄 취소 (주문상품 수량 합계로 재고 복구 포함) - 배송 처리한 주문은 취소할 수 없으므로 처음 방식으로 처리한 주문을 되돌린 뒤 측정
+        orderRepository.updateStatusByIds(oneByOneIds, EnumSet.of(OrderStatus.SHIPPED), OrderStatus.NEW);
+        begin = System.nanoTime();
+        OrderBulkStatusResponse cancelled = orderService.updateOrderStatuses(oneByOneIds, "CANCELLED");
+        long bulkCancelNanos = System.nanoTime() - begin;
+
+        assertThat(shipped.getUpdatedCount()).isEqualTo(orders);
+        assertThat(cancelled.getUpdatedCount()).isEqualTo(orders);
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getStockQuantity()).isEqualTo(orders * 3);
+
+        System.out.printf(">>> 주문 %d건 SHIPPED : 주문마다 %.1f ms, 일괄 %.1f ms / 일괄 CANCELLED(재고 복구) %.1f ms%n",
+                orders, oneByOneNanos / 1_000_000.0, bulkNanos / 1_000_000.0, bulkCancelNanos / 1_000_000.0);
+    }
+
+    @ParameterizedTest(name = "주문상품 {0}개")
+    @ValueSource(ints = {1, 10, 50, 200})
+    @DisplayName("주문 취소 지연 시간 - 라인마다 재고 UPDATE vs 상품별 합계 UPDATE 한 번")
+    void cancelOrder(int lines) {
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Items item = new Items(null, "취소 상품" + lines + "-" + i, 1000, 0);
+            itemRepository.save(item);
+            itemIds.add(item.getId());
+        }
+
+        for (int i = 0; i < WARMUP; i++) {
+            cancelLineByLine(saveOrder(itemIds, lines));
+            orderService.cancelOrder(saveOrder(itemIds, lines));
+        }
+
+        long lineNanos = 0;
+        long setNanos = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            Long lineOrderId = saveOrder(itemIds, lines);
+            long begin = System.nanoTime();
+            cancelLineByLine(lineOrderId);
+            lineNanos += System.nanoTime() - begin;
+
+            Long setOrderId = saveOrder(itemIds, lines);
+            begin = System.nanoTime();
+            orderService.cancelOrder(setOrderId);
+            setNanos += System.nanoTime() - begin;
+        }
+
+        System.out.printf(">>> 주문상품 %3d개 취소: 라인마다 UPDATE %.3f ms, 상품별 합계 UPDATE %.3f ms%n",
+                lines, lineNanos / 1_000_000.0 / ROUNDS, setNanos / 1_000_000.0 / ROUNDS);
+    }
+
+    // 기존 취소 방식 : 상품 IN 조회 후 라인마다 재고 UPDATE 한 번 + 상태 변경
+    private void cancelLineByLine(Long orderId) {
+        Orders order = orderRepository.findById(orderId);
+        Map<Long, Items> itemMap = itemRepository.findAllByIds(order.getOrderItems().stream()
+                        .map(OrderItems::getItemId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Items::getId, item -> item));
+        for (OrderItems oi : order.getOrderItems()) {
+            Items item = itemMap.get(oi.getItemId());
+            itemRepository.adjustStocks(Map.of(item.getId(), oi.getQuantity()));
+            item.setStockQuantity(item.getStockQuantity() + oi.getQuantity());
+        }
+        orderRepository.updateStatus(orderId, OrderStatus.CANCELLED);
+    }
+
+    // 상품들을 돌아가며 담은 주문 (같은 상품이 여러 라인에 나옴)
+    private Long saveOrder(List<Long> itemIds, int lines) {
+        Orders order = newOrder(itemIds.get(0), lines);
+        for (int l = 0; l < lines; l++) {
+            order.getOrderItems().get(l).setItemId(itemIds.get(l % itemIds.size()));
+        }
+        orderRepository.save(order);
+        return order.getId();
+    }
+
+    // 기존 방식 : 주문상품마다 INSERT 한 번
+    private void insertOneByOne(Orders order) {
+        orderMapper.insertOrder(order);
+        for (OrderItems oi : order.getOrderItems()) {
+            oi.setOrderId(order.getId());
+            orderMapper.insertOrderItem(oi);
+        }
+    }
+
+    private Orders newOrder(Long itemId, int lines) {
+        List<OrderItems> orderItems = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            OrderItems oi = new OrderItems();
+            oi.setItemId(itemId);
+            oi.setQuantity(1);
+            orderItems.add(oi);
+        }
+
+        Orders order = new Orders();
+        order.setUserId(1L);
+        order.setOrderDate(LocalDateTime.now());
+        order.setTotalPrice(1000 * lines);
+        order.setStatus(OrderStatus.NEW);
+        order.setOrderItems(orderItems);
+        return order;
+    }
+}
@@ -0,0 +1,301 @@
+package com.minishop.service;
+
+import com.minishop.domain.Items;
+import com.minishop.domain.Orders;
+import com.minishop.dto.item.ItemStockShardRequest;
+import com.minishop.dto.order.OrderCreateRequest;
+import com.minishop.dto.order.OrderItemRequest;
+import com.minishop.dto.order.OrderSearchRequest;
+import com.minishop.exception.AppException;
+import com.minishop.exception.ErrorCode;
+import com.minishop.repository.ItemRepository;
+import com.minishop.repository.OrderRepository;
+import com.minishop.support.QueryCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 여러 스레드가 동시에 주문하는 상황 검증
+ * 스레드마다 각자 트랜잭션을 커밋해야 하므로 클래스에 @Transactional을 붙이지 않는다.
+ */
+@SpringBootTest
+@Import(QueryCounter.class)
+class OrderConcurrencyTest {
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    OrderIdempotencyService orderIdempotencyService;
+
+    @Autowired
+    QueryCounter queryCounter;
+
+    @BeforeEach
+    @AfterEach
+    void clearDB() {
+        orderRepository.deleteAll();
+    }
+
+    @ParameterizedTest(name = "동시 구매자 {0}명")
+    @ValueSource(ints = {50, 200})
+    @DisplayName("핫 아이템 동시 주문 - 초과 판매 없음")
+    void concurrentOrders_NoOversell(int buyers) throws Exception {
+
+        // given : 구매자 수의 절반만큼만 재고 보유
+        int stock = buyers / 2;
+        Items item = new Items(null, "한정판 운동화", 10000, stock);
+        itemRepository.save(item);
+
+        // when
+        Result result = placeConcurrentOrders(item.getId(), buyers);
+
+        System.out.printf(">>> 동시 구매자 %d명: 성공 %d건, 재고 부족 %d건, %.1f ms, %.1f orders/sec%n",
+                buyers, result.success(), result.outOfStock(), result.millis(), result.ordersPerSec());
+
+        // then : 재고 수량만큼만 주문 성공, 재고는 음수가 되지 않음
+        assertThat(result.success()).isEqualTo(stock);
+        assertThat(result.outOfStock()).isEqualTo(buyers - stock);
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getStockQuantity()).isZero();
+    }
+
+    @Test
+    @DisplayName("같은 Idempotency-Key 로 동시 재시도 - 주문 1건, 재고 1번 차감")
+    void concurrentRetries_SameIdempotencyKey() throws Exception {
+
+        // given
+        int retries = 50;
+        Items item = new Items(null, "운동화", 10000, 10);
+        itemRepository.save(item);
+        OrderCreateRequest req = new OrderCreateRequest(1L, List.of(new OrderItemRequest(item.getId(), 2)));
+
+        // when : 같은 키로 동시에 요청
+        ExecutorService pool = Executors.newFixedThreadPool(retries);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Orders>> futures = new ArrayList<>();
+        for (int i = 0; i < retries; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return orderIdempotencyService.createOrder("retry-key", req);
+            }));
+        }
+        start.countDown();
+
+        Set<Long> orderIds = new HashSet<>();
+        for (Future<Orders> future : futures) {
+            orderIds.add(future.get(60, TimeUnit.SECONDS).getId());
+        }
+        pool.shutdown();
+
+        // then
+        assertThat(orderIds).hasSize(1);
+        assertThat(orderRepository.search(new OrderSearchRequest(), null, 10)).hasSize(1);
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getStockQuantity()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("수동 취소와 자동 취소가 동시에 - 재고는 한 번만 복구")
+    void concurrentManualAndStaleCancel_RestoreOnce() throws Exception {
+
+        // given : 주문 20건 (각 2개)
+        int orders = 20;
+        Items item = new Items(null, "운동화", 10000, orders * 2);
+        itemRepository.save(item);
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < orders; i++) {
+            orderIds.add(orderService.createOrder(new OrderCreateRequest(1L,
+                    List.of(new OrderItemRequest(item.getId(), 2)))).getId());
+        }
+
+        // when : 주문마다 수동 취소, 자동 취소를 동시에
+        ExecutorService pool = Executors.newFixedThreadPool(orders * 2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long orderId : orderIds) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    orderService.cancelOrder(orderId);
+                } catch (AppException e) {
+                    assertThat(e.getErrorCode()).isEqualTo(ErrorCode.ALREADY_CANCELLED);
+                }
+                return null;
+            }));
+            futures.add(pool.submit(() -> {
+                start.await();
+                return orderService.cancelStaleOrders(List.of(orderId), LocalDateTime.now().plusMinutes(1));
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // then : 복구된 재고는 주문 수량 합계 그대로
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getStockQuantity()).isEqualTo(orders * 2);
+    }
+
+    @Tag("benchmark")
+    @ParameterizedTest(name = "재고 샤드 {0}개")
+    @ValueSource(ints = {0, 1, 4, 16})
+    @DisplayName("핫 아이템 동시 주문 - 재고 샤드 개수별 처리량")
+    void concurrentOrders_ByStockShards(int shardCount) throws Exception {
+
+        // given : 재고는 충분하게, 재고 샤드 개수만 바꿔가며 측정
+        int buyers = 200;
+        Items item = new Items(null, "한정판 운동화", 10000, buyers * 10);
+        itemRepository.save(item);
+        itemService.changeStockShards(item.getId(), new ItemStockShardRequest(shardCount));
+
+        // when
+        Result result = placeConcurrentOrders(item.getId(), buyers);
+
+        System.out.printf(">>> 재고 샤드 %2d개: 동시 구매자 %d명, %.1f ms, %.1f orders/sec%n",
+                shardCount, buyers, result.millis(), result.ordersPerSec());
+
+        // then
+        assertThat(result.success()).isEqualTo(buyers);
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getStockQuantity())
+                .isEqualTo(buyers * 10 - buyers);
+    }
+
+    // buyers 명이 동시에 상품 1개씩 주문
+    @Test
+    @DisplayName("같은 주문 동시 조회 1000건 - 주문 조회 쿼리 한 번")
+    void concurrentFindOrder_SingleQuery() throws Exception {
+
+        // given
+        Items item = new Items(null, "운동화", 10000, 10);
+        itemRepository.save(item);
+        Orders order = orderService.createOrder(new OrderCreateRequest(1L,
+                List.of(new OrderItemRequest(item.getId(), 1))));
+
+        // when
+        List<Orders> found = lookupConcurrently(1000, "OrderMapper.findByIds",
+                () -> orderService.findOrder(order.getId()));
+
+        // then
+        assertThat(found).hasSize(1000).allSatisfy(o -> assertThat(o.getId()).isEqualTo(order.getId()));
+        assertThat(queryCounter.count("OrderMapper.findByIds")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 상품 동시 조회 1000건 - 상품 조회 쿼리 한 번")
+    void concurrentFindItem_SingleQuery() throws Exception {
+
+        Items item = new Items(null, "운동화", 10000, 10);
+        itemRepository.save(item);
+
+        List<Items> found = lookupConcurrently(1000, "ItemMapper.findById",
+                () -> itemService.findById(item.getId()));
+
+        assertThat(found).hasSize(1000).allSatisfy(i -> assertThat(i.getName()).isEqualTo("운동화"));
+        assertThat(queryCounter.count("ItemMapper.findById")).isEqualTo(1);
+    }
+
+    // threads 개 스레드가 동시에 lookup, 모든 스레드가 호출 직전까지 올 때까지 statement 실행을 멈춰 둠
+    private <T> List<T> lookupConcurrently(int threads, String statement, Callable<T> lookup) throws Exception {
+        queryCounter.clear();
+        CountDownLatch gate = new CountDownLatch(1);
+        queryCounter.holdUntil(statement, gate);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(pool.submit(() -> {
+                ready.countDown();
+                return lookup.call();
+            }));
+        }
+
+        ready.await(10, TimeUnit.SECONDS);
+        Thread.sleep(200);
+        gate.countDown();
+
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get(30, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+        return results;
+    }
+
+    private Result placeConcurrentOrders(Long itemId, int buyers) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(buyers);
+        CountDownLatch ready = new CountDownLatch(buyers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger outOfStock = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < buyers; i++) {
+            futures.add(pool.submit(() -> {
+                ready.countDown();
+                start.await();
+                try {
+                    orderService.createOrder(new OrderCreateRequest(
+                            1L, List.of(new OrderItemRequest(itemId, 1))));
+                    success.incrementAndGet();
+                } catch (AppException e) {
+                    if (e.getErrorCode() != ErrorCode.OUT_OF_STOCK) {
+                        throw e;
+                    }
+                    outOfStock.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        // 모든 스레드를 동시에 출발시킴
+        ready.await();
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+        pool.shutdown();
+
+        return new Result(success.get(), outOfStock.get(), elapsedNanos, buyers);
+    }
+
+    private record Result(int success, int outOfStock, long elapsedNanos, int buyers) {
+
+        double millis() {
+            return elapsedNanos / 1_000_000.0;
+        }
+
+        double ordersPerSec() {
+            return buyers * 1_000_000_000.0 / elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.minishop.service;
+
+import com.minishop.domain.Items;
+import com.minishop.domain.OrderStatus;
+import com.minishop.domain.Orders;
+import com.minishop.dto.order.OrderCreateRequest;
+import com.minishop.dto.order.OrderItemRequest;
+import com.minishop.repository.ItemRepository;
+import com.minishop.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 오래된 NEW 주문 자동 취소 검증
+ * 기본 설정에서는 꺼져 있으므로 (max-age-minutes=0) 테스트에서 유지 시간을 지정해 워커를 직접 만든다.
+ * 취소는 워커 스레드의 자체 트랜잭션으로 커밋되므로 @Transactional을 붙이지 않는다.
+ */
+@SpringBootTest
+class OrderExpiryWorkerTest {
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private OrderExpiryWorker worker;
+
+    @BeforeEach
+    @AfterEach
+    void clearDB() {
+        if (worker != null) {
+            worker.stop();
+        }
+        orderRepository.deleteAll();
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("유지 시간이 지난 NEW 주문만 취소하고 재고 복구")
+    void cancelExpiredOrders() throws InterruptedException {
+
+        // given : 1시간 전 주문 1건, 방금 주문 1건
+        Items item = new Items(null, "운동화", 50000, 10);
+        itemRepository.save(item);
+        Orders expired = orderService.createOrder(new OrderCreateRequest(1L, List.of(new OrderItemRequest(item.getId(), 2))));
+        Orders fresh = orderService.createOrder(new OrderCreateRequest(1L, List.of(new OrderItemRequest(item.getId(), 3))));
+        jdbcTemplate.update("UPDATE orders SET order_date = ? WHERE id = ?", LocalDateTime.now().minusHours(1), expired.getId());
+
+        // when : 유지 시간 30분으로 켬
+        worker = new OrderExpiryWorker(orderRepository, orderService, 30, 50, 500);
+        worker.start();
+        for (int i = 0; i < 100 && orderRepository.findById(expired.getId()).getStatus() == OrderStatus.NEW; i++) {
+            Thread.sleep(50);
+        }
+
+        // then
+        assertThat(orderRepository.findById(expired.getId()).getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(orderRepository.findById(fresh.getId()).getStatus()).isEqualTo(OrderStatus.NEW);
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getStockQuantity()).isEqualTo(7);
+    }
+}
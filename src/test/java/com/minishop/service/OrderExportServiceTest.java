@@ -0,0 +1,188 @@
+package com.minishop.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minishop.domain.Items;
+import com.minishop.domain.Orders;
+import com.minishop.dto.order.OrderCreateRequest;
+import com.minishop.dto.order.OrderItemRequest;
+import com.minishop.repository.ItemRepository;
+import com.minishop.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class OrderExportServiceTest {
+
+    @Autowired
+    OrderExportService orderExportService;
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearDB() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("주문 내보내기 - 한 줄에 주문 하나, 주문상품 포함")
+    void exportOrders() throws Exception {
+
+        // given
+        Items item1 = new Items(null, "운동화", 50000, 10);
+        Items item2 = new Items(null, "모자", 15000, 20);
+        itemRepository.save(item1);
+        itemRepository.save(item2);
+
+        Orders first = orderService.createOrder(new OrderCreateRequest(1L, List.of(
+                new OrderItemRequest(item1.getId(), 2),
+                new OrderItemRequest(item2.getId(), 1))));
+        Orders second = orderService.createOrder(new OrderCreateRequest(2L, List.of(
+                new OrderItemRequest(item2.getId(), 3))));
+
+        // when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = orderExportService.exportOrders(out);
+
+        // then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(exported).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+
+        JsonNode firstLine = objectMapper.readTree(lines[0]);
+        assertThat(firstLine.get("id").asLong()).isEqualTo(first.getId());
+        assertThat(firstLine.get("totalPrice").asInt()).isEqualTo(50000 * 2 + 15000);
+        assertThat(firstLine.get("status").asText()).isEqualTo("NEW");
+        assertThat(firstLine.get("orderItems")).hasSize(2);
+        assertThat(firstLine.get("orderItems").get(0).get("itemId").asLong()).isEqualTo(item1.getId());
+        assertThat(firstLine.get("orderItems").get(0).get("quantity").asInt()).isEqualTo(2);
+        assertThat(firstLine.get("orderItems").get(0).get("itemName").asText()).isEqualTo("운동화");
+        assertThat(firstLine.get("orderItems").get(0).get("unitPrice").asInt()).isEqualTo(50000);
+
+        JsonNode secondLine = objectMapper.readTree(lines[1]);
+        assertThat(secondLine.get("id").asLong()).isEqualTo(second.getId());
+        assertThat(secondLine.get("userId").asLong()).isEqualTo(2L);
+        assertThat(secondLine.get("orderItems")).hasSize(1);
+
+        // 스냅샷이 없는 주문상품(V4 이전 행)은 null
+        jdbcTemplate.update("UPDATE order_items SET item_name = NULL, unit_price = NULL WHERE order_id = ?", second.getId());
+        out.reset();
+        orderExportService.exportOrders(out);
+        JsonNode legacyLine = objectMapper.readTree(out.toString(StandardCharsets.UTF_8).split("\n")[1]).get("orderItems").get(0);
+        assertThat(legacyLine.get("itemName").isNull()).isTrue();
+        assertThat(legacyLine.get("unitPrice").isNull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("주문 내보내기 - 상태가 비어 있는 주문(V3 에서 알 수 없던 상태)은 status 를 null 로")
+    void exportOrders_NullStatus() throws Exception {
+
+        // given
+        Items item = new Items(null, "운동화", 50000, 10);
+        itemRepository.save(item);
+        Orders order = orderService.createOrder(new OrderCreateRequest(1L, List.of(new OrderItemRequest(item.getId(), 1))));
+        jdbcTemplate.update("UPDATE orders SET status = NULL WHERE id = ?", order.getId());
+
+        // when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = orderExportService.exportOrders(out);
+
+        // then
+        assertThat(exported).isEqualTo(1);
+        JsonNode line = objectMapper.readTree(out.toString(StandardCharsets.UTF_8).trim());
+        assertThat(line.get("id").asLong()).isEqualTo(order.getId());
+        assertThat(line.get("status").isNull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("주문 내보내기 - 회원 ID 가 없는 주문은 userId 를 null 로")
+    void exportOrders_NullUserId() throws Exception {
+
+        // given
+        Items item = new Items(null, "운동화", 50000, 10);
+        itemRepository.save(item);
+        Orders order = orderService.createOrder(new OrderCreateRequest(1L, List.of(new OrderItemRequest(item.getId(), 1))));
+        jdbcTemplate.update("UPDATE orders SET user_id = NULL WHERE id = ?", order.getId());
+
+        // when
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderExportService.exportOrders(out);
+
+        // then
+        JsonNode line = objectMapper.readTree(out.toString(StandardCharsets.UTF_8).trim());
+        assertThat(line.get("id").asLong()).isEqualTo(order.getId());
+        assertThat(line.get("userId").isNull()).isTrue();
+    }
+
+    @Tag("benchmark")
+    @Test
+    @DisplayName("주문 대량 내보내기 - 처리량과 힙/GC")
+    void benchmarkExport() throws Exception {
+        int orders = 500_000;
+
+        Items item = new Items(null, "운동화", 1000, 10);
+        itemRepository.save(item);
+        jdbcTemplate.update("INSERT INTO orders (user_id, order_date, total_price, status) "
+                + "SELECT MOD(X, 1000), CURRENT_TIMESTAMP, 2000, 0 FROM SYSTEM_RANGE(1, ?)", orders);
+        jdbcTemplate.update("INSERT INTO order_items (order_id, item_id, quantity) "
+                + "SELECT id, ?, 2 FROM orders", item.getId());
+
+        System.gc();
+        long heapBefore = usedHeap();
+        long gcBefore = gcCount();
+        long begin = System.nanoTime();
+
+        long exported = orderExportService.exportOrders(OutputStream.nullOutputStream());
+
+        long elapsed = System.nanoTime() - begin;
+        long gcAfter = gcCount();
+        System.gc();
+        long heapAfter = usedHeap();
+
+        System.out.printf(">>> 주문 %d건 내보내기 : %.1f orders/sec, GC %d회, 힙 %dMB → %dMB%n",
+                exported, exported * 1_000_000_000.0 / elapsed, gcAfter - gcBefore,
+                heapBefore / (1024 * 1024), heapAfter / (1024 * 1024));
+
+        assertThat(exported).isEqualTo(orders);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+                .sum();
+    }
+}
@@ -0,0 +1,148 @@
+package com.minishop.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minishop.domain.Items;
+import com.minishop.domain.Orders;
+import com.minishop.dto.order.OrderCreateRequest;
+import com.minishop.dto.order.OrderItemRequest;
+import com.minishop.dto.order.OrderSearchRequest;
+import com.minishop.exception.AppException;
+import com.minishop.exception.ErrorCode;
+import com.minishop.repository.IdempotencyKeyRepository;
+import com.minishop.repository.ItemRepository;
+import com.minishop.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class OrderIdempotencyServiceTest {
+
+    @Autowired
+    OrderIdempotencyService orderIdempotencyService;
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @BeforeEach
+    void clearDB() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("같은 키로 재시도 - 처음 주문을 그대로 반환, 재고는 한 번만 차감")
+    void retrySameKey() {
+        Items item = new Items(null, "운동화", 50000, 10);
+        itemRepository.save(item);
+        OrderCreateRequest req = new OrderCreateRequest(1L, List.of(new OrderItemRequest(item.getId(), 2)));
+
+        Orders first = orderIdempotencyService.createOrder("key-1", req);
+        Orders retry = orderIdempotencyService.createOrder("key-1", req);
+
+        assertThat(retry.getId()).isEqualTo(first.getId());
+        assertThat(orderRepository.search(new OrderSearchRequest(), null, 10)).hasSize(1);
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getStockQuantity()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("캐시에 없는 키 - 저장된 키로 주문을 조회해서 반환")
+    void retryAfterCacheEviction() {
+        Items item = new Items(null, "운동화", 50000, 10);
+        itemRepository.save(item);
+        OrderCreateRequest req = new OrderCreateRequest(1L, List.of(new OrderItemRequest(item.getId(), 2)));
+
+        Orders first = orderIdempotencyService.createOrder("key-1", req);
+
+        // 캐시가 비어 있는 새 인스턴스 (재시작 / 다른 서버)
+        OrderIdempotencyService restarted = new OrderIdempotencyService(orderService, idempotencyKeyRepository, objectMapper, 100, 60);
+        Orders retry = restarted.createOrder("key-1", req);
+
+        assertThat(retry.getId()).isEqualTo(first.getId());
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getStockQuantity()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("같은 키로 다른 주문 요청 - 실패")
+    void sameKeyDifferentRequest() {
+        Items item = new Items(null, "운동화", 50000, 10);
+        itemRepository.save(item);
+
+        orderIdempotencyService.createOrder("key-1",
+                new OrderCreateRequest(1L, List.of(new OrderItemRequest(item.getId(), 2))));
+
+        assertThatThrownBy(() -> orderIdempotencyService.createOrder("key-1",
+                new OrderCreateRequest(1L, List.of(new OrderItemRequest(item.getId(), 3)))))
+                .isInstanceOf(AppException.class)
+                .extracting("errorCode")
+                .isEqualTo(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+    }
+
+    @Test
+    @DisplayName("저장된 키와 비교 - 요청 본문 SHA-256 으로, 주문상품 순서만 다른 요청은 같은 요청")
+    void savedKey_ComparedByDigest() {
+        Items item1 = new Items(null, "운동화", 50000, 10);
+        Items item2 = new Items(null, "모자", 15000, 10);
+        itemRepository.save(item1);
+        itemRepository.save(item2);
+
+        Orders first = orderIdempotencyService.createOrder("key-1", new OrderCreateRequest(1L, List.of(
+                new OrderItemRequest(item1.getId(), 1),
+                new OrderItemRequest(item2.getId(), 2))));
+        assertThat(idempotencyKeyRepository.findByKey("key-1").orElseThrow().getRequestDigest()).hasSize(64);
+
+        // 캐시가 비어 있는 새 인스턴스 (저장된 digest 와 비교)
+        OrderIdempotencyService restarted = new OrderIdempotencyService(orderService, idempotencyKeyRepository, objectMapper, 100, 60);
+        Orders retry = restarted.createOrder("key-1", new OrderCreateRequest(1L, List.of(
+                new OrderItemRequest(item2.getId(), 2),
+                new OrderItemRequest(item1.getId(), 1))));
+        assertThat(retry.getId()).isEqualTo(first.getId());
+
+        assertThatThrownBy(() -> restarted.createOrder("key-1", new OrderCreateRequest(2L, List.of(
+                new OrderItemRequest(item1.getId(), 1),
+                new OrderItemRequest(item2.getId(), 2)))))
+                .isInstanceOf(AppException.class)
+                .extracting("errorCode")
+                .isEqualTo(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+    }
+
+    @Test
+    @DisplayName("실패한 요청은 저장하지 않음 - 같은 키로 다시 시도 가능")
+    void failedRequestCanBeRetried() {
+        Items item = new Items(null, "운동화", 50000, 1);
+        itemRepository.save(item);
+        OrderCreateRequest req = new OrderCreateRequest(1L, List.of(new OrderItemRequest(item.getId(), 2)));
+
+        assertThatThrownBy(() -> orderIdempotencyService.createOrder("key-1", req))
+                .isInstanceOf(AppException.class)
+                .hasMessageContaining("재고가 부족합니다");
+        assertThat(idempotencyKeyRepository.findByKey("key-1")).isEmpty();
+
+        // 재고 입고 후 같은 키로 재시도
+        itemRepository.adjustStocks(Map.of(item.getId(), 5));
+        Orders order = orderIdempotencyService.createOrder("key-1", req);
+
+        assertThat(order.getId()).isNotNull();
+        assertThat(idempotencyKeyRepository.findByKey("key-1").orElseThrow().getOrderId()).isEqualTo(order.getId());
+    }
+}
@@ -0,0 +1,85 @@
+package com.minishop.service;
+
+import com.minishop.domain.Items;
+import com.minishop.domain.OrderItems;
+import com.minishop.domain.Orders;
+import com.minishop.dto.order.OrderCreateRequest;
+import com.minishop.dto.order.OrderItemRequest;
+import com.minishop.repository.ItemRepository;
+import com.minishop.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class OrderLineSnapshotBackfillTest {
+
+    @Autowired
+    OrderLineSnapshotBackfill backfill;
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearDB() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("스냅샷 백필 - 비어 있는 주문상품만 현재 상품명/가격으로 채우고, 이미 있는 스냅샷은 그대로")
+    void backfillAll() throws InterruptedException {
+
+        // given : V4 이전에 저장된 것처럼 스냅샷을 비운 주문 하나와, 스냅샷이 있는 주문 하나
+        Items item1 = new Items(null, "운동화", 50000, 10);
+        Items item2 = new Items(null, "모자", 15000, 20);
+        itemRepository.save(item1);
+        itemRepository.save(item2);
+
+        Orders legacy = orderService.createOrder(new OrderCreateRequest(1L, List.of(
+                new OrderItemRequest(item1.getId(), 1),
+                new OrderItemRequest(item2.getId(), 1))));
+        Orders recent = orderService.createOrder(new OrderCreateRequest(2L, List.of(
+                new OrderItemRequest(item1.getId(), 1))));
+        jdbcTemplate.update("UPDATE order_items SET item_name = NULL, unit_price = NULL WHERE order_id = ?", legacy.getId());
+
+        item1.setPrice(60000);
+        itemRepository.update(item1);
+        String legacyETag = orderService.orderETag(legacy.getId(), false);
+        String recentETag = orderService.orderETag(recent.getId(), false);
+
+        // when
+        long filled = backfill.backfillAll();
+
+        // then : 채운 주문만 응답이 바뀌므로 ETag 도 그 주문만 바뀜
+        assertThat(filled).isEqualTo(2);
+        assertThat(orderService.orderETag(legacy.getId(), false)).isNotEqualTo(legacyETag);
+        assertThat(orderService.orderETag(recent.getId(), false)).isEqualTo(recentETag);
+        assertThat(orderService.findOrder(legacy.getId()).getOrderItems())
+                .extracting(OrderItems::getItemName, OrderItems::getUnitPrice)
+                .containsExactly(tuple("운동화", 60000), tuple("모자", 15000));
+        assertThat(orderService.findOrder(recent.getId()).getOrderItems())
+                .extracting(OrderItems::getUnitPrice)
+                .containsExactly(50000);
+
+        // 더 채울 것이 없으면 0
+        assertThat(backfill.backfillAll()).isZero();
+    }
+}
@@ -0,0 +1,211 @@
+package com.minishop.service;
+
+import com.minishop.domain.Items;
+import com.minishop.domain.Orders;
+import com.minishop.dto.order.OrderCreateRequest;
+import com.minishop.dto.order.OrderItemRequest;
+import com.minishop.dto.order.OrderSearchRequest;
+import com.minishop.exception.AppException;
+import com.minishop.exception.ErrorCode;
+import com.minishop.inventory.StockLedger;
+import com.minishop.repository.ItemRepository;
+import com.minishop.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 주문 group commit 파이프라인 검증
+ * 파이프라인이 자체 트랜잭션으로 커밋하므로 클래스에 @Transactional을 붙이지 않는다.
+ */
+@SpringBootTest
+class OrderPlacementPipelineTest {
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    StockLedger stockLedger;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    DataSource dataSource;
+
+    private OrderPlacementPipeline pipeline;
+
+    @BeforeEach
+    @AfterEach
+    void clearDB() {
+        orderRepository.deleteAll();
+    }
+
+    @AfterEach
+    void stopPipeline() {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("한 묶음 안에서 실패한 주문만 실패하고 나머지는 커밋")
+    void badOrderDoesNotFailBatch() {
+
+        // given : 묶음이 모이도록 대기 시간을 넉넉히
+        pipeline = startPipeline(64, 200);
+        Items item = new Items(null, "운동화", 10000, 5);
+        Items limited = new Items(null, "모자", 5000, 1);
+        itemRepository.save(item);
+        itemRepository.save(limited);
+
+        // when
+        CompletableFuture<Orders> ok1 = pipeline.submit(order(item.getId(), 2));
+        CompletableFuture<Orders> outOfStock = pipeline.submit(order(limited.getId(), 3));
+        CompletableFuture<Orders> notFound = pipeline.submit(order(99999L, 1));
+        CompletableFuture<Orders> ok2 = pipeline.submit(order(item.getId(), 3));
+
+        // then
+        assertThat(ok1.join().getId()).isNotNull();
+        assertThat(ok2.join().getId()).isNotNull();
+        assertThatThrownBy(outOfStock::join).hasCauseInstanceOf(AppException.class)
+                .cause().extracting("errorCode").isEqualTo(ErrorCode.OUT_OF_STOCK);
+        assertThatThrownBy(notFound::join).hasCauseInstanceOf(AppException.class)
+                .cause().extracting("errorCode").isEqualTo(ErrorCode.ITEM_NOT_FOUND);
+
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getStockQuantity()).isZero();
+        assertThat(itemRepository.findById(limited.getId()).orElseThrow().getStockQuantity()).isEqualTo(1);
+        assertThat(orderRepository.search(new OrderSearchRequest(), null, 10)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("묶음 재고 합계가 부족하면 주문마다 차감 - 재고만큼만 성공")
+    void batchOutOfStock_FallbackPerOrder() {
+
+        pipeline = startPipeline(64, 200);
+        Items item = new Items(null, "한정판 운동화", 10000, 3);
+        itemRepository.save(item);
+
+        List<CompletableFuture<Orders>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(pipeline.submit(order(item.getId(), 1)));
+        }
+
+        long success = results.stream().filter(result -> {
+            try {
+                result.join();
+                return true;
+            } catch (CompletionException e) {
+                return false;
+            }
+        }).count();
+
+        assertThat(success).isEqualTo(3);
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getStockQuantity()).isZero();
+    }
+
+    @Tag("benchmark")
+    @Test
+    @DisplayName("주문 처리량/p99 - 요청마다 커밋 vs group commit")
+    void benchmarkThroughput() throws Exception {
+        int clients = 64;
+        int ordersPerClient = 50;
+
+        pipeline = startPipeline(64, 2);
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Items item = new Items(null, "상품" + i, 1000, 1_000_000);
+            itemRepository.save(item);
+            itemIds.add(item.getId());
+        }
+
+        // 워밍업
+        run(clients, 5, itemIds, orderService::createOrder);
+        run(clients, 5, itemIds, pipeline::place);
+
+        Result direct = run(clients, ordersPerClient, itemIds, orderService::createOrder);
+        Result grouped = run(clients, ordersPerClient, itemIds, pipeline::place);
+
+        System.out.printf(">>> 요청마다 커밋 : %.1f orders/sec, p99 %.2f ms%n", direct.ordersPerSec(), direct.p99Millis());
+        System.out.printf(">>> group commit  : %.1f orders/sec, p99 %.2f ms%n", grouped.ordersPerSec(), grouped.p99Millis());
+    }
+
+    private OrderPlacementPipeline startPipeline(int maxBatchSize, long maxWaitMillis) {
+        OrderPlacementPipeline started = new OrderPlacementPipeline(orderService, itemRepository, stockLedger,
+                transactionManager, dataSource, true, maxBatchSize, maxWaitMillis, 4096);
+        started.start();
+        return started;
+    }
+
+    private OrderCreateRequest order(Long itemId, int quantity) {
+        return new OrderCreateRequest(1L, List.of(new OrderItemRequest(itemId, quantity)));
+    }
+
+    // clients 개 스레드가 각자 orders 건씩 순서대로 주문, 주문별 응답 시간 기록
+    private Result run(int clients, int orders, List<Long> itemIds,
+                       Function<OrderCreateRequest, Orders> placeOrder) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> futures = new ArrayList<>();
+
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            futures.add(pool.submit(() -> {
+                start.await();
+                long[] latencies = new long[orders];
+                for (int i = 0; i < orders; i++) {
+                    Long itemId = itemIds.get((client + i) % itemIds.size());
+                    long begin = System.nanoTime();
+                    placeOrder.apply(order(itemId, 1));
+                    latencies[i] = System.nanoTime() - begin;
+                }
+                return latencies;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        long[] all = new long[clients * orders];
+        int n = 0;
+        for (Future<long[]> future : futures) {
+            for (long latency : future.get(120, TimeUnit.SECONDS)) {
+                all[n++] = latency;
+            }
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+        pool.shutdown();
+
+        Arrays.sort(all);
+        return new Result(all.length, elapsedNanos, all[(int) Math.ceil(all.length * 0.99) - 1]);
+    }
+
+    private record Result(int orders, long elapsedNanos, long p99Nanos) {
+
+        double ordersPerSec() {
+            return orders * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        double p99Millis() {
+            return p99Nanos / 1_000_000.0;
+        }
+    }
+}
@@ -1,22 +1,35 @@
 package com.minishop.service;
 
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.minishop.domain.Items;
+import com.minishop.domain.OrderItems;
+import com.minishop.domain.OrderStatus;
 import com.minishop.domain.Orders;
 import com.minishop.dto.order.OrderCreateRequest;
 import com.minishop.dto.order.OrderItemRequest;
 import com.minishop.dto.order.OrderModifyRequest;
+import com.minishop.dto.order.OrderSearchRequest;
+import com.minishop.dto.order.OrderUpdateRequest;
 import com.minishop.exception.AppException;
 import com.minishop.repository.ItemRepository;
 import com.minishop.repository.OrderRepository;
+import com.minishop.response.OrderBulkStatusResponse;
 import com.minishop.response.OrderCancelResponse;
+import com.minishop.response.OrderPageResponse;
+import com.minishop.support.QueryCounter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -24,6 +37,7 @@ import static org.assertj.core.api.Assertions.*;
 
 @SpringBootTest
 @Transactional
+@Import(QueryCounter.class)
 class OrderServiceTest {
 
     @Autowired
@@ -35,6 +49,15 @@ class OrderServiceTest {
     @Autowired
     OrderRepository orderRepository;
 
+    @Autowired
+    QueryCounter queryCounter;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void clearDB() {
         orderRepository.deleteAll();
@@ -74,6 +97,29 @@ class OrderServiceTest {
     }
 
 
+    @Test
+    @DisplayName("주문 생성 - 주문 라인 수와 무관하게 상품 조회 쿼리는 1번")
+    void createOrder_ItemSelectQueryCount() {
+        // given : 장바구니 평균 크기인 15개 라인
+        List<OrderItemRequest> lines = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            Items item = new Items(null, "상품" + i, 1000, 10);
+            itemRepository.save(item);
+            lines.add(new OrderItemRequest(item.getId(), 1));
+        }
+
+        queryCounter.clear();
+
+        // when
+        orderService.createOrder(new OrderCreateRequest(1L, lines));
+
+        // then : 라인마다 findById 하지 않고 IN 쿼리 한 번으로 조회
+        assertThat(queryCounter.count("ItemMapper.findAllByIds")).isEqualTo(1);
+        assertThat(queryCounter.count("ItemMapper.findById")).isZero();
+        assertThat(queryCounter.selectCount()).isEqualTo(1);
+    }
+
+
     @Test
     @DisplayName("주문 수정 - 상품 수량 변경 - 성공 테스트")
     void modifyOrderSuccess() {
@@ -120,6 +166,45 @@ class OrderServiceTest {
         assertThat(updated.getOrderItems().get(1).getQuantity()).isEqualTo(3);
     }
 
+    @Test
+    @DisplayName("주문 수정 - 라인끼리 상품을 맞바꿔도 순 변화량으로 재고 검증 - 성공 테스트")
+    void modifyOrder_SwapItemsBetweenLines() {
+
+        // given : 주문 후 두 상품 모두 재고 0
+        Items item1 = new Items(null, "운동화", 50000, 2);
+        Items item2 = new Items(null, "모자", 15000, 1);
+        itemRepository.save(item1);
+        itemRepository.save(item2);
+
+        Orders order = orderService.createOrder(new OrderCreateRequest(1L, List.of(
+                new OrderItemRequest(item1.getId(), 2),
+                new OrderItemRequest(item2.getId(), 1)
+        )));
+
+        // 라인1 : 운동화 2 → 모자 1 , 라인2 : 모자 1 → 운동화 2 (상품별 순 변화량은 0)
+        OrderModifyRequest modifyReq = new OrderModifyRequest();
+        modifyReq.setItems(List.of(
+                new OrderModifyRequest.OrderModifyItem(
+                        order.getOrderItems().get(0).getId(), item2.getId(), 1),
+                new OrderModifyRequest.OrderModifyItem(
+                        order.getOrderItems().get(1).getId(), item1.getId(), 2)
+        ));
+
+        queryCounter.clear();
+
+        // when
+        Orders updated = orderService.modifyOrder(order.getId(), modifyReq);
+
+        // then : 중간 재고 검사로 실패하지 않고, 재고는 그대로
+        assertThat(updated.getTotalPrice()).isEqualTo(50000 * 2 + 15000);
+        assertThat(itemRepository.findById(item1.getId()).orElseThrow().getStockQuantity()).isZero();
+        assertThat(itemRepository.findById(item2.getId()).orElseThrow().getStockQuantity()).isZero();
+
+        // 주문은 처음에 한 번만 조회하고 응답을 위해 다시 조회하지 않음
+        assertThat(queryCounter.count("OrderMapper.findByIds")).isEqualTo(1);
+        assertThat(queryCounter.count("OrderMapper.updateOrderItems")).isEqualTo(1);
+    }
+
     @Test
     @DisplayName("주문 수정 후 totalPrice 변경 검증")
     void modifyOrder_Check_TotalPriceChanged() {
@@ -145,8 +230,8 @@ class OrderServiceTest {
     }
 
     @Test
-    @DisplayName("전체 주문 조회 - 성공 테스트")
-    void findAllOrdersSuccess() {
+    @DisplayName("주문 목록 조회 - 성공 테스트")
+    void searchOrdersSuccess() {
 
         Items item = new Items(null, "운동화", 50000, 10);
         itemRepository.save(item);
@@ -155,13 +240,145 @@ class OrderServiceTest {
                 1L, List.of(new OrderItemRequest(item.getId(), 2))
         ));
 
-        List<Orders> orders = orderRepository.findAll();
+        List<Orders> orders = orderService.searchOrders(new OrderSearchRequest()).getOrders();
 
         assertThat(orders.size()).isEqualTo(1);
         assertThat(orders.get(0)).isNotNull();
 
     }
 
+    @Test
+    @DisplayName("주문 검색 - cursor 로 끝까지 넘기면 중복/누락 없이 최신순")
+    void searchOrders_KeysetPaging() {
+
+        // given : 같은 시각에 생성된 주문도 id 로 구분되어야 함
+        Items item = new Items(null, "운동화", 1000, 100);
+        itemRepository.save(item);
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            created.add(orderService.createOrder(new OrderCreateRequest(
+                    1L, List.of(new OrderItemRequest(item.getId(), 1)))).getId());
+        }
+
+        // when : 3건씩 넘김
+        List<Orders> all = new ArrayList<>();
+        OrderSearchRequest req = new OrderSearchRequest();
+        req.setSize(3);
+        int pages = 0;
+        do {
+            OrderPageResponse page = orderService.searchOrders(req);
+            all.addAll(page.getOrders());
+            req.setCursor(page.getNextCursor());
+            pages++;
+        } while (req.getCursor() != null);
+
+        // then
+        assertThat(pages).isEqualTo(3);
+        assertThat(all).extracting(Orders::getId).containsExactlyInAnyOrderElementsOf(created);
+        for (int i = 1; i < all.size(); i++) {
+            Orders prev = all.get(i - 1);
+            Orders cur = all.get(i);
+            assertThat(!cur.getOrderDate().isAfter(prev.getOrderDate())).isTrue();
+            if (cur.getOrderDate().isEqual(prev.getOrderDate())) {
+                assertThat(cur.getId()).isLessThan(prev.getId());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("주문 조회 - 주문 수/주문상품 수와 관계없이 주문, 주문상품 쿼리 한 번씩 (상품명은 스냅샷, 상품은 읽지 않음)")
+    void findOrders_BatchLoadLines() {
+
+        // given
+        Items item1 = new Items(null, "운동화", 50000, 100);
+        Items item2 = new Items(null, "모자", 15000, 100);
+        itemRepository.save(item1);
+        itemRepository.save(item2);
+        for (int i = 0; i < 5; i++) {
+            orderService.createOrder(new OrderCreateRequest(1L, List.of(
+                    new OrderItemRequest(item1.getId(), 1),
+                    new OrderItemRequest(item2.getId(), 2))));
+        }
+
+        // when
+        queryCounter.clear();
+        List<Orders> orders = orderService.searchOrders(new OrderSearchRequest()).getOrders();
+
+        // then
+        assertThat(orders).hasSize(5).allSatisfy(order -> {
+            assertThat(order.getOrderItems()).hasSize(2);
+            assertThat(order.getOrderItems()).extracting(OrderItems::getItemName)
+                    .containsExactly("운동화", "모자");
+        });
+        assertThat(queryCounter.count("OrderMapper.searchOrders")).isEqualTo(1);
+        assertThat(queryCounter.count("OrderMapper.findOrderItemsByOrderIds")).isEqualTo(1);
+        assertThat(queryCounter.count("ItemMapper.findAllByIds")).isZero();
+        assertThat(queryCounter.selectCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("주문 검색 - 사용자/상태/기간/총액 조건")
+    void searchOrders_Filters() {
+
+        Items item = new Items(null, "운동화", 1000, 100);
+        itemRepository.save(item);
+        Orders small = orderService.createOrder(new OrderCreateRequest(1L, List.of(new OrderItemRequest(item.getId(), 1))));
+        Orders large = orderService.createOrder(new OrderCreateRequest(1L, List.of(new OrderItemRequest(item.getId(), 5))));
+        Orders other = orderService.createOrder(new OrderCreateRequest(2L, List.of(new OrderItemRequest(item.getId(), 3))));
+        orderService.cancelOrder(large.getId());
+
+        OrderSearchRequest byUser = new OrderSearchRequest();
+        byUser.setUserId(1L);
+        assertThat(orderService.searchOrders(byUser).getOrders())
+                .extracting(Orders::getId).containsExactlyInAnyOrder(small.getId(), large.getId());
+
+        OrderSearchRequest byStatus = new OrderSearchRequest();
+        byStatus.setStatus("CANCELLED");
+        assertThat(orderService.searchOrders(byStatus).getOrders())
+                .extracting(Orders::getId).containsExactly(large.getId());
+
+        OrderSearchRequest byPrice = new OrderSearchRequest();
+        byPrice.setMinTotalPrice(2000);
+        byPrice.setMaxTotalPrice(4000);
+        assertThat(orderService.searchOrders(byPrice).getOrders())
+                .extracting(Orders::getId).containsExactly(other.getId());
+
+        OrderSearchRequest byDate = new OrderSearchRequest();
+        byDate.setFromDate(LocalDateTime.now().plusDays(1));
+        byDate.setToDate(LocalDateTime.now().plusDays(2));
+        OrderPageResponse empty = orderService.searchOrders(byDate);
+        assertThat(empty.getOrders()).isEmpty();
+        assertThat(empty.isHasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("주문 검색 - 잘못된 cursor/상태/size 는 예외, size 는 최대값으로 제한")
+    void searchOrders_InvalidRequest() {
+
+        OrderSearchRequest badCursor = new OrderSearchRequest();
+        badCursor.setCursor("not-a-cursor");
+        assertThatThrownBy(() -> orderService.searchOrders(badCursor)).isInstanceOf(AppException.class);
+
+        OrderSearchRequest badStatus = new OrderSearchRequest();
+        badStatus.setStatus("UNKNOWN");
+        assertThatThrownBy(() -> orderService.searchOrders(badStatus)).isInstanceOf(AppException.class);
+
+        OrderSearchRequest zeroSize = new OrderSearchRequest();
+        zeroSize.setSize(0);
+        assertThatThrownBy(() -> orderService.searchOrders(zeroSize)).isInstanceOf(AppException.class);
+
+        Items item = new Items(null, "운동화", 1000, 1000);
+        itemRepository.save(item);
+        for (int i = 0; i < 101; i++) {
+            orderService.createOrder(new OrderCreateRequest(1L, List.of(new OrderItemRequest(item.getId(), 1))));
+        }
+        OrderSearchRequest hugeSize = new OrderSearchRequest();
+        hugeSize.setSize(10_000);
+        OrderPageResponse page = orderService.searchOrders(hugeSize);
+        assertThat(page.getOrders()).hasSize(100);
+        assertThat(page.isHasNext()).isTrue();
+    }
+
     @Test
     @DisplayName("주문 단건 조회 - 성공 테스트")
     void findOrderSuccess() {
@@ -194,6 +411,212 @@ class OrderServiceTest {
         assertThat(found.getTotalPrice()).isEqualTo(50000 * 2 + 15000);
     }
 
+    @Test
+    @DisplayName("주문 조회 - 주문상품에 주문 시점 상품명/단가 스냅샷, 상품 가격이 바뀌어도 그대로이고 liveStock 일 때만 상품을 읽음")
+    void findOrder_LineSnapshot() {
+
+        // given
+        Items item = new Items(null, "운동화", 50000, 10);
+        itemRepository.save(item);
+        Orders saved = orderService.createOrder(new OrderCreateRequest(1L, List.of(new OrderItemRequest(item.getId(), 2))));
+
+        item.setName("운동화 (리뉴얼)");
+        item.setPrice(70000);
+        itemRepository.update(item);
+
+        // when
+        queryCounter.clear();
+        Orders found = orderService.findOrder(saved.getId());
+
+        // then
+        OrderItems line = found.getOrderItems().get(0);
+        assertThat(line.getItemName()).isEqualTo("운동화");
+        assertThat(line.getUnitPrice()).isEqualTo(50000);
+        assertThat(line.getItem()).isNull();
+        assertThat(queryCounter.count("ItemMapper.findAllByIds")).isZero();
+
+        // 현재 재고가 필요하면 상품까지
+        OrderItems live = orderService.findOrder(saved.getId(), true).getOrderItems().get(0);
+        assertThat(live.getUnitPrice()).isEqualTo(50000);
+        assertThat(live.getItem().getPrice()).isEqualTo(70000);
+        assertThat(live.getItem().getStockQuantity()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("주문 수정 - 금액은 라인의 스냅샷 단가 기준, 상품을 바꾼 라인만 지금 가격으로")
+    void modifyOrder_UsesSnapshotPrice() {
+
+        // given : 주문 후 두 상품 모두 가격 인상
+        Items item1 = new Items(null, "운동화", 50000, 10);
+        Items item2 = new Items(null, "모자", 15000, 20);
+        Items item3 = new Items(null, "양말", 3000, 20);
+        itemRepository.save(item1);
+        itemRepository.save(item2);
+        itemRepository.save(item3);
+        Orders order = orderService.createOrder(new OrderCreateRequest(1L, List.of(
+                new OrderItemRequest(item1.getId(), 1),
+                new OrderItemRequest(item2.getId(), 1))));
+
+        item1.setPrice(60000);
+        itemRepository.update(item1);
+        item2.setPrice(20000);
+        itemRepository.update(item2);
+
+        // when : 라인1 수량만 2로, 라인2 는 양말로 변경
+        OrderModifyRequest modifyReq = new OrderModifyRequest();
+        modifyReq.setItems(List.of(
+                new OrderModifyRequest.OrderModifyItem(order.getOrderItems().get(0).getId(), item1.getId(), 2),
+                new OrderModifyRequest.OrderModifyItem(order.getOrderItems().get(1).getId(), item3.getId(), 1)));
+        Orders updated = orderService.modifyOrder(order.getId(), modifyReq);
+
+        // then
+        assertThat(updated.getTotalPrice()).isEqualTo(50000 * 2 + 3000);
+        List<OrderItems> lines = orderService.findOrder(order.getId()).getOrderItems();
+        assertThat(lines).extracting(OrderItems::getItemName, OrderItems::getUnitPrice)
+                .containsExactly(tuple("운동화", 50000), tuple("양말", 3000));
+    }
+
+    @Test
+    @DisplayName("주문 ETag - 기본 응답은 주문이 바뀔 때만, liveStock 응답은 주문상품의 상품이 바뀔 때도 바뀌고, 주문/주문상품 행 전체는 읽지 않음")
+    void orderETag() {
+
+        // given
+        Items item = new Items(null, "운동화", 50000, 10);
+        itemRepository.save(item);
+        Orders saved = orderService.createOrder(new OrderCreateRequest(1L, List.of(new OrderItemRequest(item.getId(), 2))));
+
+        // when
+        queryCounter.clear();
+        String first = orderService.orderETag(saved.getId(), false);
+        String firstLive = orderService.orderETag(saved.getId(), true);
+
+        // then : 바뀐 게 없으면 같은 ETag
+        assertThat(orderService.orderETag(saved.getId(), false)).isEqualTo(first);
+        assertThat(orderService.orderETag(saved.getId(), true)).isEqualTo(firstLive);
+        assertThat(queryCounter.count("OrderMapper.findByIds")).isZero();
+        assertThat(queryCounter.count("OrderMapper.findOrderItemsByOrderIds")).isZero();
+
+        // 상품 재고가 바뀌면 liveStock 응답의 상품 정보만 바뀜
+        itemRepository.decreaseStock(item.getId(), 1);
+        String afterStock = orderService.orderETag(saved.getId(), false);
+        String afterStockLive = orderService.orderETag(saved.getId(), true);
+        assertThat(afterStock).isEqualTo(first);
+        assertThat(afterStockLive).isNotEqualTo(firstLive);
+
+        // 주문 상태가 바뀌면 둘 다 다른 ETag
+        OrderUpdateRequest shipReq = new OrderUpdateRequest();
+        shipReq.setStatus("SHIPPED");
+        orderService.updateOrderStatus(saved.getId(), shipReq);
+        assertThat(orderService.orderETag(saved.getId(), false)).isNotEqualTo(afterStock);
+        assertThat(orderService.orderETag(saved.getId(), true)).isNotEqualTo(afterStockLive);
+
+        // 없는 주문
+        assertThat(orderService.orderETag(99999L, false)).isNull();
+    }
+
+    @Test
+    @DisplayName("주문 응답 문서 - 주문을 만들 때 저장하고, 조회는 문서 PK 조회 한 번 (주문/주문상품 매핑 없음)")
+    void findOrderDocument() throws Exception {
+
+        // given
+        Items item1 = new Items(null, "운동화", 50000, 10);
+        Items item2 = new Items(null, "모자", 15000, 20);
+        itemRepository.save(item1);
+        itemRepository.save(item2);
+        Orders saved = orderService.createOrder(new OrderCreateRequest(1L, List.of(
+                new OrderItemRequest(item1.getId(), 2),
+                new OrderItemRequest(item2.getId(), 1))));
+
+        // when
+        queryCounter.clear();
+        String document = orderService.findOrderDocument(saved.getId());
+
+        // then : 주문/주문상품을 읽어 직렬화한 것과 같은 JSON
+        assertThat(queryCounter.count("OrderMapper.findDocument")).isEqualTo(1);
+        assertThat(queryCounter.selectCount()).isEqualTo(1);
+        assertThat(objectMapper.readTree(document)).isEqualTo(expectedDocument(saved.getId()));
+        assertThat(objectMapper.readTree(document).get("orderItems")).extracting(line -> line.get("itemName").asText())
+                .containsExactly("운동화", "모자");
+
+        // 없는 주문
+        assertThatThrownBy(() -> orderService.findOrderDocument(99999L)).isInstanceOf(AppException.class);
+    }
+
+    @Test
+    @DisplayName("주문 응답 문서 - 상태 변경/수정/취소는 같은 트랜잭션에서 문서를 다시 써서 조회가 바로 새 문서를 읽음")
+    void findOrderDocument_RewrittenOnChange() throws Exception {
+
+        // given
+        Items item1 = new Items(null, "운동화", 50000, 10);
+        Items item2 = new Items(null, "모자", 15000, 20);
+        itemRepository.save(item1);
+        itemRepository.save(item2);
+        Orders saved = orderService.createOrder(new OrderCreateRequest(1L, List.of(
+                new OrderItemRequest(item1.getId(), 2))));
+
+        // 수정 : 운동화 2 → 모자 3 (응답의 item 은 문서에 들어가지 않음)
+        OrderModifyRequest modifyReq = new OrderModifyRequest();
+        modifyReq.setItems(List.of(new OrderModifyRequest.OrderModifyItem(
+                saved.getOrderItems().get(0).getId(), item2.getId(), 3)));
+        Orders modified = orderService.modifyOrder(saved.getId(), modifyReq);
+        assertThat(modified.getVersion()).isEqualTo(saved.getVersion() + 1); // 수정 한 번에 버전도 한 번만
+        assertDocumentServedAsStored(saved.getId());
+        assertThat(objectMapper.readTree(orderService.findOrderDocument(saved.getId())).get("version").asLong())
+                .isEqualTo(modified.getVersion());
+
+        // 상태 변경
+        OrderUpdateRequest updateReq = new OrderUpdateRequest();
+        updateReq.setStatus("NEW");
+        orderService.updateOrderStatus(saved.getId(), updateReq);
+        assertDocumentServedAsStored(saved.getId());
+
+        // 취소
+        orderService.cancelOrder(saved.getId());
+        assertDocumentServedAsStored(saved.getId());
+        assertThat(objectMapper.readTree(orderService.findOrderDocument(saved.getId())).get("status").asText())
+                .isEqualTo("CANCELLED");
+    }
+
+    @Test
+    @DisplayName("주문 응답 문서 - 일괄 상태 변경처럼 문서를 쓰지 않은 변경은 버전이 달라 다음 조회에서 한 번 다시 만듦")
+    void findOrderDocument_RebuildsStaleDocument() throws Exception {
+
+        // given
+        Items item = new Items(null, "운동화", 50000, 10);
+        itemRepository.save(item);
+        Orders saved = orderService.createOrder(new OrderCreateRequest(1L, List.of(new OrderItemRequest(item.getId(), 1))));
+        orderService.updateOrderStatuses(List.of(saved.getId()), "SHIPPED");
+
+        // when
+        queryCounter.clear();
+        String rebuilt = orderService.findOrderDocument(saved.getId());
+
+        // then : 예전 문서는 읽지 않고 주문에서 다시 만들어 저장
+        assertThat(objectMapper.readTree(rebuilt).get("status").asText()).isEqualTo("SHIPPED");
+        assertThat(objectMapper.readTree(rebuilt)).isEqualTo(expectedDocument(saved.getId()));
+        assertThat(queryCounter.count("OrderMapper.findByIds")).isEqualTo(1);
+        assertThat(queryCounter.count("OrderMapper.saveDocument")).isEqualTo(1);
+
+        // 그다음부터는 문서만
+        assertDocumentServedAsStored(saved.getId());
+    }
+
+    // 문서를 다시 만들지 않고 저장된 문서를 읽었고, 주문을 읽어 만든 것과 같은지
+    private void assertDocumentServedAsStored(Long orderId) throws Exception {
+        queryCounter.clear();
+        String document = orderService.findOrderDocument(orderId);
+        assertThat(queryCounter.selectCount()).isEqualTo(1);
+        assertThat(queryCounter.count("OrderMapper.saveDocument")).isZero();
+        assertThat(objectMapper.readTree(document)).isEqualTo(expectedDocument(orderId));
+    }
+
+    // 주문/주문상품을 읽어서 응답 형태로 직렬화 (문서에는 현재 상품 정보 item 이 없음)
+    private JsonNode expectedDocument(Long orderId) {
+        ObjectNode expected = objectMapper.valueToTree(orderService.findOrder(orderId));
+        expected.get("orderItems").forEach(line -> ((ObjectNode) line).remove("item"));
+        return expected;
+    }
+
     @Test
     @DisplayName("주문 취소 - 성공 테스트 (재고 복구 + 상태 변경 + 응답 검증)")
     void cancelOrderSuccess() {
@@ -257,7 +680,207 @@ class OrderServiceTest {
 
         // 6. THEN: 주문 상태가 CANCELLED인지 검증
         Orders cancelledOrder = orderRepository.findById(order.getId());
-        assertThat(cancelledOrder.getStatus()).isEqualTo("CANCELLED");
+        assertThat(cancelledOrder.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("오래된 NEW 주문 일괄 취소 - NEW 주문만 취소하고 상품별 재고 복구")
+    void cancelStaleOrdersSuccess() {
+
+        // given : 주문 3건 중 1건은 배송 중
+        Items item1 = new Items(null, "운동화", 50000, 10);
+        Items item2 = new Items(null, "모자", 15000, 20);
+        itemRepository.save(item1);
+        itemRepository.save(item2);
+
+        Orders order1 = orderService.createOrder(new OrderCreateRequest(1L, List.of(
+                new OrderItemRequest(item1.getId(), 2),
+                new OrderItemRequest(item2.getId(), 1))));
+        Orders order2 = orderService.createOrder(new OrderCreateRequest(1L, List.of(
+                new OrderItemRequest(item1.getId(), 3))));
+        Orders shipped = orderService.createOrder(new OrderCreateRequest(1L, List.of(
+                new OrderItemRequest(item1.getId(), 1))));
+        OrderUpdateRequest shipReq = new OrderUpdateRequest();
+        shipReq.setStatus("SHIPPED");
+        orderService.updateOrderStatus(shipped.getId(), shipReq);
+
+        // when
+        int cancelled = orderService.cancelStaleOrders(
+                List.of(order1.getId(), order2.getId(), shipped.getId()), LocalDateTime.now().plusSeconds(1));
+
+        // then
+        assertThat(cancelled).isEqualTo(2);
+        assertThat(orderRepository.findById(order1.getId()).getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(orderRepository.findById(order2.getId()).getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(orderRepository.findById(shipped.getId()).getStatus()).isEqualTo(OrderStatus.SHIPPED);
+        assertThat(itemRepository.findById(item1.getId()).orElseThrow().getStockQuantity()).isEqualTo(9);
+        assertThat(itemRepository.findById(item2.getId()).orElseThrow().getStockQuantity()).isEqualTo(20);
+
+        // cutoff 이후에 생성된 주문은 취소하지 않음
+        Orders fresh = orderService.createOrder(new OrderCreateRequest(1L, List.of(
+                new OrderItemRequest(item2.getId(), 1))));
+        assertThat(orderService.cancelStaleOrders(List.of(fresh.getId()), LocalDateTime.now().minusMinutes(30)))
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("주문 일괄 상태 변경 - SELECT 한 번 + UPDATE 한 번, 바꿀 수 없는 주문은 주문별 결과로 응답")
+    void updateOrderStatuses() {
+
+        // given : NEW 2건, 취소된 주문 1건
+        Items item = new Items(null, "운동화", 50000, 10);
+        itemRepository.save(item);
+        Orders order1 = orderService.createOrder(new OrderCreateRequest(1L, List.of(new OrderItemRequest(item.getId(), 1))));
+        Orders order2 = orderService.createOrder(new OrderCreateRequest(1L, List.of(new OrderItemRequest(item.getId(), 2))));
+        Orders cancelled = orderService.createOrder(new OrderCreateRequest(1L, List.of(new OrderItemRequest(item.getId(), 3))));
+        orderService.cancelOrder(cancelled.getId());
+
+        // when
+        queryCounter.clear();
+        OrderBulkStatusResponse response = orderService.updateOrderStatuses(
+                List.of(order1.getId(), cancelled.getId(), 99999L, order2.getId(), order1.getId()), "SHIPPED");
+
+        // then : 중복 ID 는 한 번만, 요청 순서대로
+        assertThat(response.getUpdatedCount()).isEqualTo(2);
+        assertThat(response.getResults())
+                .extracting(OrderBulkStatusResponse.OrderResult::getOrderId,
+                        OrderBulkStatusResponse.OrderResult::isUpdated,
+                        OrderBulkStatusResponse.OrderResult::getErrorCode)
+                .containsExactly(
+                        tuple(order1.getId(), true, null),
+                        tuple(cancelled.getId(), false, "ALREADY_CANCELLED"),
+                        tuple(99999L, false, "ORDER_NOT_FOUND"),
+                        tuple(order2.getId(), true, null));
+
+        assertThat(queryCounter.count("OrderMapper.findStatusesForUpdate")).isEqualTo(1);
+        assertThat(queryCounter.count("OrderMapper.updateOrderStatusByIds")).isEqualTo(1);
+        assertThat(queryCounter.count("OrderMapper.findByIds")).isZero();
+
+        assertThat(orderRepository.findById(order1.getId()).getStatus()).isEqualTo(OrderStatus.SHIPPED);
+        assertThat(orderRepository.findById(order2.getId()).getStatus()).isEqualTo(OrderStatus.SHIPPED);
+        assertThat(orderRepository.findById(cancelled.getId()).getStatus()).isEqualTo(OrderStatus.CANCELLED);
+
+        // 배송 중인 주문은 NEW 로 되돌릴 수 없음
+        OrderBulkStatusResponse back = orderService.updateOrderStatuses(List.of(order1.getId()), "NEW");
+        assertThat(back.getUpdatedCount()).isZero();
+        assertThat(back.getResults().get(0).getErrorCode()).isEqualTo("INVALID_STATUS_TRANSITION");
+    }
+
+    @Test
+    @DisplayName("주문 일괄 취소 - 취소한 주문들의 상품별 수량 합계로 재고 복구")
+    void updateOrderStatuses_CancelRestoresStock() {
+
+        // given
+        Items item1 = new Items(null, "운동화", 50000, 10);
+        Items item2 = new Items(null, "모자", 15000, 20);
+        itemRepository.save(item1);
+        itemRepository.save(item2);
+
+        Orders order1 = orderService.createOrder(new OrderCreateRequest(1L, List.of(
+                new OrderItemRequest(item1.getId(), 2),
+                new OrderItemRequest(item2.getId(), 1))));
+        Orders order2 = orderService.createOrder(new OrderCreateRequest(1L, List.of(
+                new OrderItemRequest(item1.getId(), 3))));
+        Orders shipped = orderService.createOrder(new OrderCreateRequest(1L, List.of(
+                new OrderItemRequest(item1.getId(), 1))));
+        orderService.updateOrderStatuses(List.of(shipped.getId()), "SHIPPED");
+
+        // when
+        queryCounter.clear();
+        OrderBulkStatusResponse response = orderService.updateOrderStatuses(
+                List.of(order1.getId(), order2.getId(), shipped.getId()), "CANCELLED");
+
+        // then : 배송 중인 주문은 취소되지 않고 재고도 그대로
+        assertThat(response.getUpdatedCount()).isEqualTo(2);
+        assertThat(response.getResults().get(2).getErrorCode()).isEqualTo("INVALID_STATUS_TRANSITION");
+        assertThat(queryCounter.count("OrderMapper.sumQuantitiesByItem")).isEqualTo(1);
+
+        assertThat(itemRepository.findById(item1.getId()).orElseThrow().getStockQuantity()).isEqualTo(9);
+        assertThat(itemRepository.findById(item2.getId()).orElseThrow().getStockQuantity()).isEqualTo(20);
+        assertThat(orderRepository.findById(shipped.getId()).getStatus()).isEqualTo(OrderStatus.SHIPPED);
+    }
+
+    @Test
+    @DisplayName("상태가 비어 있는 주문(V3 에서 알 수 없던 상태) - 없는 주문이 아니라 바꿀 수 없는 주문으로 거부")
+    void updateOrderStatus_NullStatus() {
+
+        // given
+        Items item = new Items(null, "운동화", 50000, 10);
+        itemRepository.save(item);
+        Orders order = orderService.createOrder(new OrderCreateRequest(1L, List.of(new OrderItemRequest(item.getId(), 1))));
+        jdbcTemplate.update("UPDATE orders SET status = NULL WHERE id = ?", order.getId());
+
+        // when & then
+        OrderBulkStatusResponse response = orderService.updateOrderStatuses(List.of(order.getId()), "CANCELLED");
+        assertThat(response.getUpdatedCount()).isZero();
+        assertThat(response.getResults().get(0).getErrorCode()).isEqualTo("INVALID_STATUS_TRANSITION");
+
+        OrderUpdateRequest shipReq = new OrderUpdateRequest();
+        shipReq.setStatus("SHIPPED");
+        assertThatThrownBy(() -> orderService.updateOrderStatus(order.getId(), shipReq))
+                .isInstanceOf(AppException.class)
+                .hasMessageContaining("잘못된 상태 전환입니다.");
+        assertThatThrownBy(() -> orderService.cancelOrder(order.getId()))
+                .isInstanceOf(AppException.class)
+                .hasMessageContaining("잘못된 상태 전환입니다.");
+
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getStockQuantity()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("일괄/자동 취소 - 삭제된 상품이 든 주문은 단건 취소처럼 취소하지 않고, 나머지 주문만 재고 복구")
+    void cancelOrders_SkipMissingItem() {
+
+        // given : 삭제될 상품이 든 주문 2건과 정상 주문 2건
+        Items item = new Items(null, "운동화", 50000, 10);
+        Items deleted = new Items(null, "모자", 15000, 20);
+        itemRepository.save(item);
+        itemRepository.save(deleted);
+
+        Orders order1 = orderService.createOrder(new OrderCreateRequest(1L, List.of(new OrderItemRequest(item.getId(), 1))));
+        Orders order2 = orderService.createOrder(new OrderCreateRequest(1L, List.of(new OrderItemRequest(item.getId(), 2))));
+        Orders broken1 = orderService.createOrder(new OrderCreateRequest(1L, List.of(
+                new OrderItemRequest(item.getId(), 3),
+                new OrderItemRequest(deleted.getId(), 1))));
+        Orders broken2 = orderService.createOrder(new OrderCreateRequest(1L, List.of(
+                new OrderItemRequest(deleted.getId(), 1))));
+        itemRepository.delete(deleted.getId());
+
+        // when : 일괄 취소
+        OrderBulkStatusResponse response = orderService.updateOrderStatuses(
+                List.of(order1.getId(), broken1.getId()), "CANCELLED");
+
+        // then : 삭제된 상품이 든 주문은 ITEM_NOT_FOUND, 재고는 취소된 주문 것만 복구
+        assertThat(response.getUpdatedCount()).isEqualTo(1);
+        assertThat(response.getResults())
+                .extracting(OrderBulkStatusResponse.OrderResult::getOrderId,
+                        OrderBulkStatusResponse.OrderResult::getErrorCode)
+                .containsExactly(
+                        tuple(order1.getId(), null),
+                        tuple(broken1.getId(), "ITEM_NOT_FOUND"));
+        assertThat(orderRepository.findById(broken1.getId()).getStatus()).isEqualTo(OrderStatus.NEW);
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getStockQuantity()).isEqualTo(5);
+
+        // when : 자동 취소
+        int cancelled = orderService.cancelStaleOrders(
+                List.of(order2.getId(), broken1.getId(), broken2.getId()), LocalDateTime.now().plusSeconds(1));
+
+        // then
+        assertThat(cancelled).isEqualTo(1);
+        assertThat(orderRepository.findById(order2.getId()).getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(orderRepository.findById(broken2.getId()).getStatus()).isEqualTo(OrderStatus.NEW);
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getStockQuantity()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("주문 일괄 상태 변경 실패 - 없는 상태 / 빈 ID 목록")
+    void updateOrderStatusesFail_InvalidRequest() {
+        assertThatThrownBy(() -> orderService.updateOrderStatuses(List.of(1L), "LOST"))
+                .isInstanceOf(AppException.class)
+                .hasMessageContaining("유효하지 않은 주문 상태입니다.");
+
+        assertThatThrownBy(() -> orderService.updateOrderStatuses(List.of(), "SHIPPED"))
+                .isInstanceOf(AppException.class);
     }
 
     //주문 생성 실패 검증
@@ -420,7 +1043,7 @@ class OrderServiceTest {
         Orders order = orderService.createOrder(req);
 
         // 상태를 Completed 로 강제 업데이트
-        orderRepository.updateStatus(order.getId(), "COMPLETED");
+        orderRepository.updateStatus(order.getId(), OrderStatus.COMPLETED);
 
         // when
         OrderModifyRequest modifyReq = new OrderModifyRequest();
@@ -450,7 +1073,7 @@ class OrderServiceTest {
         // given
         Orders order = new Orders();
         order.setUserId(1L);
-        order.setStatus("NEW");
+        order.setStatus(OrderStatus.NEW);
         order.setTotalPrice(0);
         order.setOrderItems(new ArrayList<>());
         orderRepository.save(order);
@@ -675,6 +1298,73 @@ class OrderServiceTest {
                 .hasMessageContaining("이미 취소된 주문입니다.");
     }
 
+    @Test
+    @DisplayName("주문 취소 - 같은 상품이 여러 라인에 있어도 재고 복구는 UPDATE 한 번, 응답용 상품 조회도 한 번")
+    void cancelOrder_AggregatesStockRestore() {
+
+        // given : 운동화 라인 3개 (1 + 2 + 3), 모자 라인 1개
+        Items item1 = new Items(null, "운동화", 50000, 10);
+        Items item2 = new Items(null, "모자", 15000, 20);
+        itemRepository.save(item1);
+        itemRepository.save(item2);
+
+        Orders order = orderService.createOrder(new OrderCreateRequest(1L, List.of(
+                new OrderItemRequest(item1.getId(), 1),
+                new OrderItemRequest(item2.getId(), 4),
+                new OrderItemRequest(item1.getId(), 2),
+                new OrderItemRequest(item1.getId(), 3))));
+
+        // when
+        queryCounter.clear();
+        OrderCancelResponse response = orderService.cancelOrder(order.getId());
+
+        // then
+        assertThat(queryCounter.count("ItemMapper.adjustStocks")).isEqualTo(1);
+        assertThat(queryCounter.count("ItemMapper.findAllByIds")).isEqualTo(1);
+        assertThat(queryCounter.count("ItemMapper.findById")).isZero();
+
+        // 라인 순서대로, 복구 후 재고는 상품별 최종 값
+        assertThat(response.getItems())
+                .extracting(OrderCancelResponse.ItemCancelInfo::getItemId,
+                        OrderCancelResponse.ItemCancelInfo::getBeforeQuantity,
+                        OrderCancelResponse.ItemCancelInfo::getRestoredQuantity)
+                .containsExactly(
+                        tuple(item1.getId(), 1, 10),
+                        tuple(item2.getId(), 4, 20),
+                        tuple(item1.getId(), 2, 10),
+                        tuple(item1.getId(), 3, 10));
+        assertThat(itemRepository.findById(item1.getId()).orElseThrow().getStockQuantity()).isEqualTo(10);
+        assertThat(itemRepository.findById(item2.getId()).orElseThrow().getStockQuantity()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("주문 취소 실패 - 배송중인 주문은 상태 변경과 같은 전이 규칙으로 거절 (재고 복구 없음)")
+    void cancelOrder_Fail_Shipped() {
+
+        // given
+        Items item = new Items(null, "운동화", 50000, 10);
+        itemRepository.save(item);
+        Orders order = orderService.createOrder(new OrderCreateRequest(1L, List.of(new OrderItemRequest(item.getId(), 2))));
+
+        OrderUpdateRequest shipReq = new OrderUpdateRequest();
+        shipReq.setStatus("SHIPPED");
+        orderService.updateOrderStatus(order.getId(), shipReq);
+
+        // when & then
+        assertThatThrownBy(() -> orderService.cancelOrder(order.getId()))
+                .isInstanceOf(AppException.class)
+                .hasMessageContaining("잘못된 상태 전환입니다.");
+
+        OrderUpdateRequest backToNew = new OrderUpdateRequest();
+        backToNew.setStatus("NEW");
+        assertThatThrownBy(() -> orderService.updateOrderStatus(order.getId(), backToNew))
+                .isInstanceOf(AppException.class)
+                .hasMessageContaining("잘못된 상태 전환입니다.");
+
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getStockQuantity()).isEqualTo(8);
+        assertThat(orderRepository.findById(order.getId()).getStatus()).isEqualTo(OrderStatus.SHIPPED);
+    }
+
     @Test
     @DisplayName("주문 취소 실패 - 주문 상세(orderItems)가 없음")
     void cancelOrder_Fail_OrderItemsNotFound() {
@@ -682,7 +1372,7 @@ class OrderServiceTest {
         // given (강제로 orderItems 없이 주문 생성)
         Orders order = new Orders();
         order.setUserId(1L);
-        order.setStatus("NEW");
+        order.setStatus(OrderStatus.NEW);
         order.setTotalPrice(0);
 
         //빈 주문 아이템 리스트를 만듬
@@ -721,7 +1411,7 @@ class OrderServiceTest {
         order.getOrderItems().get(0).setItemId(invalidItemId);
 
         // orderItems 리스트를 DB에 반영 (수정 저장)
-        orderRepository.updateOrderItems(order.getId(), order.getOrderItems());
+        orderRepository.updateOrderItems(order.getId(), order.getOrderItems(), order.getTotalPrice());
 
         // when & then
         assertThatThrownBy(() -> orderService.cancelOrder(order.getId()))
@@ -764,7 +1454,7 @@ class OrderServiceTest {
                 .withFailMessage("주문 취소 후 totalPrice가 변경되면 안됩니다.");
 
         // status는 CANCELLED로 변경되어야 함
-        assertThat(cancelledOrder.getStatus()).isEqualTo("CANCELLED");
+        assertThat(cancelledOrder.getStatus()).isEqualTo(OrderStatus.CANCELLED);
     }
 
     @Test
@@ -0,0 +1,162 @@
+package com.minishop.service;
+
+import com.minishop.domain.Items;
+import com.minishop.domain.Orders;
+import com.minishop.domain.StockReservation;
+import com.minishop.dto.order.OrderItemRequest;
+import com.minishop.dto.reservation.ReservationCreateRequest;
+import com.minishop.exception.AppException;
+import com.minishop.exception.ErrorCode;
+import com.minishop.inventory.ReservationExpiryQueue;
+import com.minishop.repository.ItemRepository;
+import com.minishop.repository.OrderRepository;
+import com.minishop.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class ReservationServiceTest {
+
+    @Autowired
+    ReservationService reservationService;
+
+    @Autowired
+    ReservationRepository reservationRepository;
+
+    @Autowired
+    ReservationExpiryQueue expiryQueue;
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @BeforeEach
+    void clearDB() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("재고 예약 - 예약 수량만큼 재고 차감, 같은 상품은 한 줄로 합침")
+    void reserveSuccess() {
+        Items item = new Items(null, "운동화", 50000, 10);
+        itemRepository.save(item);
+
+        StockReservation reservation = reservationService.reserve(new ReservationCreateRequest(1L, List.of(
+                new OrderItemRequest(item.getId(), 2),
+                new OrderItemRequest(item.getId(), 1)
+        )));
+
+        assertThat(reservation.getId()).isNotNull();
+        assertThat(reservation.getStatus()).isEqualTo("ACTIVE");
+        assertThat(reservation.getItems()).hasSize(1);
+        assertThat(reservation.getItems().get(0).getQuantity()).isEqualTo(3);
+
+        // 상품 조회 재고 = 판매 가능 수량 (예약분 제외)
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getStockQuantity()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("재고 예약 실패 - 재고 부족이면 전체 롤백")
+    void reserveFail_OutOfStock() {
+        Items item1 = new Items(null, "운동화", 50000, 10);
+        Items item2 = new Items(null, "모자", 15000, 1);
+        itemRepository.save(item1);
+        itemRepository.save(item2);
+
+        assertThatThrownBy(() -> reservationService.reserve(new ReservationCreateRequest(1L, List.of(
+                new OrderItemRequest(item1.getId(), 2),
+                new OrderItemRequest(item2.getId(), 2)
+        ))))
+                .isInstanceOf(AppException.class)
+                .hasMessageContaining("재고가 부족합니다");
+    }
+
+    @Test
+    @DisplayName("예약 확정 - 재고를 다시 차감하지 않고 주문 생성")
+    void confirmSuccess() {
+        Items item = new Items(null, "운동화", 50000, 10);
+        itemRepository.save(item);
+
+        StockReservation reservation = reservationService.reserve(new ReservationCreateRequest(1L, List.of(
+                new OrderItemRequest(item.getId(), 2)
+        )));
+
+        Orders order = reservationService.confirm(reservation.getId());
+
+        assertThat(order.getId()).isNotNull();
+        assertThat(order.getTotalPrice()).isEqualTo(50000 * 2);
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getStockQuantity()).isEqualTo(8);
+
+        StockReservation confirmed = reservationService.findReservation(reservation.getId());
+        assertThat(confirmed.getStatus()).isEqualTo("CONFIRMED");
+        assertThat(confirmed.getOrderId()).isEqualTo(order.getId());
+    }
+
+    @Test
+    @DisplayName("예약 해제 - 재고 복구, 해제된 예약은 확정 불가")
+    void releaseSuccess() {
+        Items item = new Items(null, "운동화", 50000, 10);
+        itemRepository.save(item);
+
+        StockReservation reservation = reservationService.reserve(new ReservationCreateRequest(1L, List.of(
+                new OrderItemRequest(item.getId(), 4)
+        )));
+
+        StockReservation released = reservationService.release(reservation.getId());
+
+        assertThat(released.getStatus()).isEqualTo("RELEASED");
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getStockQuantity()).isEqualTo(10);
+
+        assertThatThrownBy(() -> reservationService.confirm(reservation.getId()))
+                .isInstanceOf(AppException.class)
+                .extracting("errorCode")
+                .isEqualTo(ErrorCode.RESERVATION_NOT_ACTIVE);
+    }
+
+    @Test
+    @DisplayName("예약 만료 - 만료 시간이 지난 예약만 해제하고 재고 복구")
+    void expireSuccess() {
+        Items item = new Items(null, "운동화", 50000, 10);
+        itemRepository.save(item);
+
+        // 유지 시간이 남은 예약은 만료되지 않음
+        StockReservation active = reservationService.reserve(new ReservationCreateRequest(1L, List.of(
+                new OrderItemRequest(item.getId(), 1)
+        )));
+        assertThat(reservationService.expire(active.getId())).isFalse();
+
+        // 유지 시간 0 으로 예약하면 바로 만료 대상
+        ReservationService noTtl = new ReservationService(
+                reservationRepository, itemRepository, orderService, expiryQueue, 0);
+        StockReservation expired = noTtl.reserve(new ReservationCreateRequest(1L, List.of(
+                new OrderItemRequest(item.getId(), 3)
+        )));
+
+        assertThat(noTtl.expire(expired.getId())).isTrue();
+        assertThat(noTtl.expire(expired.getId())).isFalse();
+        assertThat(reservationService.findReservation(expired.getId()).getStatus()).isEqualTo("EXPIRED");
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getStockQuantity()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("예약 조회 실패 - 존재하지 않는 예약")
+    void findReservationFail_NotFound() {
+        assertThatThrownBy(() -> reservationService.findReservation(99999L))
+                .isInstanceOf(AppException.class)
+                .hasMessageContaining("재고 예약을 찾을 수 없습니다");
+    }
+}
@@ -149,6 +149,21 @@ class UserServiceTest {
         assertThat(updated.getPassword()).isEqualTo("newpassword123");
     }
 
+    @Test
+    @DisplayName("사용자 수정 - 버전이 올라가고 ETag 가 바뀜 (수정 응답에도 올라간 버전)")
+    void update_BumpsVersionAndETag() {
+
+        Users saved = userService.save(new UserCreateRequest("박석훈", "password123", "etag@test.com"));
+        String before = userService.userETag(saved.getId());
+
+        Users updated = userService.update(saved.getId(), new UserUpdateRequest("이름변경", null, null));
+
+        assertThat(updated.getVersion()).isEqualTo(saved.getVersion() + 1);
+        assertThat(userService.findById(saved.getId()).getVersion()).isEqualTo(updated.getVersion());
+        assertThat(userService.userETag(saved.getId())).isNotEqualTo(before);
+        assertThat(userService.userETag(99999L)).isNull();
+    }
+
     @Test
     @DisplayName("사용자 정보 수정 성공 - 일부 필드만 수정")
     void updateSuccess_Partial() {
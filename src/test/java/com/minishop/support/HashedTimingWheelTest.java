@@ -0,0 +1,91 @@
+package com.minishop.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class HashedTimingWheelTest {
+
+    private static final long TICK = 100;
+
+    @Test
+    @DisplayName("만료 tick 이 완전히 지난 뒤에만 꺼냄")
+    void expireAfterTickPassed() {
+        HashedTimingWheel wheel = new HashedTimingWheel(TICK, 8, 0);
+        wheel.add(1L, 250);
+        wheel.add(2L, 120);
+
+        List<Long> expired = new ArrayList<>();
+        assertThat(wheel.advance(199, expired::add)).isZero();
+        assertThat(wheel.advance(200, expired::add)).isEqualTo(1);
+        assertThat(expired).containsExactly(2L);
+
+        assertThat(wheel.advance(299, expired::add)).isZero();
+        assertThat(wheel.advance(300, expired::add)).isEqualTo(1);
+        assertThat(expired).containsExactly(2L, 1L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("한 바퀴 이상 뒤의 항목은 해당 바퀴에서 꺼냄")
+    void keepEntriesForLaterRounds() {
+        HashedTimingWheel wheel = new HashedTimingWheel(TICK, 8, 0); // 한 바퀴 = 800ms
+        wheel.add(1L, 150);
+        wheel.add(2L, 150 + 800 * 3); // 같은 버킷, 세 바퀴 뒤
+
+        List<Long> expired = new ArrayList<>();
+        wheel.advance(1000, expired::add);
+        assertThat(expired).containsExactly(1L);
+
+        wheel.advance(2500, expired::add);
+        assertThat(expired).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("이미 지난 만료 시각은 다음 tick 에 만료, 오래 밀려도 한 번에 처리")
+    void pastDeadlineAndLongPause() {
+        HashedTimingWheel wheel = new HashedTimingWheel(TICK, 8, 10_000);
+        wheel.add(1L, 5_000);
+        wheel.add(2L, 10_350);
+
+        List<Long> expired = new ArrayList<>();
+        assertThat(wheel.advance(10_100, expired::add)).isEqualTo(1);
+        assertThat(expired).containsExactly(1L);
+
+        // 여러 바퀴만큼 멈춰 있다가 돌아와도 누락 없음
+        assertThat(wheel.advance(60_000, expired::add)).isEqualTo(1);
+        assertThat(expired).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("NEW 주문 100만 건 - 등록/만료 처리")
+    void millionEntries() {
+        int count = 1_000_000;
+        HashedTimingWheel wheel = new HashedTimingWheel(1000, 512, 0);
+
+        long begin = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            // 30분 동안 고르게 생성된 주문
+            wheel.add(i, 1_800_000L + (i % 1_800_000));
+        }
+        long addNanos = System.nanoTime() - begin;
+        assertThat(wheel.size()).isEqualTo(count);
+
+        long[] expired = new long[1];
+        begin = System.nanoTime();
+        for (long now = 1_000; now <= 3_601_000; now += 1_000) {
+            wheel.advance(now, id -> expired[0]++);
+        }
+        long advanceNanos = System.nanoTime() - begin;
+
+        System.out.printf(">>> 타이밍 휠 %d건: 등록 %.1f ms, 만료 처리 %.1f ms%n",
+                count, addNanos / 1_000_000.0, advanceNanos / 1_000_000.0);
+
+        assertThat(expired[0]).isEqualTo(count);
+        assertThat(wheel.size()).isZero();
+    }
+}
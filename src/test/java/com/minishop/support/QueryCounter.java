@@ -0,0 +1,76 @@
+package com.minishop.support;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테스트용 MyBatis 인터셉터 : 실행된 SQL 문장 수를 statement id 별로 센다.
+ * 테스트 클래스에 @Import(QueryCounter.class) 로 등록하면 SqlSessionFactory에 자동으로 붙는다.
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class QueryCounter implements Interceptor {
+
+    private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+    private final AtomicInteger selects = new AtomicInteger();
+    private final Map<String, CountDownLatch> gates = new ConcurrentHashMap<>();
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+        counts.computeIfAbsent(ms.getId(), id -> new AtomicInteger()).incrementAndGet();
+        if (ms.getSqlCommandType() == SqlCommandType.SELECT) {
+            selects.incrementAndGet();
+        }
+        for (Map.Entry<String, CountDownLatch> gate : gates.entrySet()) {
+            if (ms.getId().endsWith("." + gate.getKey())) {
+                gate.getValue().await(10, TimeUnit.SECONDS);
+            }
+        }
+        return invocation.proceed();
+    }
+
+    // "ItemMapper.findById" 처럼 매퍼 이름 + 메서드 이름으로 조회
+    public int count(String statement) {
+        return counts.entrySet().stream()
+                .filter(e -> e.getKey().endsWith("." + statement))
+                .mapToInt(e -> e.getValue().get())
+                .sum();
+    }
+
+    public int selectCount() {
+        return selects.get();
+    }
+
+    // statement 실행을 gate 가 열릴 때까지 멈춤 (동시 요청들이 실행 중인 조회 하나를 기다리는지 확인할 때)
+    public void holdUntil(String statement, CountDownLatch gate) {
+        gates.put(statement, gate);
+    }
+
+    public void clear() {
+        counts.clear();
+        gates.clear();
+        selects.set(0);
+    }
+}
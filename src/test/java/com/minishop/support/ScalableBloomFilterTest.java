@@ -0,0 +1,61 @@
+package com.minishop.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    @DisplayName("넣은 값은 항상 있을 수도 있다 - 용량을 넘겨 filter 가 늘어나도 동일")
+    void noFalseNegatives() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(10_000, 0.001);
+
+        for (int i = 0; i < 1_000_000; i++) {
+            filter.add("user" + i + "@test.com");
+        }
+
+        for (int i = 0; i < 1_000_000; i++) {
+            assertThat(filter.mightContain("user" + i + "@test.com")).isTrue();
+        }
+        assertThat(filter.stageCount()).isGreaterThan(1);
+        assertThat(filter.approximateCount()).isBetween(990_000L, 1_000_000L);
+    }
+
+    @Test
+    @DisplayName("넣지 않은 값의 오탐률이 목표 오탐률 이하")
+    void falsePositiveRateWithinTarget() {
+        double target = 0.01;
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, target);
+        for (int i = 0; i < 100_000; i++) {
+            filter.add("상품" + i);
+        }
+
+        int trials = 200_000;
+        int falsePositives = 0;
+        for (int i = 0; i < trials; i++) {
+            if (filter.mightContain("없는상품" + i)) {
+                falsePositives++;
+            }
+        }
+
+        double observed = (double) falsePositives / trials;
+        System.out.printf(">>> 오탐률 목표 %.4f, 예상 %.4f, 실제 %.4f (filter %d개)%n",
+                target, filter.expectedFalsePositiveRate(), observed, filter.stageCount());
+        assertThat(observed).isLessThanOrEqualTo(target);
+        assertThat(filter.expectedFalsePositiveRate()).isLessThanOrEqualTo(target);
+    }
+
+    @Test
+    @DisplayName("같은 값을 여러 번 넣어도 한 번만 셈")
+    void addIsIdempotent() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.001);
+        for (int i = 0; i < 1_000; i++) {
+            filter.add("운동화");
+        }
+
+        assertThat(filter.approximateCount()).isEqualTo(1);
+        assertThat(filter.stageCount()).isEqualTo(1);
+    }
+}
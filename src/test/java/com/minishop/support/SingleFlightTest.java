@@ -0,0 +1,100 @@
+package com.minishop.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("동시 호출 1000개 - loader 는 한 번, 모두 같은 결과")
+    void concurrentCallsShareOneLoad() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch gate = new CountDownLatch(1);
+
+        List<String> results = runConcurrently(1000, gate, () -> singleFlight.execute(1L, () -> {
+            loads.incrementAndGet();
+            await(gate);
+            return "상품";
+        }));
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(results).hasSize(1000).containsOnly("상품");
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("먼저 실행한 호출의 예외를 기다린 호출도 그대로 받음")
+    void concurrentCallsShareException() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch gate = new CountDownLatch(1);
+
+        List<String> results = runConcurrently(100, gate, () -> {
+            try {
+                return singleFlight.execute(1L, () -> {
+                    loads.incrementAndGet();
+                    await(gate);
+                    throw new IllegalStateException("조회 실패");
+                });
+            } catch (IllegalStateException e) {
+                return e.getMessage();
+            }
+        });
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(results).containsOnly("조회 실패");
+    }
+
+    @Test
+    @DisplayName("끝난 뒤 호출하면 다시 실행 (결과를 보관하지 않음)")
+    void notCachedAfterCompletion() {
+        SingleFlight<Long, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute(1L, loads::incrementAndGet);
+        singleFlight.execute(1L, loads::incrementAndGet);
+        singleFlight.execute(2L, loads::incrementAndGet);
+
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    // 모든 스레드가 호출 직전까지 온 뒤 잠시 기다렸다가 gate 를 열어 먼저 실행한 호출을 끝냄
+    private static List<String> runConcurrently(int threads, CountDownLatch gate, Callable<String> call) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(pool.submit(() -> {
+                ready.countDown();
+                return call.call();
+            }));
+        }
+
+        ready.await(10, TimeUnit.SECONDS);
+        Thread.sleep(200);
+        gate.countDown();
+
+        List<String> results = new ArrayList<>();
+        for (Future<String> future : futures) {
+            results.add(future.get(10, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+        return results;
+    }
+
+    private static void await(CountDownLatch gate) {
+        try {
+            gate.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}